@@ -0,0 +1,82 @@
+package benchmarks;
+
+import model.Employee;
+import model.EmployeeRecord;
+import org.openjdk.jol.info.GraphLayout;
+import persistence.EmployeeCsvReader;
+import persistence.EmployeeCsvWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * EmployeeFootprint class: Measures how many bytes of heap a roster needs per employee, once as Employee objects
+ * and once as EmployeeRecords, with JOL (https://github.com/openjdk/jol). Not a JMH benchmark, as it measures
+ * memory instead of time.
+ *
+ * The roster goes through a CSV export and import first, so every employee has their own name strings,
+ * as after a real import. The numbers include everything reachable from the list (strings, departments,
+ * the list itself).
+ *
+ * Run with: gradle :benchmarks:footprint (other sizes: -Pfootprint.sizes=1000,1000000)
+ */
+public final class EmployeeFootprint {
+    // Private constructor, as all methods are static.
+    private EmployeeFootprint() {
+    }
+
+    public static void main(String[] args) {
+        String[] sizes = args.length > 0 ? args : new String[]{"1000", "100000", "1000000"};
+        System.out.printf("%10s %22s %22s%n", "employees", "Employee (bytes/emp)", "EmployeeRecord (bytes/emp)");
+        for (String size : sizes) {
+            int count = Integer.parseInt(size.trim());
+            List<Employee> employees = imported(RosterGenerator.generate(count, RosterGenerator.Shape.BALANCED));
+            long employeeBytes = GraphLayout.parseInstance(employees).totalSize();
+            List<EmployeeRecord> records = EmployeeRecord.ofAll(employees);
+            long recordBytes = GraphLayout.parseInstance(records).totalSize();
+            System.out.printf("%10d %22.1f %22.1f%n", count, (double) employeeBytes / count, (double) recordBytes / count);
+        }
+
+        // Where the bytes go: instance counts and sizes per class for 10,000 employees
+        List<Employee> employees = imported(RosterGenerator.generate(10_000, RosterGenerator.Shape.BALANCED));
+        System.out.println();
+        System.out.println(GraphLayout.parseInstance(employees).toFootprint());
+        System.out.println(GraphLayout.parseInstance(EmployeeRecord.ofAll(employees)).toFootprint());
+    }
+
+    /**
+     * Writes the roster as CSV and reads it back, with the managers linked again.
+     */
+    private static List<Employee> imported(List<Employee> roster) {
+        try {
+            StringWriter csv = new StringWriter();
+            try (EmployeeCsvWriter writer = new EmployeeCsvWriter(csv)) {
+                writer.writeAll(roster);
+            }
+            Map<String, Employee> byId = new HashMap<>();
+            List<EmployeeCsvReader.Row> rows;
+            try (EmployeeCsvReader reader = new EmployeeCsvReader(new StringReader(csv.toString()),
+                    RosterGenerator.departments().values())) {
+                rows = reader.rows().toList();
+            }
+            List<Employee> employees = new ArrayList<>(rows.size());
+            for (EmployeeCsvReader.Row row : rows) {
+                byId.put(row.employee().getId(), row.employee());
+                employees.add(row.employee());
+            }
+            for (EmployeeCsvReader.Row row : rows) {
+                if (row.managerId() != null) {
+                    row.employee().setManager(byId.get(row.managerId()));
+                }
+            }
+            return employees;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
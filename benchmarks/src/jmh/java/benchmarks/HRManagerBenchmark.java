@@ -0,0 +1,104 @@
+package benchmarks;
+
+import model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import service.HRManager;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the basic operations of the HRManager: looking up, adding and deleting employees.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HRManagerBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private List<Employee> roster;
+    private HRManager hrManager;
+    private String[] ids;
+    private String managerId;
+
+    // Employees for addEmployee; a new batch is created for every iteration so the IDs are never taken.
+    private static final int HIRES_PER_ITERATION = 1000;
+    private List<Employee> newHires;
+    private int nextHire;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        QuietConsole.install();
+        roster = RosterGenerator.generate(size, RosterGenerator.Shape.BALANCED);
+        hrManager = RosterGenerator.load(roster);
+        ids = new String[1024];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = roster.get((int) ((long) i * 7919 % size)).getId(); // Spread over the whole roster
+        }
+        managerId = roster.get(0).getId(); // The root of the balanced tree always has reports
+    }
+
+    @Setup(Level.Iteration)
+    public void resetRoster() {
+        RosterGenerator.load(roster); // Removes the employees added by the previous iteration
+        newHires = RosterGenerator.newHires(HIRES_PER_ITERATION, "N");
+        nextHire = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        QuietConsole.uninstall();
+    }
+
+    /**
+     * Thread-local position in the list of IDs to look up.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public Optional<Employee> getEmployeeById(Cursor cursor) {
+        String id = ids[cursor.next++ & (ids.length - 1)];
+        return hrManager.getEmployeeById(id);
+    }
+
+    @Benchmark
+    public Optional<Employee> getEmployeeByUnknownId() {
+        return hrManager.getEmployeeById("UNKNOWN");
+    }
+
+    /**
+     * Adds one new employee to a roster of the given size. Every iteration starts from the original roster
+     * and adds a fixed batch, so the roster grows by at most HIRES_PER_ITERATION employees.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 5, batchSize = HIRES_PER_ITERATION)
+    @Measurement(iterations = 20, batchSize = HIRES_PER_ITERATION)
+    public void addEmployee() {
+        hrManager.addEmployee(newHires.get(nextHire++));
+    }
+
+    /**
+     * Tries to delete a manager: the subordinate check refuses it, so the roster stays unchanged.
+     */
+    @Benchmark
+    public boolean deleteEmployeeWithSubordinates() {
+        return hrManager.deleteEmployee(managerId);
+    }
+}
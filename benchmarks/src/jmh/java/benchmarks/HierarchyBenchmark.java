@@ -0,0 +1,60 @@
+package benchmarks;
+
+import model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import service.HRManager;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the hierarchy queries while the reporting structure keeps changing: every operation first moves
+ * a manager (with everyone below them) to another manager and then asks a chain question.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HierarchyBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private HRManager hrManager;
+    private Employee moved;
+    private Employee[] managers;
+    private Employee deepest;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        hrManager = RosterGenerator.load(RosterGenerator.generate(size, RosterGenerator.Shape.BALANCED));
+        List<Employee> employees = hrManager.getAllEmployees();
+        moved = employees.get(1); // One of the top manager's direct reports, with a tenth of the roster below
+        managers = new Employee[]{employees.get(2), employees.get(3)};
+        deepest = employees.get(employees.size() - 1);
+    }
+
+    @Benchmark
+    public int moveThenDepth() {
+        moved.setManager(managers[next++ & 1]);
+        return hrManager.getDepth(deepest.getId());
+    }
+
+    @Benchmark
+    public boolean moveThenIsInReportingChain() {
+        moved.setManager(managers[next++ & 1]);
+        return hrManager.isInReportingChain(deepest.getId(), managers[0].getId());
+    }
+
+    @Benchmark
+    public int moveThenTransitiveReportCount() {
+        moved.setManager(managers[next++ & 1]);
+        return hrManager.getTransitiveReportCount(managers[0].getId());
+    }
+}
@@ -0,0 +1,98 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import util.OrgChartUtil;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for printing the full organization chart on deep and wide hierarchies.
+ * The console output is discarded (see QuietConsole), but every line is still built and encoded.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OrgChartBenchmark {
+
+    /**
+     * One long reporting chain. Line length grows with the depth, so the sizes stay smaller here.
+     */
+    @State(Scope.Benchmark)
+    public static class DeepTree {
+        @Param({"1000", "10000"})
+        public int size;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            QuietConsole.install();
+            RosterGenerator.load(RosterGenerator.generate(size, RosterGenerator.Shape.DEEP));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            QuietConsole.uninstall();
+        }
+    }
+
+    /**
+     * One manager with all other employees as direct reports.
+     */
+    @State(Scope.Benchmark)
+    public static class WideTree {
+        @Param({"1000", "10000", "100000", "1000000"})
+        public int size;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            QuietConsole.install();
+            RosterGenerator.load(RosterGenerator.generate(size, RosterGenerator.Shape.WIDE));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            QuietConsole.uninstall();
+        }
+    }
+
+    /**
+     * A tree with ten direct reports per manager, as in most real organizations.
+     */
+    @State(Scope.Benchmark)
+    public static class BalancedTree {
+        @Param({"1000", "10000", "100000", "1000000"})
+        public int size;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            QuietConsole.install();
+            RosterGenerator.load(RosterGenerator.generate(size, RosterGenerator.Shape.BALANCED));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            QuietConsole.uninstall();
+        }
+    }
+
+    @Benchmark
+    public void deepTree(DeepTree tree) {
+        OrgChartUtil.printFullOrganizationChart();
+    }
+
+    @Benchmark
+    public void wideTree(WideTree tree) {
+        OrgChartUtil.printFullOrganizationChart();
+    }
+
+    @Benchmark
+    public void balancedTree(BalancedTree tree) {
+        OrgChartUtil.printFullOrganizationChart();
+    }
+}
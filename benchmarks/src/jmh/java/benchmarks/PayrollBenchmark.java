@@ -0,0 +1,49 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import service.HRManager;
+import service.PayrollResult;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the payroll: the calculation alone, and the calculation with the printed report.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayrollBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private HRManager hrManager;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        QuietConsole.install();
+        hrManager = RosterGenerator.load(RosterGenerator.generate(size, RosterGenerator.Shape.BALANCED));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        QuietConsole.uninstall();
+    }
+
+    @Benchmark
+    public PayrollResult runPayroll() {
+        return hrManager.runPayroll();
+    }
+
+    @Benchmark
+    public void calculateAllSalaries() {
+        hrManager.calculateAllSalaries();
+    }
+}
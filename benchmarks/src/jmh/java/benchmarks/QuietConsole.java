@@ -0,0 +1,31 @@
+package benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * QuietConsole class: Sends everything written to System.out into nowhere while a benchmark runs,
+ * so the results measure the HR system and not the terminal.
+ * The text is still formatted and encoded; only writing it to the console is skipped.
+ */
+final class QuietConsole {
+    private static PrintStream original;
+
+    // Private constructor, as all methods are static.
+    private QuietConsole() {
+    }
+
+    static synchronized void install() {
+        if (original == null) {
+            original = System.out;
+            System.setOut(new PrintStream(OutputStream.nullOutputStream(), false, original.charset()));
+        }
+    }
+
+    static synchronized void uninstall() {
+        if (original != null) {
+            System.setOut(original);
+            original = null;
+        }
+    }
+}
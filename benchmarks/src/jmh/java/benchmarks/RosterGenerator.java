@@ -0,0 +1,106 @@
+package benchmarks;
+
+import factory.EmployeeFactory;
+import model.Department;
+import model.Employee;
+import model.EmployeeRole;
+import service.HRManager;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * RosterGenerator class: Creates synthetic rosters (1k to 1M employees) for the benchmarks.
+ * The same size and seed always give the same roster, so results of different runs can be compared.
+ * Employees get the IDs "E0", "E1", ...; a manager always comes before their reports.
+ */
+public final class RosterGenerator {
+    private static final String[] FIRST_NAMES = {
+            "Anna", "Ben", "Clara", "David", "Emma", "Felix", "Greta", "Hannah", "Jonas", "Lena",
+            "Lukas", "Marie", "Noah", "Paul", "Sophie", "Tim"};
+    private static final String[] LAST_NAMES = {
+            "Bauer", "Becker", "Fischer", "Hoffmann", "Koch", "Meyer", "Müller", "Richter", "Schmidt",
+            "Schneider", "Schulz", "Wagner", "Weber", "Wolf", "Zimmermann", "Klein"};
+    private static final long SEED = 42;
+
+    /**
+     * The shape of the reporting hierarchy.
+     */
+    public enum Shape {
+        /** A tree in which every manager has up to ten direct reports. */
+        BALANCED,
+        /** One long chain: everyone reports to the employee added just before them. */
+        DEEP,
+        /** One manager with everyone else as direct reports. */
+        WIDE
+    }
+
+    // Private constructor, as all methods are static.
+    private RosterGenerator() {
+    }
+
+    /**
+     * The departments used by the generated employees, by their HRManager key.
+     */
+    public static Map<String, Department> departments() {
+        Map<String, Department> departments = new LinkedHashMap<>();
+        departments.put("HR", new Department("Human Resources", "HR-001"));
+        departments.put("IT", new Department("Information Technology", "IT-001"));
+        departments.put("SALES", new Department("Sales", "SALES-001"));
+        return departments;
+    }
+
+    /**
+     * Creates a roster of the given size and shape. About one in five employees works part-time.
+     */
+    public static List<Employee> generate(int size, Shape shape) {
+        return generate(size, shape, "E", departments());
+    }
+
+    /**
+     * Creates employees with the given ID prefix that are not yet linked to any manager (e.g. for addEmployee).
+     */
+    public static List<Employee> newHires(int size, String idPrefix) {
+        return generate(size, null, idPrefix, departments());
+    }
+
+    /**
+     * Replaces the state of the HRManager with the given roster.
+     */
+    public static HRManager load(List<Employee> roster) {
+        HRManager hrManager = HRManager.getInstance();
+        hrManager.restore(departments(), roster);
+        return hrManager;
+    }
+
+    private static List<Employee> generate(int size, Shape shape, String idPrefix, Map<String, Department> departments) {
+        Random random = new Random(SEED);
+        Department[] departmentList = departments.values().toArray(new Department[0]);
+        EmployeeRole[] roles = EmployeeRole.values();
+        List<Employee> roster = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Employee manager = shape == null || i == 0 ? null : roster.get(managerIndex(shape, i));
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            Department department = departmentList[random.nextInt(departmentList.length)];
+            EmployeeRole role = roles[random.nextInt(roles.length)];
+            Employee employee = random.nextInt(5) == 0
+                    ? EmployeeFactory.createPartTimeEmployee(idPrefix + i, firstName, lastName, department, role, manager,
+                            15 + random.nextInt(30), 40 + random.nextInt(120))
+                    : EmployeeFactory.createFullTimeEmployee(idPrefix + i, firstName, lastName, department, role, manager,
+                            2500 + random.nextInt(5000));
+            roster.add(employee);
+        }
+        return roster;
+    }
+
+    private static int managerIndex(Shape shape, int index) {
+        return switch (shape) {
+            case BALANCED -> (index - 1) / 10;
+            case DEEP -> index - 1;
+            case WIDE -> 0;
+        };
+    }
+}
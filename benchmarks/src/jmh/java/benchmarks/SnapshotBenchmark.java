@@ -0,0 +1,65 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import persistence.EmployeeSnapshot;
+import service.HRManager;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for saving and loading a binary snapshot of the HRManager (see EmployeeSnapshot).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SnapshotBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private HRManager hrManager;
+    private Path directory;
+    private Path snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        hrManager = RosterGenerator.load(RosterGenerator.generate(size, RosterGenerator.Shape.BALANCED));
+        directory = Files.createTempDirectory("hrms-snapshot");
+        snapshot = directory.resolve("roster.hrms");
+        EmployeeSnapshot.save(hrManager, snapshot);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(snapshot);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public void save() throws IOException {
+        EmployeeSnapshot.save(hrManager, snapshot);
+    }
+
+    @Benchmark
+    public EmployeeSnapshot.Contents load() throws IOException {
+        return EmployeeSnapshot.load(snapshot);
+    }
+
+    /**
+     * Loads the snapshot and makes it the state of the HRManager (including building the indexes).
+     */
+    @Benchmark
+    public void restore() throws IOException {
+        EmployeeSnapshot.restore(snapshot, hrManager);
+    }
+}
@@ -0,0 +1,58 @@
+package benchmarks;
+
+import model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import strategy.EmployeeSortingStrategy;
+import strategy.SortByDepartmentStrategy;
+import strategy.SortByLastNameStrategy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the sorting strategies. Every call sorts a fresh copy of the roster;
+ * copyRoster measures the copy alone, so it can be subtracted.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SortingBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private List<Employee> roster;
+    private final EmployeeSortingStrategy byLastName = new SortByLastNameStrategy();
+    private final EmployeeSortingStrategy byDepartment = new SortByDepartmentStrategy();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        roster = RosterGenerator.generate(size, RosterGenerator.Shape.BALANCED);
+    }
+
+    @Benchmark
+    public List<Employee> copyRoster() {
+        return new ArrayList<>(roster);
+    }
+
+    @Benchmark
+    public List<Employee> sortByLastName() {
+        List<Employee> employees = new ArrayList<>(roster);
+        byLastName.sort(employees);
+        return employees;
+    }
+
+    @Benchmark
+    public List<Employee> sortByDepartment() {
+        List<Employee> employees = new ArrayList<>(roster);
+        byDepartment.sort(employees);
+        return employees;
+    }
+}
@@ -100,27 +100,19 @@ public class Main {
         // --- 4. Strategy: Salary Calculation ---
         // The Strategy pattern is used here to define different salary calculation algorithms.
         System.out.println("\n--- Salary Calculation ---");
-        SalaryCalculationStrategy monthlyStrategy = new MonthlySalaryStrategy();
-        SalaryCalculationStrategy hourlyStrategy = new HourlyWageStrategy();
+        // The registry picks the right strategy for each employee type (MonthlySalaryStrategy, HourlyWageStrategy).
+        SalaryStrategyRegistry salaryStrategies = hrManager.getSalaryStrategies();
 
         // Calculate salary for Olena (full-time)
         hrManager.getEmployeeById("E001").ifPresent(e -> {
-            try {
-                double salary = monthlyStrategy.calculate(e);
-                System.out.printf("%s %s (FullTime) salary: $%.2f%n", e.getFirstName(), e.getLastName(), salary);
-            } catch (IllegalArgumentException ex) {
-                System.out.println(e.getFirstName() + " " + e.getLastName() + ": " + ex.getMessage());
-            }
+            double salary = salaryStrategies.calculate(e);
+            System.out.printf("%s %s (FullTime) salary: $%.2f%n", e.getFirstName(), e.getLastName(), salary);
         });
 
         // Calculate salary for Ivan (part-time)
         hrManager.getEmployeeById("E002").ifPresent(e -> {
-            try {
-                double salary = hourlyStrategy.calculate(e);
-                System.out.printf("%s %s (PartTime) salary: $%.2f%n", e.getFirstName(), e.getLastName(), salary);
-            } catch (IllegalArgumentException ex) {
-                System.out.println(e.getFirstName() + " " + e.getLastName() + ": " + ex.getMessage());
-            }
+            double salary = salaryStrategies.calculate(e);
+            System.out.printf("%s %s (PartTime) salary: $%.2f%n", e.getFirstName(), e.getLastName(), salary);
         });
 
         // Calculate salaries for all employees
@@ -345,7 +337,11 @@ public class Main {
                 } else {
                     Employee newManager = hrManager.getEmployeeById(newManagerId).orElse(null);
                     if (newManager != null) {
-                        empToUpdate.setManager(newManager);
+                        try {
+                            empToUpdate.setManager(newManager);
+                        } catch (IllegalArgumentException e) {
+                            System.out.println(e.getMessage() + " Keeping current manager.");
+                        }
                     } else {
                         System.out.println("New manager with ID " + newManagerId + " not found. Keeping current manager.");
                     }
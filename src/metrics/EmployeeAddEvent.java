@@ -0,0 +1,33 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * EmployeeAddEvent class: A Java Flight Recorder event for HRManager.addEmployee, so that latency spikes in a
+ * recording can be matched with hires. Like all JFR events it is only recorded while a recording is running;
+ * otherwise creating, beginning and committing it costs (almost) nothing.
+ */
+@Name("hrms.EmployeeAdd")
+@Label("Employee Add")
+@Category({"HRMS", "Employees"})
+@Description("An employee was added to the HR system")
+@StackTrace(false)
+public class EmployeeAddEvent extends jdk.jfr.Event {
+    @Label("Employee ID")
+    public String employeeId;
+
+    @Label("Department")
+    public String department;
+
+    @Label("Added")
+    @Description("False if an employee with the same ID already existed")
+    public boolean added;
+
+    @Label("Employee Count")
+    @Description("Number of employees in the HR system afterwards")
+    public int employeeCount;
+}
@@ -0,0 +1,31 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * EmployeeDeleteEvent class: A Java Flight Recorder event for HRManager.deleteEmployee.
+ */
+@Name("hrms.EmployeeDelete")
+@Label("Employee Delete")
+@Category({"HRMS", "Employees"})
+@Description("An employee was deleted from the HR system (or the deletion was refused)")
+@StackTrace(false)
+public class EmployeeDeleteEvent extends jdk.jfr.Event {
+    @Label("Employee ID")
+    public String employeeId;
+
+    @Label("Department")
+    public String department;
+
+    @Label("Deleted")
+    @Description("False if the employee was not found or still has subordinates")
+    public boolean deleted;
+
+    @Label("Employee Count")
+    @Description("Number of employees in the HR system afterwards")
+    public int employeeCount;
+}
@@ -0,0 +1,178 @@
+package metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * HRMetrics class: Call counts, throughput and latency histograms for the HRManager operations
+ * and for the delivery of lifecycle events to each observer.
+ * Metrics are off by default. While they are off, measuring an operation is a single read of a volatile field:
+ * no clock is read, nothing is counted and nothing is allocated. They can be switched on at any time,
+ * e.g. through JMX (see registerMBean) or with the system property hrms.metrics=true.
+ *
+ * Usage in an operation:
+ * <pre>
+ *     long start = metrics.start();
+ *     try { ... } finally { metrics.stop(Operation.ADD, start); }
+ * </pre>
+ */
+public final class HRMetrics implements HRMetricsMXBean {
+    /**
+     * Returned by start while metrics are disabled; stop then records nothing.
+     */
+    public static final long NOT_TIMED = Long.MIN_VALUE;
+    public static final String OBJECT_NAME = "hrms:type=HRMetrics";
+    private static final String OBSERVER_PREFIX = "observer:";
+
+    private final OperationMetrics[] operations = new OperationMetrics[Operation.values().length];
+    private final Map<String, OperationMetrics> observers = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+
+    public HRMetrics() {
+        for (Operation operation : Operation.values()) {
+            operations[operation.ordinal()] = new OperationMetrics(operation.getMetricName(), this);
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the start time of an operation, or NOT_TIMED while metrics are disabled.
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : NOT_TIMED;
+    }
+
+    /**
+     * Records one call of the operation.
+     */
+    public void stop(Operation operation, long start) {
+        operations[operation.ordinal()].stop(start, 1);
+    }
+
+    /**
+     * Records one call of the operation that handled the given number of items (e.g. rows of a bulk add).
+     */
+    public void stop(Operation operation, long start, int itemCount) {
+        operations[operation.ordinal()].stop(start, itemCount);
+    }
+
+    public OperationMetrics get(Operation operation) {
+        return operations[operation.ordinal()];
+    }
+
+    /**
+     * Returns the metrics for delivering events to the observer with the given name, creating them on first use.
+     */
+    public OperationMetrics forObserver(String observerName) {
+        return observers.computeIfAbsent(OBSERVER_PREFIX + observerName, name -> new OperationMetrics(name, this));
+    }
+
+    /**
+     * Returns the metrics of all operations, then of all observers (sorted by name).
+     */
+    public List<OperationMetrics> getAll() {
+        List<OperationMetrics> all = new ArrayList<>(List.of(operations));
+        observers.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> all.add(entry.getValue()));
+        return all;
+    }
+
+    @Override
+    public Map<String, Long> getCalls() {
+        return collectLongs(OperationMetrics::getCalls);
+    }
+
+    @Override
+    public Map<String, Long> getItems() {
+        return collectLongs(OperationMetrics::getItems);
+    }
+
+    @Override
+    public Map<String, Double> getMeanLatencyMicros() {
+        return collectDoubles(metrics -> metrics.getLatency().getMean() / 1_000);
+    }
+
+    @Override
+    public Map<String, Double> getP99LatencyMicros() {
+        return collectDoubles(metrics -> metrics.getLatency().getPercentile(99) / 1_000.0);
+    }
+
+    @Override
+    public Map<String, Double> getMaxLatencyMicros() {
+        return collectDoubles(metrics -> metrics.getLatency().getMax() / 1_000.0);
+    }
+
+    /**
+     * Returns all metrics as a plain-text table, one line per operation and observer. Latencies are in microseconds.
+     */
+    @Override
+    public String dump() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format(Locale.ROOT, "%-36s %10s %12s %10s %10s %10s %10s%n",
+                "operation", "calls", "items", "mean", "p50", "p99", "max"));
+        for (OperationMetrics metrics : getAll()) {
+            LatencyHistogram latency = metrics.getLatency();
+            text.append(String.format(Locale.ROOT, "%-36s %10d %12d %10.1f %10.1f %10.1f %10.1f%n",
+                    metrics.getName(), metrics.getCalls(), metrics.getItems(),
+                    latency.getMean() / 1_000, latency.getPercentile(50) / 1_000.0,
+                    latency.getPercentile(99) / 1_000.0, latency.getMax() / 1_000.0));
+        }
+        return text.toString();
+    }
+
+    @Override
+    public void reset() {
+        for (OperationMetrics metrics : getAll()) {
+            metrics.reset();
+        }
+    }
+
+    /**
+     * Makes the metrics visible through JMX under OBJECT_NAME. Registering twice has no effect.
+     */
+    public void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // Already registered
+        } catch (JMException e) {
+            throw new IllegalStateException("Metrics could not be registered with JMX: " + e.getMessage(), e);
+        }
+    }
+
+    private Map<String, Long> collectLongs(ToLongFunction<OperationMetrics> value) {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (OperationMetrics metrics : getAll()) {
+            values.put(metrics.getName(), value.applyAsLong(metrics));
+        }
+        return values;
+    }
+
+    private Map<String, Double> collectDoubles(ToDoubleFunction<OperationMetrics> value) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (OperationMetrics metrics : getAll()) {
+            values.put(metrics.getName(), value.applyAsDouble(metrics));
+        }
+        return values;
+    }
+}
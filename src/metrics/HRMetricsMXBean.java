@@ -0,0 +1,30 @@
+package metrics;
+
+import java.util.Map;
+
+/**
+ * HRMetricsMXBean interface: What HRMetrics shows through JMX (e.g. in JConsole or VisualVM).
+ * All maps are keyed by metric name, e.g. "add" or "observer:ITDepartmentObserver".
+ */
+public interface HRMetricsMXBean {
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    Map<String, Long> getCalls();
+
+    Map<String, Long> getItems();
+
+    Map<String, Double> getMeanLatencyMicros();
+
+    Map<String, Double> getP99LatencyMicros();
+
+    Map<String, Double> getMaxLatencyMicros();
+
+    /**
+     * Returns all metrics as a plain-text table.
+     */
+    String dump();
+
+    void reset();
+}
@@ -0,0 +1,31 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * ObserverDeliveryEvent class: A Java Flight Recorder event for handing lifecycle events to one observer.
+ * Its duration is the time the observer took, on the notifying thread or on a delivery thread.
+ */
+@Name("hrms.ObserverDelivery")
+@Label("Observer Delivery")
+@Category({"HRMS", "Notifications"})
+@Description("Lifecycle events were delivered to an observer")
+@StackTrace(false)
+public class ObserverDeliveryEvent extends jdk.jfr.Event {
+    @Label("Observer")
+    public String observer;
+
+    @Label("Event Type")
+    public String eventType;
+
+    @Label("Employee Count")
+    public int employeeCount;
+
+    @Label("Department")
+    @Description("Department of the first employee of the delivery")
+    public String department;
+}
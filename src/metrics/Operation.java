@@ -0,0 +1,24 @@
+package metrics;
+
+/**
+ * Operation enum: The HRManager operations that are measured.
+ */
+public enum Operation {
+    ADD("add"),
+    BULK_ADD("bulkAdd"),
+    LOOKUP("lookup"),
+    UPDATE("update"),
+    DELETE("delete"),
+    LIST("list"),
+    PAYROLL("payroll");
+
+    private final String metricName;
+
+    Operation(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+}
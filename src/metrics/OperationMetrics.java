@@ -0,0 +1,68 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * OperationMetrics class: Counters and a latency histogram for one kind of operation
+ * (e.g. "add" or the delivery to one observer).
+ * Time is only measured while the owning HRMetrics is enabled; otherwise start and stop do almost nothing.
+ */
+public class OperationMetrics {
+    private final String name;
+    private final HRMetrics owner;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder items = new LongAdder(); // e.g. rows of a bulk add, employees of a delivered batch
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    OperationMetrics(String name, HRMetrics owner) {
+        this.name = name;
+        this.owner = owner;
+    }
+
+    /**
+     * Returns the start time to pass to stop, or HRMetrics.NOT_TIMED while metrics are disabled.
+     */
+    public long start() {
+        return owner.start();
+    }
+
+    /**
+     * Records one call that handled one item.
+     */
+    public void stop(long start) {
+        stop(start, 1);
+    }
+
+    /**
+     * Records one call that handled the given number of items.
+     */
+    public void stop(long start, int itemCount) {
+        if (start != HRMetrics.NOT_TIMED) {
+            latency.record(System.nanoTime() - start);
+            calls.increment();
+            items.add(itemCount);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getItems() {
+        return items.sum();
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    void reset() {
+        calls.reset();
+        items.reset();
+        latency.reset();
+    }
+}
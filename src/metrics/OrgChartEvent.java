@@ -0,0 +1,25 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * OrgChartEvent class: A Java Flight Recorder event for rendering an organization chart (see OrgChartUtil).
+ */
+@Name("hrms.OrgChart")
+@Label("Org Chart Rendering")
+@Category({"HRMS", "Reports"})
+@Description("An organization chart was rendered")
+@StackTrace(false)
+public class OrgChartEvent extends jdk.jfr.Event {
+    @Label("Root Employee ID")
+    @Description("The employee the chart starts at; empty for the full chart")
+    public String rootEmployeeId;
+
+    @Label("Employee Count")
+    @Description("Number of employees in the chart")
+    public int employeeCount;
+}
@@ -0,0 +1,26 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * PayrollEvent class: A Java Flight Recorder event for one payroll run (HRManager.runPayroll).
+ */
+@Name("hrms.Payroll")
+@Label("Payroll Run")
+@Category({"HRMS", "Payroll"})
+@Description("The salaries of all employees were calculated")
+@StackTrace(false)
+public class PayrollEvent extends jdk.jfr.Event {
+    @Label("Employee Count")
+    public int employeeCount;
+
+    @Label("Department Count")
+    public int departmentCount;
+
+    @Label("Company Total")
+    public double companyTotal;
+}
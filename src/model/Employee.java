@@ -1,16 +1,25 @@
 package model;
 
+import java.util.function.Consumer;
+
 /**
  * Employee class: An abstract class representing a generic employee.
+ *
+ * An Employee is not thread-safe by itself. Once it is stored in the HR system, every setter runs under the
+ * system's write lock (see EmployeeChangeListener.applyChange), so changes are made one at a time and the
+ * indexes never see half of a change. The fields are volatile, so a reader without the lock always sees each
+ * field's latest value, but it may see one field of a change in progress before another (e.g. a new first name
+ * with the old last name).
  */
 public abstract class Employee {
     private final String id;
-    private String firstName;
-    private String lastName;
-    private Department department;
-    private EmployeeRole role;
-    protected double baseSalary;
-    private Employee manager;
+    private volatile String firstName;
+    private volatile String lastName;
+    private volatile Department department;
+    private volatile EmployeeRole role;
+    protected volatile double baseSalary;
+    private volatile Employee manager;
+    private volatile EmployeeChangeListener changeListener; // Informed about changes, e.g. by the HR system's indexes
 
     /**
      * Primary constructor for the Employee class.
@@ -38,7 +47,13 @@ public abstract class Employee {
      * Sets the base salary for the employee.
      */
     public void setBaseSalary(double baseSalary) {
-        this.baseSalary = baseSalary;
+        change(listener -> {
+            double oldBaseSalary = this.baseSalary;
+            this.baseSalary = baseSalary;
+            if (listener != null) {
+                listener.onSalaryChanged(this, oldBaseSalary);
+            }
+        });
     }
 
     /**
@@ -83,23 +98,87 @@ public abstract class Employee {
      * Sets the employee's department.
      */
     public void setDepartment(Department department) {
-        this.department = department;
+        change(listener -> {
+            Department oldDepartment = this.department;
+            this.department = department;
+            if (listener != null) {
+                listener.onDepartmentChanged(this, oldDepartment);
+            }
+        });
     }
 
     public void setRole(EmployeeRole role) {
-        this.role = role;
+        change(listener -> {
+            EmployeeRole oldRole = this.role;
+            this.role = role;
+            if (listener != null) {
+                listener.onRoleChanged(this, oldRole);
+            }
+        });
     }
 
+    /**
+     * Sets the manager. The listener may refuse the change (e.g. because it would create a reporting cycle);
+     * the check and the change are one step, so two concurrent changes cannot both pass the check.
+     */
     public void setManager(Employee manager) {
-        this.manager = manager;
+        if (manager != null && manager.getId().equals(id)) {
+            throw new IllegalArgumentException("Employee " + id + " cannot be their own manager.");
+        }
+        change(listener -> {
+            if (listener != null) {
+                listener.beforeManagerChange(this, manager); // May refuse the change
+            }
+            Employee oldManager = this.manager;
+            this.manager = manager;
+            if (listener != null) {
+                listener.onManagerChanged(this, oldManager, manager);
+            }
+        });
     }
 
     public void setFirstName(String firstName) {
-        this.firstName = firstName;
+        change(listener -> {
+            String oldFirstName = this.firstName;
+            this.firstName = firstName;
+            if (listener != null) {
+                listener.onNameChanged(this, oldFirstName, lastName);
+            }
+        });
     }
 
     public void setLastName(String lastName) {
-        this.lastName = lastName;
+        change(listener -> {
+            String oldLastName = this.lastName;
+            this.lastName = lastName;
+            if (listener != null) {
+                listener.onNameChanged(this, firstName, oldLastName);
+            }
+        });
+    }
+
+    /**
+     * Runs a field change through the change listener (under its lock, if it has one). The change is given the
+     * listener to inform, or null if there is none or it stopped listening before the change could start.
+     */
+    private void change(Consumer<EmployeeChangeListener> change) {
+        EmployeeChangeListener listener = changeListener;
+        if (listener == null) {
+            change.accept(null);
+            return;
+        }
+        listener.applyChange(this, () -> change.accept(changeListener == listener ? listener : null));
+    }
+
+    /**
+     * Sets the listener that is informed when this employee changes (null to remove it).
+     */
+    public void setChangeListener(EmployeeChangeListener changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    public EmployeeChangeListener getChangeListener() {
+        return changeListener;
     }
 
     /**
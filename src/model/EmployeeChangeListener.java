@@ -0,0 +1,52 @@
+package model;
+
+/**
+ * EmployeeChangeListener interface: Gets informed when a field of an Employee changes after creation.
+ * The HR system uses it to keep its lookup indexes in sync with the employee objects.
+ */
+public interface EmployeeChangeListener {
+    /**
+     * Runs a change of an employee's field together with the calls about it (beforeManagerChange and the
+     * on...Changed method). A listener can run it under its own lock, so that checking the change, setting the
+     * field and updating the listener's data happen as one step. By default the change just runs.
+     */
+    default void applyChange(Employee employee, Runnable change) {
+        change.run();
+    }
+
+    /**
+     * Called before the manager of an employee is changed. A listener can refuse the change by throwing
+     * an IllegalArgumentException (e.g. because it would create a cycle); the employee then stays unchanged.
+     */
+    default void beforeManagerChange(Employee employee, Employee newManager) {
+    }
+
+    /**
+     * Called after the manager of an employee has been changed.
+     */
+    void onManagerChanged(Employee employee, Employee oldManager, Employee newManager);
+
+    /**
+     * Called after the first or last name of an employee has been changed.
+     */
+    default void onNameChanged(Employee employee, String oldFirstName, String oldLastName) {
+    }
+
+    /**
+     * Called after the department of an employee has been changed.
+     */
+    default void onDepartmentChanged(Employee employee, Department oldDepartment) {
+    }
+
+    /**
+     * Called after the role of an employee has been changed.
+     */
+    default void onRoleChanged(Employee employee, EmployeeRole oldRole) {
+    }
+
+    /**
+     * Called after the base salary of an employee has been changed.
+     */
+    default void onSalaryChanged(Employee employee, double oldBaseSalary) {
+    }
+}
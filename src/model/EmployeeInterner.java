@@ -0,0 +1,64 @@
+package model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * EmployeeInterner class: Keeps one shared copy of values that repeat across many employees,
+ * e.g. first names, last names, departments and the hours of part-time employees.
+ * A roster read from a file has its own String for every "Schmidt" in it; after interning they all point to
+ * the same one, so a large roster stores each distinct value only once.
+ *
+ * Unlike String.intern(), the copies live only as long as this interner, so values of a roster that is no
+ * longer needed can be garbage-collected. Thread-safe.
+ */
+public class EmployeeInterner {
+    private final Map<String, String> strings = new ConcurrentHashMap<>();
+    private final Map<Department, Department> departments = new ConcurrentHashMap<>();
+    private final Map<EmployeeRecord.PartTimeHours, EmployeeRecord.PartTimeHours> partTimeHours = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the shared copy of the string (the given one if it is new). Null stays null.
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String shared = strings.putIfAbsent(value, value);
+        return shared != null ? shared : value;
+    }
+
+    /**
+     * Returns the shared copy of the department, so equal departments are one object. Null stays null.
+     */
+    public Department intern(Department department) {
+        if (department == null) {
+            return null;
+        }
+        Department shared = departments.get(department);
+        if (shared != null) {
+            return shared;
+        }
+        Department interned = new Department(intern(department.name()), intern(department.id()));
+        shared = departments.putIfAbsent(interned, interned);
+        return shared != null ? shared : interned;
+    }
+
+    /**
+     * Returns the shared copy of the part-time hours, so equal hours and rates are one object. Null stays null.
+     */
+    public EmployeeRecord.PartTimeHours intern(EmployeeRecord.PartTimeHours hours) {
+        if (hours == null) {
+            return null;
+        }
+        EmployeeRecord.PartTimeHours shared = partTimeHours.putIfAbsent(hours, hours);
+        return shared != null ? shared : hours;
+    }
+
+    /**
+     * Returns the number of distinct strings, departments and part-time hours kept.
+     */
+    public int size() {
+        return strings.size() + departments.size() + partTimeHours.size();
+    }
+}
@@ -0,0 +1,155 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * EmployeeRecord record: A compact, immutable copy of an employee, e.g. for keeping very large rosters in memory,
+ * for caches, or for handing a roster to other threads.
+ * The manager is stored only as an ID, so a record does not keep the manager (and their whole chain) alive,
+ * and there is no change listener. Names and departments are shared through an EmployeeInterner.
+ *
+ * A record never changes: the with...() methods return a new record (the next version of the employee),
+ * and everyone holding the previous one keeps seeing it unchanged.
+ *
+ * @param managerId the ID of the manager, or null for the top of the organization
+ * @param partTime  the hours and rate of a part-time employee, or null for a full-time employee. Full-time
+ *                  employees (most of a roster) thus pay for one reference instead of two unused doubles.
+ */
+public record EmployeeRecord(String id, String firstName, String lastName, Department department, EmployeeRole role,
+                             String managerId, PartTimeHours partTime, double baseSalary) {
+    /**
+     * PartTimeHours record: What only part-time employees have. Equal values are shared through an EmployeeInterner,
+     * as many part-time employees work the same hours at the same rate.
+     */
+    public record PartTimeHours(double hourlyRate, double hoursWorked) {
+    }
+
+    public EmployeeRecord {
+        if (id == null) {
+            throw new IllegalArgumentException("Employee ID must not be null.");
+        }
+        if (id.equals(managerId)) {
+            throw new IllegalArgumentException("Employee " + id + " cannot be their own manager.");
+        }
+    }
+
+    /**
+     * Creates the record of an employee; names and department are replaced by their shared copies.
+     */
+    public static EmployeeRecord of(Employee employee, EmployeeInterner interner) {
+        Employee manager = employee.getManager();
+        PartTimeHours partTime = employee instanceof PartTimeEmployee partTimeEmployee
+                ? interner.intern(new PartTimeHours(partTimeEmployee.getHourlyRate(), partTimeEmployee.getHoursWorked()))
+                : null;
+        return new EmployeeRecord(employee.getId(), interner.intern(employee.getFirstName()),
+                interner.intern(employee.getLastName()), interner.intern(employee.getDepartment()), employee.getRole(),
+                manager != null ? manager.getId() : null, partTime, employee.getBaseSalary());
+    }
+
+    public boolean isPartTime() {
+        return partTime != null;
+    }
+
+    /**
+     * Returns the hourly rate, or 0 for a full-time employee.
+     */
+    public double hourlyRate() {
+        return partTime != null ? partTime.hourlyRate() : 0;
+    }
+
+    /**
+     * Returns the hours worked, or 0 for a full-time employee.
+     */
+    public double hoursWorked() {
+        return partTime != null ? partTime.hoursWorked() : 0;
+    }
+
+    /**
+     * Creates the records of a whole roster, in the same order, with one interner for all of them.
+     */
+    public static List<EmployeeRecord> ofAll(Collection<? extends Employee> employees) {
+        EmployeeInterner interner = new EmployeeInterner();
+        List<EmployeeRecord> records = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            records.add(of(employee, interner));
+        }
+        return Collections.unmodifiableList(records);
+    }
+
+    /**
+     * Creates a (mutable) employee from this record with the given manager,
+     * whose ID must be the managerId of this record.
+     */
+    public Employee toEmployee(Employee manager) {
+        String givenManagerId = manager != null ? manager.getId() : null;
+        if (managerId == null ? givenManagerId != null : !managerId.equals(givenManagerId)) {
+            throw new IllegalArgumentException("Employee " + id + " reports to " + managerId + ", not to " + givenManagerId + ".");
+        }
+        return create(manager);
+    }
+
+    private Employee create(Employee manager) {
+        if (partTime == null) {
+            return new FullTimeEmployee(id, firstName, lastName, department, role, manager, baseSalary);
+        }
+        Employee employee = new PartTimeEmployee(id, firstName, lastName, department, role, manager,
+                partTime.hourlyRate(), partTime.hoursWorked());
+        if (employee.getBaseSalary() != baseSalary) {
+            employee.setBaseSalary(baseSalary); // Was changed after hiring
+        }
+        return employee;
+    }
+
+    /**
+     * Creates the employees of a whole roster, in the same order, with their managers linked again.
+     * The reporting structure itself is not checked here; HRManager does that when the employees are added.
+     */
+    public static List<Employee> toEmployees(Collection<EmployeeRecord> records) {
+        Map<String, Employee> byId = new HashMap<>(records.size() * 4 / 3 + 1);
+        List<Employee> employees = new ArrayList<>(records.size());
+        for (EmployeeRecord record : records) {
+            Employee employee = record.create(null); // Managers may come later in the list
+            if (byId.putIfAbsent(record.id(), employee) != null) {
+                throw new IllegalArgumentException("Duplicate employee ID " + record.id() + ".");
+            }
+            employees.add(employee);
+        }
+        for (EmployeeRecord record : records) {
+            if (record.managerId() != null) {
+                Employee manager = byId.get(record.managerId());
+                if (manager == null) {
+                    throw new IllegalArgumentException("Manager with ID " + record.managerId() + " not found.");
+                }
+                byId.get(record.id()).setManager(manager);
+            }
+        }
+        return employees;
+    }
+
+    // --- New versions ---
+
+    public EmployeeRecord withName(String firstName, String lastName) {
+        return new EmployeeRecord(id, firstName, lastName, department, role, managerId, partTime, baseSalary);
+    }
+
+    public EmployeeRecord withDepartment(Department department) {
+        return new EmployeeRecord(id, firstName, lastName, department, role, managerId, partTime, baseSalary);
+    }
+
+    public EmployeeRecord withRole(EmployeeRole role) {
+        return new EmployeeRecord(id, firstName, lastName, department, role, managerId, partTime, baseSalary);
+    }
+
+    public EmployeeRecord withManagerId(String managerId) {
+        return new EmployeeRecord(id, firstName, lastName, department, role, managerId, partTime, baseSalary);
+    }
+
+    public EmployeeRecord withBaseSalary(double baseSalary) {
+        return new EmployeeRecord(id, firstName, lastName, department, role, managerId, partTime, baseSalary);
+    }
+}
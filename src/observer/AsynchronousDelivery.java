@@ -0,0 +1,204 @@
+package observer;
+
+import metrics.OperationMetrics;
+import model.Employee;
+import output.OutputEvent;
+import output.OutputSink;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * AsynchronousDelivery class: Puts events into a bounded queue that virtual threads hand over to the observer.
+ * A slow observer therefore no longer slows down the thread that hires or terminates employees.
+ * Queued events of the same type can be handed over as one batch (see DeliveryOptions).
+ *
+ * Queueing an event and closing exclude each other (read and write side of a lock): once close() has started,
+ * no event can be queued behind the stop signals, so every queued event is delivered. Events that arrive after
+ * close() are dropped.
+ */
+final class AsynchronousDelivery implements ObserverDelivery {
+    // Put into the queue once per worker to tell it to stop after all earlier events.
+    private static final LifecycleEvent STOP = new LifecycleEvent(null, null);
+
+    private final EmployeeObserver observer;
+    private final DeliveryOptions options;
+    private final OperationMetrics metrics;
+    private final BlockingQueue<LifecycleEvent> queue;
+    private final List<Thread> workers = new ArrayList<>();
+    private final LongAdder droppedEvents = new LongAdder();
+    private final LongAdder failedDeliveries = new LongAdder();
+    private final Supplier<OutputSink> failureOutput; // Where failures of the observer are reported
+    // Read lock: queueing events; write lock: closing. Guards closed.
+    private final ReentrantReadWriteLock lifecycle = new ReentrantReadWriteLock();
+    private boolean closed;
+
+    AsynchronousDelivery(EmployeeObserver observer, DeliveryOptions options, OperationMetrics metrics,
+                         Supplier<OutputSink> failureOutput) {
+        this.observer = observer;
+        this.options = options;
+        this.metrics = metrics;
+        this.failureOutput = failureOutput;
+        this.queue = new ArrayBlockingQueue<>(options.getQueueCapacity());
+        for (int i = 0; i < options.getParallelism(); i++) {
+            workers.add(Thread.ofVirtual()
+                    .name("observer-" + observer.getClass().getSimpleName() + "-" + i)
+                    .start(this::deliverQueuedEvents));
+        }
+    }
+
+    @Override
+    public EmployeeObserver observer() {
+        return observer;
+    }
+
+    /**
+     * Queues the events. With Backpressure.BLOCK this may wait for room in the queue; close() then waits too.
+     */
+    @Override
+    public void deliver(LifecycleEvent.Type type, List<Employee> employees) {
+        lifecycle.readLock().lock();
+        try {
+            if (closed) {
+                droppedEvents.add(employees.size()); // The observer has been removed in the meantime
+                return;
+            }
+            for (Employee employee : employees) {
+                enqueue(new LifecycleEvent(type, employee));
+            }
+        } finally {
+            lifecycle.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns how many events were dropped: because the queue was full (only with Backpressure.DROP),
+     * because the notifying thread was interrupted while waiting, or because they arrived after close().
+     */
+    long droppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    /**
+     * Returns how many calls of the observer have thrown an exception.
+     */
+    long failedDeliveries() {
+        return failedDeliveries.sum();
+    }
+
+    @Override
+    public void close() {
+        lifecycle.writeLock().lock(); // Waits for events that are being queued right now
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            lifecycle.writeLock().unlock();
+        }
+        try {
+            for (int i = 0; i < workers.size(); i++) {
+                queue.put(STOP);
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Keep the interrupt for the caller
+        }
+    }
+
+    private void enqueue(LifecycleEvent event) {
+        switch (options.getBackpressure()) {
+            case BLOCK -> {
+                try {
+                    queue.put(event);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    droppedEvents.increment();
+                }
+            }
+            case DROP -> {
+                if (!queue.offer(event)) {
+                    droppedEvents.increment();
+                }
+            }
+            case CALLER_RUNS -> {
+                if (!queue.offer(event)) {
+                    safeDispatch(event.type(), List.of(event.employee()));
+                }
+            }
+        }
+    }
+
+    /**
+     * The loop each worker thread runs: wait for an event, take up to batchSize events, hand them over.
+     */
+    private void deliverQueuedEvents() {
+        List<LifecycleEvent> batch = new ArrayList<>(options.getBatchSize());
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, options.getBatchSize() - 1);
+
+            int stops = 0;
+            List<Employee> run = new ArrayList<>();
+            LifecycleEvent.Type runType = null;
+            for (LifecycleEvent event : batch) {
+                if (event == STOP) {
+                    stops++;
+                    continue;
+                }
+                // Consecutive events of the same type are handed over together.
+                if (event.type() != runType && !run.isEmpty()) {
+                    safeDispatch(runType, run);
+                    run = new ArrayList<>();
+                }
+                runType = event.type();
+                run.add(event.employee());
+            }
+            if (!run.isEmpty()) {
+                safeDispatch(runType, run);
+            }
+            batch.clear();
+
+            if (stops > 0) {
+                // A batch may have taken the stop signals of other workers; give them back.
+                // put() waits if the queue is full: the other workers are still running and make room.
+                try {
+                    for (int i = 1; i < stops; i++) {
+                        queue.put(STOP);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return;
+            }
+        }
+    }
+
+    private void safeDispatch(LifecycleEvent.Type type, List<Employee> employees) {
+        try {
+            ObserverDelivery.dispatch(observer, type, employees, metrics);
+        } catch (RuntimeException e) {
+            // A failing observer must not stop the delivery of later events.
+            failedDeliveries.increment();
+            OutputSink sink = failureOutput.get();
+            if (sink.isEnabled()) {
+                String name = observer.getClass().getSimpleName();
+                sink.emit(OutputEvent.error("observer.failed", "Observer " + name + " failed: " + e.getMessage(),
+                        Map.of("observer", name, "eventType", type.name(), "employees", String.valueOf(employees.size()))));
+                sink.flush();
+            }
+        }
+    }
+}
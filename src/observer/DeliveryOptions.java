@@ -0,0 +1,94 @@
+package observer;
+
+/**
+ * DeliveryOptions class: Describes how events are delivered to an asynchronously notified observer.
+ * Objects of this class are immutable; every "with" method returns a changed copy.
+ *
+ * Example: DeliveryOptions.async().withQueueCapacity(10_000).withBatchSize(500)
+ */
+public final class DeliveryOptions {
+    /**
+     * What happens when an observer's queue is full.
+     */
+    public enum Backpressure {
+        /** The notifying thread waits until there is room in the queue. */
+        BLOCK,
+        /** The event is dropped for this observer (counted in droppedEvents()). */
+        DROP,
+        /** The notifying thread delivers the event itself; it may then overtake queued events. */
+        CALLER_RUNS
+    }
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private final int queueCapacity;
+    private final int batchSize;
+    private final Backpressure backpressure;
+    private final int parallelism;
+
+    private DeliveryOptions(int queueCapacity, int batchSize, Backpressure backpressure, int parallelism) {
+        if (queueCapacity < 1 || batchSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("Queue capacity, batch size and parallelism must be at least 1.");
+        }
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.backpressure = backpressure;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Default asynchronous delivery: a queue of 1024 events, no batching, blocking when full, in order.
+     */
+    public static DeliveryOptions async() {
+        return new DeliveryOptions(DEFAULT_QUEUE_CAPACITY, 1, Backpressure.BLOCK, 1);
+    }
+
+    /**
+     * Sets the maximum number of events waiting for the observer.
+     */
+    public DeliveryOptions withQueueCapacity(int queueCapacity) {
+        return new DeliveryOptions(queueCapacity, batchSize, backpressure, parallelism);
+    }
+
+    /**
+     * Sets how many queued events may be handed to the observer in one call (onNewHires/onTerminations).
+     */
+    public DeliveryOptions withBatchSize(int batchSize) {
+        return new DeliveryOptions(queueCapacity, batchSize, backpressure, parallelism);
+    }
+
+    public DeliveryOptions withBackpressure(Backpressure backpressure) {
+        return new DeliveryOptions(queueCapacity, batchSize, backpressure, parallelism);
+    }
+
+    /**
+     * Lets up to the given number of virtual threads deliver events to the observer at the same time.
+     * With more than one, events are no longer delivered in the order they happened.
+     */
+    public DeliveryOptions unordered(int parallelism) {
+        return new DeliveryOptions(queueCapacity, batchSize, backpressure, parallelism);
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public Backpressure getBackpressure() {
+        return backpressure;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Events are delivered in order when only one thread delivers them.
+     */
+    public boolean isOrdered() {
+        return parallelism == 1;
+    }
+}
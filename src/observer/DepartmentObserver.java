@@ -0,0 +1,98 @@
+package observer;
+
+import model.Employee;
+import output.ConsoleSink;
+import output.OutputEvent;
+import output.OutputSink;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DepartmentObserver class: The common part of the department observers (see ITDepartmentObserver and
+ * FinanceDepartmentObserver). It reports every hire and termination as one event with the department's own
+ * type prefix and wording; a batch of events is written out in one go.
+ *
+ * The events go to the output sink of the notifier the observer is added to, so redirecting the HR system
+ * (e.g. to a NoOpSink for a bulk run) redirects the observers too. Before it is added, and if it was created
+ * with a sink of its own, the observer keeps to that sink instead.
+ */
+public class DepartmentObserver implements EmployeeObserver {
+    private final String eventPrefix;
+    private final String label;
+    private final String hireAction;
+    private final String terminationAction;
+    private final boolean ownSink;
+    private volatile OutputSink output;
+
+    /**
+     * @param eventPrefix       prefix of the event types, e.g. "it" for "it.newHire" and "it.termination"
+     * @param label             shown at the start of every message, e.g. "[IT Dept]"
+     * @param hireAction        what the department does for a new hire, e.g. "Creating IT accounts..."
+     * @param terminationAction what the department does when someone leaves
+     * @param output            the sink to use; null to use the sink of the notifier (the console until added)
+     */
+    protected DepartmentObserver(String eventPrefix, String label, String hireAction, String terminationAction,
+                                 OutputSink output) {
+        this.eventPrefix = eventPrefix;
+        this.label = label;
+        this.hireAction = hireAction;
+        this.terminationAction = terminationAction;
+        this.ownSink = output != null;
+        this.output = output != null ? output : ConsoleSink.getInstance();
+    }
+
+    /**
+     * Follows the sink of the notifier, unless this observer was created with a sink of its own.
+     */
+    @Override
+    public void useOutputSink(OutputSink output) {
+        if (!ownSink) {
+            this.output = output;
+        }
+    }
+
+    /**
+     * This method is called when a new employee is hired.
+     */
+    @Override
+    public void onNewHire(Employee employee) {
+        OutputSink sink = output;
+        report(sink, employee, "newHire", "New employee hired", hireAction);
+        sink.flush();
+    }
+
+    /**
+     * When an employee is terminated.
+     */
+    @Override
+    public void onTermination(Employee employee) {
+        OutputSink sink = output;
+        report(sink, employee, "termination", "Employee terminated", terminationAction);
+        sink.flush();
+    }
+
+    @Override
+    public void onNewHires(List<Employee> employees) {
+        OutputSink sink = output;
+        for (Employee employee : employees) {
+            report(sink, employee, "newHire", "New employee hired", hireAction);
+        }
+        sink.flush();
+    }
+
+    @Override
+    public void onTerminations(List<Employee> employees) {
+        OutputSink sink = output;
+        for (Employee employee : employees) {
+            report(sink, employee, "termination", "Employee terminated", terminationAction);
+        }
+        sink.flush();
+    }
+
+    private void report(OutputSink sink, Employee employee, String type, String what, String action) {
+        if (sink.isEnabled()) {
+            sink.emit(OutputEvent.info(eventPrefix + "." + type, label + " " + what + ": " + employee.getFirstName() + " "
+                    + employee.getLastName() + ". " + action, Map.of("employeeId", employee.getId())));
+        }
+    }
+}
@@ -1,49 +1,169 @@
 package observer;
 
+import metrics.HRMetrics;
 import model.Employee;
-import java.util.ArrayList;
+import output.ConsoleSink;
+import output.OutputEvent;
+import output.OutputSink;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * EmployeeLifecycleNotifier class: This is the "Subject" in the Observer design pattern.
  * It notifies them when an employee-related event (like hiring or termination) occurs.
+ * Observers are either called directly, or asynchronously through their own queue (see DeliveryOptions).
  */
 public class EmployeeLifecycleNotifier {
     // A list to hold all the observers (departments) that are interested in employee lifecycle events.
-    private final List<EmployeeObserver> observers = new ArrayList<>();
+    // CopyOnWriteArrayList: observers can be added or removed while another thread is notifying them.
+    private final List<ObserverDelivery> observers = new CopyOnWriteArrayList<>();
+    private volatile OutputSink output = ConsoleSink.getInstance();
+    private final HRMetrics metrics;
 
     /**
-     * Adds an observer to the list.
+     * Creates a notifier with its own metrics (disabled until switched on).
+     */
+    public EmployeeLifecycleNotifier() {
+        this(new HRMetrics());
+    }
+
+    /**
+     * Creates a notifier that records the delivery time of every observer in the given metrics.
+     */
+    public EmployeeLifecycleNotifier(HRMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Adds an observer to the list. It is called directly on the thread that reports an event.
      */
     public void addObserver(EmployeeObserver observer) {
-        observers.add(observer);
-        System.out.println("Observer added: " + observer.getClass().getSimpleName());
+        observer.useOutputSink(output);
+        observers.add(new SynchronousDelivery(observer, metrics.forObserver(observer.getClass().getSimpleName())));
+        report("observer.added", "Observer added: " + observer.getClass().getSimpleName(), observer);
+    }
+
+    /**
+     * Adds an observer that is notified asynchronously on virtual threads, so a slow observer
+     * does not slow down hiring or terminating employees.
+     */
+    public void addObserver(EmployeeObserver observer, DeliveryOptions options) {
+        observer.useOutputSink(output);
+        observers.add(new AsynchronousDelivery(observer, options, metrics.forObserver(observer.getClass().getSimpleName()),
+                () -> output));
+        report("observer.added", "Observer added: " + observer.getClass().getSimpleName() + " (asynchronous)", observer);
     }
 
     /**
-     * Removes an observer from the list.
+     * Removes an observer from the list. Events already queued for it are still delivered.
      */
     public void removeObserver(EmployeeObserver observer) {
-        observers.remove(observer);
-        System.out.println("Observer removed: " + observer.getClass().getSimpleName());
+        for (ObserverDelivery delivery : observers) {
+            if (delivery.observer() == observer) {
+                observers.remove(delivery);
+                delivery.close();
+            }
+        }
+        report("observer.removed", "Observer removed: " + observer.getClass().getSimpleName(), observer);
+    }
+
+    /**
+     * Sets where the notifier reports added and removed observers, and asynchronous observers that failed.
+     * The observers are given the same sink (see EmployeeObserver.useOutputSink).
+     */
+    public void setOutputSink(OutputSink output) {
+        this.output = output;
+        for (ObserverDelivery delivery : observers) {
+            delivery.observer().useOutputSink(output);
+        }
     }
 
     /**
      * Notifies all registered observers that a new employee has been hired.
      */
     public void notifyNewHire(Employee employee) {
-        // Loop through all observers and call their onNewHire method.
-        for (EmployeeObserver observer : observers) {
-            observer.onNewHire(employee);
-        }
+        notifyAll(LifecycleEvent.Type.NEW_HIRE, List.of(employee));
     }
 
     /**
      * Notifies all registered observers that an employee has been terminated.
      */
     public void notifyTermination(Employee employee) {
-        for (EmployeeObserver observer : observers) {
-            observer.onTermination(employee);
+        notifyAll(LifecycleEvent.Type.TERMINATION, List.of(employee));
+    }
+
+    /**
+     * Notifies all registered observers about several new hires at once (e.g. after a bulk import).
+     */
+    public void notifyNewHires(List<Employee> employees) {
+        if (!employees.isEmpty()) {
+            notifyAll(LifecycleEvent.Type.NEW_HIRE, employees);
+        }
+    }
+
+    /**
+     * Notifies all registered observers about several terminations at once.
+     */
+    public void notifyTerminations(List<Employee> employees) {
+        if (!employees.isEmpty()) {
+            notifyAll(LifecycleEvent.Type.TERMINATION, employees);
+        }
+    }
+
+    /**
+     * Returns how many events were dropped for the given observer because its queue was full
+     * (or because they arrived while it was being removed).
+     */
+    public long getDroppedEvents(EmployeeObserver observer) {
+        long dropped = 0;
+        for (ObserverDelivery delivery : observers) {
+            if (delivery.observer() == observer && delivery instanceof AsynchronousDelivery asynchronous) {
+                dropped += asynchronous.droppedEvents();
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Returns how many asynchronous calls of the given observer have thrown an exception.
+     * Each failure is also reported to the notifier's output sink.
+     */
+    public long getFailedDeliveries(EmployeeObserver observer) {
+        long failed = 0;
+        for (ObserverDelivery delivery : observers) {
+            if (delivery.observer() == observer && delivery instanceof AsynchronousDelivery asynchronous) {
+                failed += asynchronous.failedDeliveries();
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Waits until all queued events are delivered and stops the asynchronous deliveries.
+     * Observers added with addObserver(observer) are kept.
+     */
+    public void close() {
+        for (ObserverDelivery delivery : observers) {
+            if (delivery instanceof AsynchronousDelivery) {
+                observers.remove(delivery);
+                delivery.close();
+            }
+        }
+    }
+
+    private void notifyAll(LifecycleEvent.Type type, List<Employee> employees) {
+        // Loop through all observers and deliver the event to each of them.
+        for (ObserverDelivery delivery : observers) {
+            delivery.deliver(type, employees);
+        }
+    }
+
+    private void report(String type, String message, EmployeeObserver observer) {
+        OutputSink sink = output;
+        if (sink.isEnabled()) {
+            sink.emit(OutputEvent.info(type, message, Map.of("observer", observer.getClass().getSimpleName())));
+            sink.flush();
         }
     }
 }
@@ -1,6 +1,8 @@
 package observer;
 
 import model.Employee;
+import output.OutputSink;
+import java.util.List;
 
 /**
  * This is the "Observer" interface in the Observer design pattern.
@@ -15,4 +17,30 @@ public interface EmployeeObserver {
      * And this method is called when an employee is terminated.
      */
     void onTermination(Employee employee);
-}
\ No newline at end of file
+
+    /**
+     * Called by the notifier with its output sink when the observer is added, and again whenever that sink
+     * changes. Observers that report something should write there, so the caller decides where output goes.
+     */
+    default void useOutputSink(OutputSink output) {
+    }
+
+    /**
+     * Called with several new hires at once (e.g. a bulk import, or a batch of an asynchronous delivery).
+     * By default each employee is passed to onNewHire; observers can override it to handle the whole batch in one go.
+     */
+    default void onNewHires(List<Employee> employees) {
+        for (Employee employee : employees) {
+            onNewHire(employee);
+        }
+    }
+
+    /**
+     * Called with several terminations at once. By default each employee is passed to onTermination.
+     */
+    default void onTerminations(List<Employee> employees) {
+        for (Employee employee : employees) {
+            onTermination(employee);
+        }
+    }
+}
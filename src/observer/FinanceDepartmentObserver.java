@@ -1,25 +1,21 @@
 package observer;
 
-import model.Employee;
+import output.OutputSink;
 
 /**
  * This class implements the EmployeeObserver interface.
  * It will handle actions related to payroll when employees are hired or terminated.
+ * Its messages go to the output sink of the notifier (see DepartmentObserver).
  */
-public class FinanceDepartmentObserver implements EmployeeObserver {
-    /**
-     * This method is called when a new employee is hired.
-     */
-    @Override
-    public void onNewHire(Employee employee) {
-        System.out.println("[Finance Dept] New employee hired: " + employee.getFirstName() + " " + employee.getLastName() + ". Adding to payroll..."); // Output in English
+public class FinanceDepartmentObserver extends DepartmentObserver {
+    public FinanceDepartmentObserver() {
+        this(null);
     }
 
     /**
-     * When an employee is terminated.
+     * Creates an observer that always writes to the given sink, whatever the notifier uses.
      */
-    @Override
-    public void onTermination(Employee employee) {
-        System.out.println("[Finance Dept] Employee terminated: " + employee.getFirstName() + " " + employee.getLastName() + ". Removing from payroll..."); // Output in English
+    public FinanceDepartmentObserver(OutputSink output) {
+        super("finance", "[Finance Dept]", "Adding to payroll...", "Removing from payroll...", output); // Output in English
     }
 }
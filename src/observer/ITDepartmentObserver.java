@@ -1,25 +1,21 @@
 package observer;
 
-import model.Employee;
+import output.OutputSink;
 
 /**
  * This class implements the EmployeeObserver interface.
  * It will handle actions related to IT accounts and access when employees are hired or terminated.
+ * Its messages go to the output sink of the notifier (see DepartmentObserver).
  */
-public class ITDepartmentObserver implements EmployeeObserver {
-    /**
-     * This method is called when a new employee is hired.
-     */
-    @Override
-    public void onNewHire(Employee employee) {
-        System.out.println("[IT Dept] New employee hired: " + employee.getFirstName() + " " + employee.getLastName() + ". Creating IT accounts..."); // Output in English
+public class ITDepartmentObserver extends DepartmentObserver {
+    public ITDepartmentObserver() {
+        this(null);
     }
 
     /**
-     * When an employee is terminated.
+     * Creates an observer that always writes to the given sink, whatever the notifier uses.
      */
-    @Override
-    public void onTermination(Employee employee) {
-        System.out.println("[IT Dept] Employee terminated: " + employee.getFirstName() + " " + employee.getLastName() + ". Revoking IT access..."); // Output in English
+    public ITDepartmentObserver(OutputSink output) {
+        super("it", "[IT Dept]", "Creating IT accounts...", "Revoking IT access...", output); // Output in English
     }
 }
@@ -0,0 +1,13 @@
+package observer;
+
+import model.Employee;
+
+/**
+ * One employee lifecycle event waiting in the queue of an asynchronously notified observer.
+ */
+record LifecycleEvent(Type type, Employee employee) {
+    enum Type {
+        NEW_HIRE,
+        TERMINATION
+    }
+}
@@ -0,0 +1,62 @@
+package observer;
+
+import metrics.ObserverDeliveryEvent;
+import metrics.OperationMetrics;
+import model.Employee;
+import java.util.List;
+
+/**
+ * ObserverDelivery interface: Decides how lifecycle events reach one registered observer,
+ * either directly on the notifying thread or through a queue.
+ */
+interface ObserverDelivery {
+    EmployeeObserver observer();
+
+    /**
+     * Delivers (or queues) events of the given type for all given employees.
+     */
+    void deliver(LifecycleEvent.Type type, List<Employee> employees);
+
+    /**
+     * Stops the delivery after all queued events have been delivered.
+     */
+    default void close() {
+        // Nothing to stop for direct delivery.
+    }
+
+    /**
+     * Calls the observer method that matches the event type.
+     * A single employee goes to onNewHire/onTermination, several to onNewHires/onTerminations.
+     * The time the observer takes is recorded in the given metrics and as a JFR event.
+     */
+    static void dispatch(EmployeeObserver observer, LifecycleEvent.Type type, List<Employee> employees, OperationMetrics metrics) {
+        long start = metrics.start();
+        ObserverDeliveryEvent event = new ObserverDeliveryEvent();
+        event.begin();
+        try {
+            if (type == LifecycleEvent.Type.NEW_HIRE) {
+                if (employees.size() == 1) {
+                    observer.onNewHire(employees.get(0));
+                } else {
+                    observer.onNewHires(employees);
+                }
+            } else {
+                if (employees.size() == 1) {
+                    observer.onTermination(employees.get(0));
+                } else {
+                    observer.onTerminations(employees);
+                }
+            }
+        } finally {
+            metrics.stop(start, employees.size());
+            if (event.shouldCommit()) {
+                event.observer = observer.getClass().getSimpleName();
+                event.eventType = type.name();
+                event.employeeCount = employees.size();
+                Employee first = employees.isEmpty() ? null : employees.get(0);
+                event.department = first != null && first.getDepartment() != null ? first.getDepartment().name() : null;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package observer;
+
+import metrics.OperationMetrics;
+import model.Employee;
+import java.util.List;
+
+/**
+ * Calls the observer directly on the thread that reports the event (the original behaviour).
+ */
+record SynchronousDelivery(EmployeeObserver observer, OperationMetrics metrics) implements ObserverDelivery {
+    @Override
+    public void deliver(LifecycleEvent.Type type, List<Employee> employees) {
+        ObserverDelivery.dispatch(observer, type, employees, metrics);
+    }
+}
@@ -0,0 +1,47 @@
+package output;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * ConsoleSink class: Prints the message of every event to the console.
+ * Lines are collected in a buffer and written with a single system call when the sink is flushed
+ * (or the buffer is full), instead of one synchronized console write per line.
+ * There is only one instance, so output from all parts of the system stays in order.
+ */
+public class ConsoleSink implements OutputSink {
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final ConsoleSink INSTANCE = new ConsoleSink();
+
+    // Only flushed, never closed, so that System.out stays open
+    private final Writer out = new BufferedWriter(new OutputStreamWriter(System.out, System.out.charset()));
+
+    private ConsoleSink() {
+    }
+
+    public static ConsoleSink getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public synchronized void emit(OutputEvent event) {
+        try {
+            out.write(event.message());
+            out.write(LINE_SEPARATOR);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package output;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * FileSink class: Appends every event as one line of JSON to a file (see OutputEvent.toJson),
+ * so the output of a bulk run can be searched or processed later.
+ * Lines are buffered and written when the sink is flushed or closed.
+ */
+public class FileSink implements OutputSink, Closeable {
+    private final Writer out;
+
+    /**
+     * Opens the file for appending; it is created if it does not exist.
+     */
+    public FileSink(Path file) throws IOException {
+        this.out = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE), 1 << 16);
+    }
+
+    @Override
+    public synchronized void emit(OutputEvent event) {
+        try {
+            out.write(event.toJson());
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+}
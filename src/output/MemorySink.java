@@ -0,0 +1,38 @@
+package output;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MemorySink class: Keeps all events in memory, e.g. to show them later or to check what an operation reported.
+ */
+public class MemorySink implements OutputSink {
+    private final List<OutputEvent> events = new ArrayList<>();
+
+    @Override
+    public synchronized void emit(OutputEvent event) {
+        events.add(event);
+    }
+
+    /**
+     * Returns a copy of all events reported so far, oldest first.
+     */
+    public synchronized List<OutputEvent> getEvents() {
+        return new ArrayList<>(events);
+    }
+
+    /**
+     * Returns the messages of all events reported so far, oldest first.
+     */
+    public synchronized List<String> getMessages() {
+        List<String> messages = new ArrayList<>(events.size());
+        for (OutputEvent event : events) {
+            messages.add(event.message());
+        }
+        return messages;
+    }
+
+    public synchronized void clear() {
+        events.clear();
+    }
+}
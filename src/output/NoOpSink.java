@@ -0,0 +1,25 @@
+package output;
+
+/**
+ * NoOpSink class: Ignores all events. Used for bulk runs where nothing should be reported;
+ * callers that check isEnabled do not even create the events.
+ */
+public class NoOpSink implements OutputSink {
+    private static final NoOpSink INSTANCE = new NoOpSink();
+
+    private NoOpSink() {
+    }
+
+    public static NoOpSink getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void emit(OutputEvent event) {
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+}
@@ -0,0 +1,87 @@
+package output;
+
+import java.util.Map;
+
+/**
+ * OutputEvent record: One thing the HR system reports, e.g. "employee added" or one line of the org chart.
+ * Besides the human-readable message it has a type and named fields, so sinks can write it in a structured
+ * form (see toJson) and programs can react to it without parsing text.
+ *
+ * @param timestamp when the event was created (milliseconds since the epoch)
+ * @param level     how important the event is
+ * @param type      what happened, e.g. "employee.added"
+ * @param message   the text shown to the user
+ * @param fields    further details, e.g. "employeeId" -> "E001"
+ */
+public record OutputEvent(long timestamp, Level level, String type, String message, Map<String, String> fields) {
+    public enum Level {
+        INFO,
+        WARNING,
+        ERROR
+    }
+
+    public static OutputEvent info(String type, String message) {
+        return new OutputEvent(System.currentTimeMillis(), Level.INFO, type, message, Map.of());
+    }
+
+    public static OutputEvent info(String type, String message, Map<String, String> fields) {
+        return new OutputEvent(System.currentTimeMillis(), Level.INFO, type, message, fields);
+    }
+
+    public static OutputEvent warning(String type, String message, Map<String, String> fields) {
+        return new OutputEvent(System.currentTimeMillis(), Level.WARNING, type, message, fields);
+    }
+
+    public static OutputEvent error(String type, String message, Map<String, String> fields) {
+        return new OutputEvent(System.currentTimeMillis(), Level.ERROR, type, message, fields);
+    }
+
+    /**
+     * Returns the event as one line of JSON, e.g.
+     * {"timestamp":1700000000000,"level":"INFO","type":"employee.added","message":"...","employeeId":"E001"}
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder(64 + message.length());
+        json.append("{\"timestamp\":").append(timestamp)
+                .append(",\"level\":\"").append(level).append('"');
+        appendField(json, "type", type);
+        appendField(json, "message", message);
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            appendField(json, field.getKey(), field.getValue());
+        }
+        return json.append('}').toString();
+    }
+
+    private static void appendField(StringBuilder json, String name, String value) {
+        json.append(',');
+        appendString(json, name);
+        json.append(':');
+        if (value == null) {
+            json.append("null");
+        } else {
+            appendString(json, value);
+        }
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
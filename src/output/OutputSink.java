@@ -0,0 +1,29 @@
+package output;
+
+/**
+ * OutputSink interface: Where the HR system sends what it reports (console, file, memory, or nowhere).
+ * Services hand their events to a sink instead of printing them, so the caller decides whether a bulk
+ * operation writes a million lines to the terminal, to a file, or not at all.
+ *
+ * Sinks may buffer events; whoever emits a group of events (e.g. one operation) calls flush at the end.
+ * Sinks must be safe to use from several threads.
+ */
+public interface OutputSink {
+    /**
+     * Reports one event.
+     */
+    void emit(OutputEvent event);
+
+    /**
+     * Returns false if the sink ignores all events. Callers can then skip building the events entirely.
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Writes out any buffered events.
+     */
+    default void flush() {
+    }
+}
@@ -0,0 +1,68 @@
+package output;
+
+import java.io.Writer;
+
+/**
+ * SinkWriter class: A Writer that turns every line written to it into an event of the given type.
+ * It lets code that formats text into a Writer (e.g. the org chart or the payroll lines) report through a sink.
+ * A last line without a line break is emitted on flush or close.
+ */
+public class SinkWriter extends Writer {
+    private final OutputSink sink;
+    private final String type;
+    private final StringBuilder line = new StringBuilder(128);
+
+    public SinkWriter(OutputSink sink, String type) {
+        this.sink = sink;
+        this.type = type;
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length) {
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            char c = chars[i];
+            if (c == '\n') {
+                emitLine();
+            } else {
+                line.append(c);
+            }
+        }
+    }
+
+    @Override
+    public void write(String text, int offset, int length) {
+        int end = offset + length;
+        int lineStart = offset;
+        for (int i = offset; i < end; i++) {
+            if (text.charAt(i) == '\n') {
+                line.append(text, lineStart, i);
+                emitLine();
+                lineStart = i + 1;
+            }
+        }
+        line.append(text, lineStart, end);
+    }
+
+    @Override
+    public void flush() {
+        if (!line.isEmpty()) {
+            emitLine();
+        }
+        sink.flush();
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+
+    private void emitLine() {
+        int length = line.length();
+        if (length > 0 && line.charAt(length - 1) == '\r') {
+            line.setLength(length - 1); // Windows line break
+        }
+        sink.emit(OutputEvent.info(type, line.toString()));
+        line.setLength(0);
+    }
+}
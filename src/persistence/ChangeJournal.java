@@ -0,0 +1,508 @@
+package persistence;
+
+import factory.EmployeeFactory;
+import model.Department;
+import model.Employee;
+import model.EmployeeRole;
+import model.PartTimeEmployee;
+import output.ConsoleSink;
+import output.OutputEvent;
+import output.OutputSink;
+import service.EmployeeStoreListener;
+import service.HRManager;
+import service.HRState;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * ChangeJournal class: An append-only log (write-ahead journal) of all employee changes,
+ * so the state of the HRManager survives a crash without rewriting a full snapshot after every change.
+ *
+ * Changes are first collected in memory and written to disk together ("group commit"): the journal is
+ * synced when the sync interval has passed or when enough bytes are waiting, whichever comes first.
+ * When the journal has grown beyond the compaction size, a fresh snapshot is written and the journal
+ * is shortened to the changes made after that snapshot.
+ *
+ * Every record is stored as: int length, payload, int CRC32 of the payload. Replaying stops at the first
+ * incomplete or damaged record (e.g. the last record written during a crash).
+ * Applying a record twice gives the same result, so replaying over a newer snapshot is harmless.
+ *
+ * Syncing runs on its own thread, and compaction on another one, so writing a snapshot never delays
+ * the next group commit. Failures of either are reported to the output sink (see setOutputSink).
+ */
+public class ChangeJournal implements EmployeeStoreListener, Closeable {
+    private static final byte UPSERT = 1; // Employee added or changed: the full employee is stored
+    private static final byte DELETE = 2;
+    private static final byte CLEAR = 3;
+    private static final byte FULL_TIME = 0;
+    private static final byte PART_TIME = 1;
+
+    private final HRManager hrManager;
+    private final Path snapshotFile;
+    private final Path journalFile;
+    private final int syncBytes;
+    private final long compactBytes;
+
+    // Records waiting to be written. Guarded by pendingLock.
+    private final Object pendingLock = new Object();
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream(1 << 16);
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+    private final DataOutputStream recordOut = new DataOutputStream(record);
+    private final CRC32 crc = new CRC32();
+    private long journalEnd; // Size of the journal file once all waiting records are written
+
+    // The journal file. Guarded by ioLock.
+    private final ReentrantLock ioLock = new ReentrantLock();
+    private FileChannel channel;
+    private long journalSize;
+
+    private final ScheduledExecutorService syncer;
+    private final ExecutorService compactor;
+    private final AtomicBoolean syncRequested = new AtomicBoolean();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private volatile OutputSink output = ConsoleSink.getInstance();
+
+    private ChangeJournal(HRManager hrManager, Path snapshotFile, Path journalFile,
+                          Duration syncInterval, int syncBytes, long compactBytes) throws IOException {
+        this.hrManager = hrManager;
+        this.snapshotFile = snapshotFile;
+        this.journalFile = journalFile;
+        this.syncBytes = syncBytes;
+        this.compactBytes = compactBytes;
+        this.channel = openForAppend(journalFile);
+        this.journalSize = channel.size();
+        this.journalEnd = journalSize;
+        this.syncer = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "change-journal-sync"));
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> daemon(runnable, "change-journal-compact"));
+        long intervalMillis = Math.max(1, syncInterval.toMillis());
+        syncer.scheduleWithFixedDelay(this::syncQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Restores the HRManager from the snapshot (if there is one) and the journal written after it.
+     * Call this at startup, before open().
+     */
+    public static void recover(Path snapshotFile, Path journalFile, HRManager hrManager) throws IOException {
+        Map<String, Department> departments;
+        Map<String, Employee> employees = new LinkedHashMap<>();
+        if (Files.exists(snapshotFile)) {
+            EmployeeSnapshot.Contents contents = EmployeeSnapshot.load(snapshotFile);
+            departments = new LinkedHashMap<>(contents.departments());
+            for (Employee employee : contents.employees()) {
+                employees.put(employee.getId(), employee);
+            }
+        } else {
+            departments = new LinkedHashMap<>(hrManager.getDepartments());
+        }
+        if (Files.exists(journalFile)) {
+            replay(journalFile, departments, employees);
+        }
+        hrManager.restore(departments, new ArrayList<>(employees.values()));
+    }
+
+    /**
+     * Starts journaling all changes of the HRManager.
+     *
+     * @param syncInterval the longest time a change may wait before it is synced to disk
+     * @param syncBytes    sync earlier once this many bytes are waiting
+     * @param compactBytes write a new snapshot once the journal is this large (0 = never automatically)
+     */
+    public static ChangeJournal open(HRManager hrManager, Path snapshotFile, Path journalFile,
+                                     Duration syncInterval, int syncBytes, long compactBytes) throws IOException {
+        ChangeJournal journal = new ChangeJournal(hrManager, snapshotFile, journalFile, syncInterval, syncBytes, compactBytes);
+        hrManager.addChangeListener(journal);
+        return journal;
+    }
+
+    /**
+     * Sets where the journal reports syncs and compactions that failed in the background.
+     */
+    public void setOutputSink(OutputSink output) {
+        this.output = output;
+    }
+
+    // --- Changes reported by the HRManager ---
+
+    @Override
+    public void onAdd(Employee employee) {
+        appendUpsert(employee);
+    }
+
+    @Override
+    public void onRemove(Employee employee) {
+        append(out -> {
+            out.writeByte(DELETE);
+            out.writeUTF(employee.getId());
+        });
+    }
+
+    @Override
+    public void onClear() {
+        append(out -> out.writeByte(CLEAR));
+    }
+
+    @Override
+    public void onReplace(Employee oldEmployee, Employee updatedEmployee) {
+        appendUpsert(updatedEmployee);
+    }
+
+    @Override
+    public void onManagerChanged(Employee employee, Employee oldManager, Employee newManager) {
+        appendUpsert(employee);
+    }
+
+    @Override
+    public void onNameChanged(Employee employee, String oldFirstName, String oldLastName) {
+        appendUpsert(employee);
+    }
+
+    @Override
+    public void onDepartmentChanged(Employee employee, Department oldDepartment) {
+        appendUpsert(employee);
+    }
+
+    @Override
+    public void onRoleChanged(Employee employee, EmployeeRole oldRole) {
+        appendUpsert(employee);
+    }
+
+    @Override
+    public void onSalaryChanged(Employee employee, double oldBaseSalary) {
+        appendUpsert(employee);
+    }
+
+    // --- Writing ---
+
+    /**
+     * Writes all waiting records to the journal file and forces them to disk.
+     */
+    public void sync() throws IOException {
+        ioLock.lock();
+        try {
+            if (!channel.isOpen()) {
+                reopen(); // A failed compaction could not open the journal again
+            }
+            byte[] data;
+            synchronized (pendingLock) {
+                if (pending.size() == 0) {
+                    return;
+                }
+                data = pending.toByteArray();
+                pending.reset();
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+            journalSize += data.length;
+        } finally {
+            ioLock.unlock();
+        }
+        if (compactBytes > 0 && journalSize >= compactBytes && compacting.compareAndSet(false, true)) {
+            compactor.execute(this::compactQuietly);
+        }
+    }
+
+    /**
+     * Writes a fresh snapshot and removes the journal records that it already contains.
+     * The journal is only shortened once the snapshot is on disk (see EmployeeSnapshot.save).
+     * Changes made while the snapshot is written stay in the journal; replaying them again is harmless.
+     */
+    public void compact() throws IOException {
+        sync();
+        // The state and the end of its records are read while no change can run. Changes are only published
+        // when their atomically block ends, but their records are appended right away; read separately,
+        // the journal could already cover changes that the snapshot does not contain yet.
+        Cut cut = hrManager.atomically(() -> {
+            synchronized (pendingLock) {
+                return new Cut(hrManager.getState(), journalEnd);
+            }
+        });
+        EmployeeSnapshot.save(cut.state(), snapshotFile);
+
+        ioLock.lock();
+        try {
+            sync();
+            // Copy the records written after coveredBytes into a new journal and swap it in.
+            Path tempFile = journalFile.resolveSibling(journalFile.getFileName() + ".tmp");
+            try (FileChannel target = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                long position = cut.journalBytes();
+                while (position < journalSize) {
+                    position += channel.transferTo(position, journalSize - position, target);
+                }
+                target.force(false);
+            }
+            channel.close(); // Some platforms (e.g. Windows) cannot replace a file that is still open
+            try {
+                Files.move(tempFile, journalFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                reopen(); // The new journal, or the old one if it could not be replaced
+            }
+            EmployeeSnapshot.forceDirectory(journalFile);
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    /**
+     * Stops journaling, writes the remaining records and closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        hrManager.removeChangeListener(this);
+        syncer.shutdown();
+        compactor.shutdown();
+        try {
+            syncer.awaitTermination(1, TimeUnit.MINUTES);
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sync();
+        ioLock.lock();
+        try {
+            channel.close();
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    /**
+     * A state of the HRManager and the size the journal has once all records of that state are written.
+     */
+    private record Cut(HRState state, long journalBytes) {
+    }
+
+    private interface RecordWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private void appendUpsert(Employee employee) {
+        append(out -> {
+            out.writeByte(UPSERT);
+            writeEmployee(out, employee);
+        });
+    }
+
+    private void append(RecordWriter writer) {
+        int waiting;
+        synchronized (pendingLock) {
+            try {
+                record.reset();
+                writer.write(recordOut);
+                crc.reset();
+                crc.update(record.toByteArray());
+                DataOutputStream out = new DataOutputStream(pending);
+                out.writeInt(record.size());
+                record.writeTo(pending);
+                out.writeInt((int) crc.getValue());
+                journalEnd += 8 + record.size();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e); // Cannot happen when writing to memory
+            }
+            waiting = pending.size();
+        }
+        if (waiting >= syncBytes && syncRequested.compareAndSet(false, true)) {
+            syncer.execute(this::syncQuietly); // Enough bytes are waiting: do not wait for the interval
+        }
+    }
+
+    private void syncQuietly() {
+        syncRequested.set(false);
+        try {
+            sync();
+        } catch (IOException e) {
+            reportFailure("journal.syncFailed", "Change journal could not be written: " + e.getMessage());
+        }
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (IOException e) {
+            reportFailure("journal.compactFailed", "Change journal could not be compacted: " + e.getMessage());
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    private void reportFailure(String type, String message) {
+        OutputSink sink = output;
+        if (sink.isEnabled()) {
+            sink.emit(OutputEvent.error(type, message, Map.of("journal", journalFile.toString())));
+            sink.flush();
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Opens the journal file again, e.g. after it was replaced. Must be called holding ioLock.
+     */
+    private void reopen() throws IOException {
+        channel = openForAppend(journalFile);
+        journalSize = channel.size();
+        synchronized (pendingLock) {
+            journalEnd = journalSize + pending.size();
+        }
+    }
+
+    private static FileChannel openForAppend(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private static void writeEmployee(DataOutputStream out, Employee employee) throws IOException {
+        boolean partTime = employee instanceof PartTimeEmployee;
+        out.writeByte(partTime ? PART_TIME : FULL_TIME);
+        out.writeUTF(employee.getId());
+        writeNullable(out, employee.getFirstName());
+        writeNullable(out, employee.getLastName());
+        Department department = employee.getDepartment();
+        writeNullable(out, department != null ? department.name() : null);
+        writeNullable(out, department != null ? department.id() : null);
+        out.writeByte(employee.getRole() != null ? employee.getRole().ordinal() : -1);
+        out.writeDouble(employee.getBaseSalary());
+        out.writeDouble(partTime ? ((PartTimeEmployee) employee).getHourlyRate() : 0.0);
+        out.writeDouble(partTime ? ((PartTimeEmployee) employee).getHoursWorked() : 0.0);
+        writeNullable(out, employee.getManager() != null ? employee.getManager().getId() : null);
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    // --- Replaying ---
+
+    /**
+     * Applies the records of a journal file to the given departments and employees (ID -> employee, in order).
+     */
+    private static void replay(Path journalFile, Map<String, Department> departments, Map<String, Employee> employees) throws IOException {
+        Map<String, Department> departmentsById = new HashMap<>();
+        for (Department department : departments.values()) {
+            departmentsById.put(department.id(), department);
+        }
+        Map<String, String> managerIds = new HashMap<>(); // Managers of replayed employees, linked at the end
+        EmployeeRole[] roles = EmployeeRole.values();
+        CRC32 checksum = new CRC32();
+
+        try (InputStream file = Files.newInputStream(journalFile);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file, 1 << 16))) {
+            long remaining = Files.size(journalFile);
+            while (remaining >= 8) {
+                byte[] payload;
+                try {
+                    int length = in.readInt();
+                    remaining -= 4;
+                    // A payload has at least the operation byte and is followed by the checksum. Anything else
+                    // is a damaged length (or zeros written during a crash), which must not be allocated.
+                    if (length < 1 || length > remaining - 4) {
+                        break;
+                    }
+                    payload = new byte[length];
+                    in.readFully(payload);
+                    int expected = in.readInt();
+                    remaining -= length + 4;
+                    checksum.reset();
+                    checksum.update(payload);
+                    if ((int) checksum.getValue() != expected) {
+                        break; // Damaged record: everything after it is ignored
+                    }
+                } catch (EOFException e) {
+                    break; // The file became shorter while it was read
+                }
+                DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+                byte operation = record.readByte();
+                if (operation == UPSERT) {
+                    Employee employee = readEmployee(record, departmentsById, roles, managerIds);
+                    employees.put(employee.getId(), employee); // Replacing keeps the position, like the store
+                } else if (operation == DELETE) {
+                    String id = record.readUTF();
+                    employees.remove(id);
+                    managerIds.remove(id);
+                } else if (operation == CLEAR) {
+                    employees.clear();
+                    managerIds.clear();
+                }
+            }
+        }
+
+        // Link managers through the final ID index. Employees from the snapshot are re-linked too,
+        // because their manager may have been replaced by a newer version from the journal.
+        for (Employee employee : employees.values()) {
+            String managerId = managerIds.containsKey(employee.getId())
+                    ? managerIds.get(employee.getId())
+                    : (employee.getManager() != null ? employee.getManager().getId() : null);
+            Employee manager = managerId != null ? employees.get(managerId) : null;
+            if (manager != employee.getManager()) {
+                employee.setManager(manager);
+            }
+        }
+    }
+
+    private static Employee readEmployee(DataInputStream in, Map<String, Department> departmentsById,
+                                         EmployeeRole[] roles, Map<String, String> managerIds) throws IOException {
+        byte type = in.readByte();
+        String id = in.readUTF();
+        String firstName = readNullable(in);
+        String lastName = readNullable(in);
+        String departmentName = readNullable(in);
+        String departmentId = readNullable(in);
+        byte role = in.readByte();
+        double baseSalary = in.readDouble();
+        double hourlyRate = in.readDouble();
+        double hoursWorked = in.readDouble();
+        managerIds.put(id, readNullable(in));
+
+        Department department = departmentId == null ? null
+                : departmentsById.computeIfAbsent(departmentId, key -> new Department(departmentName, key));
+        EmployeeRole employeeRole = role >= 0 ? roles[role] : null;
+        if (type != PART_TIME) {
+            return EmployeeFactory.createFullTimeEmployee(id, firstName, lastName, department, employeeRole, null, baseSalary);
+        }
+        Employee employee = EmployeeFactory.createPartTimeEmployee(id, firstName, lastName, department, employeeRole, null,
+                hourlyRate, hoursWorked);
+        if (employee.getBaseSalary() != baseSalary) {
+            employee.setBaseSalary(baseSalary); // Was changed after hiring
+        }
+        return employee;
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,45 @@
+package persistence;
+
+/**
+ * EmployeeCsvFormat class: The column layout of the employee CSV file and the rules for quoting fields.
+ * Fields that contain a comma, a quote or a line break are written in double quotes (as in RFC 4180);
+ * a quote inside such a field is written twice. A quoted field may span several lines (see EmployeeCsvReader).
+ */
+final class EmployeeCsvFormat {
+    static final String HEADER = "id,type,firstName,lastName,departmentName,departmentId,role,baseSalary,hourlyRate,hoursWorked,managerId";
+    static final int COLUMN_COUNT = 11;
+
+    static final int ID = 0;
+    static final int TYPE = 1;
+    static final int FIRST_NAME = 2;
+    static final int LAST_NAME = 3;
+    static final int DEPARTMENT_NAME = 4;
+    static final int DEPARTMENT_ID = 5;
+    static final int ROLE = 6;
+    static final int BASE_SALARY = 7;
+    static final int HOURLY_RATE = 8;
+    static final int HOURS_WORKED = 9;
+    static final int MANAGER_ID = 10;
+
+    static final String FULL_TIME = "FULLTIME";
+    static final String PART_TIME = "PARTTIME";
+
+    private EmployeeCsvFormat() {
+    }
+
+    /**
+     * Appends a field, quoting it if necessary.
+     */
+    static void appendField(StringBuilder line, String value) {
+        if (value == null) {
+            return; // Missing values are written as empty fields
+        }
+        boolean needsQuotes = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            line.append(value);
+            return;
+        }
+        line.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
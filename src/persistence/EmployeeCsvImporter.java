@@ -0,0 +1,91 @@
+package persistence;
+
+import model.Employee;
+import service.BulkImportResult;
+import service.HRManager;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * EmployeeCsvImporter class: Loads a CSV roster into the HRManager and writes the roster back to CSV.
+ * Import works in two passes: the file is streamed once to create the employees, then the manager
+ * links are resolved through an ID index of the imported (and already existing) employees.
+ */
+public class EmployeeCsvImporter {
+    // Private constructor, as all methods are static.
+    private EmployeeCsvImporter() {
+    }
+
+    /**
+     * Imports the CSV file into the HRManager (see importInto(Reader, HRManager)).
+     */
+    public static BulkImportResult importInto(Path file, HRManager hrManager) throws IOException {
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importInto(in, hrManager);
+        }
+    }
+
+    /**
+     * Imports CSV rows into the HRManager with one bulk add.
+     * Rows whose manager ID is neither in the file nor in the HRManager are rejected, and so are rows that name
+     * themselves as their manager, rows in reporting cycles and the rows that report to a rejected row.
+     */
+    public static BulkImportResult importInto(Reader in, HRManager hrManager) throws IOException {
+        List<Employee> batch = new ArrayList<>();
+        List<String> managerIds = new ArrayList<>(); // managerIds.get(i) belongs to batch.get(i)
+        Map<String, Employee> batchById = new HashMap<>();
+
+        // Pass 1: stream the file and create the employees
+        try (EmployeeCsvReader reader = new EmployeeCsvReader(in, hrManager.getDepartments().values())) {
+            EmployeeCsvReader.Row row;
+            while ((row = reader.next()) != null) {
+                batch.add(row.employee());
+                managerIds.add(row.managerId());
+                batchById.putIfAbsent(row.employee().getId(), row.employee());
+            }
+        }
+
+        // Pass 2: resolve the manager links through the ID index
+        List<Employee> resolved = new ArrayList<>(batch.size());
+        List<BulkImportResult.Rejection> rejected = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Employee employee = batch.get(i);
+            String managerId = managerIds.get(i);
+            if (managerId != null) {
+                if (managerId.equals(employee.getId())) {
+                    rejected.add(new BulkImportResult.Rejection(employee, "Employee " + managerId + " cannot be their own manager."));
+                    continue; // Like a missing manager: rows reporting to this one are rejected by addEmployees
+                }
+                Employee manager = batchById.get(managerId);
+                if (manager == null) {
+                    manager = hrManager.getEmployeeById(managerId).orElse(null);
+                }
+                if (manager == null) {
+                    rejected.add(new BulkImportResult.Rejection(employee, "Manager with ID " + managerId + " not found."));
+                    continue; // Rows reporting to this one are rejected by addEmployees
+                }
+                employee.setManager(manager);
+            }
+            resolved.add(employee);
+        }
+        return hrManager.addEmployees(resolved).withAdditionalRejections(rejected);
+    }
+
+    /**
+     * Writes all employees of the HRManager to a CSV file.
+     */
+    public static void exportTo(Path file, HRManager hrManager) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+             EmployeeCsvWriter writer = new EmployeeCsvWriter(out)) {
+            writer.writeAll(hrManager.getAllEmployees());
+        }
+    }
+}
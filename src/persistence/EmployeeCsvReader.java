@@ -0,0 +1,217 @@
+package persistence;
+
+import builder.EmployeeBuilder;
+import model.Department;
+import model.Employee;
+import model.EmployeeRole;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * EmployeeCsvReader class: Reads employees from CSV one record at a time, so the file is never loaded as a whole.
+ * Each record is turned into an Employee with the EmployeeBuilder. A record is usually one line, but a quoted
+ * field may contain line breaks, and then the record continues on the next lines. The manager is not set yet; it is returned
+ * as an ID so it can be resolved once all employees are known (see EmployeeCsvImporter).
+ */
+public class EmployeeCsvReader implements Closeable {
+    /**
+     * One parsed record: the employee (without manager), the ID of its manager (or null), and the line it starts on.
+     */
+    public record Row(Employee employee, String managerId, long lineNumber) {
+    }
+
+    private final BufferedReader in;
+    // Department ID -> department. Every department object is created only once, however many rows use it.
+    private final Map<String, Department> departmentsById = new HashMap<>();
+    private final StringBuilder field = new StringBuilder(); // Reused for every field
+    private long lineNumber; // Lines read so far
+    private long recordLine; // Line on which the current record starts
+
+    /**
+     * Creates a reader. Rows that refer to one of the known departments (by department ID) use that object.
+     */
+    public EmployeeCsvReader(Reader in, Collection<Department> knownDepartments) {
+        this.in = in instanceof BufferedReader buffered ? buffered : new BufferedReader(in);
+        for (Department department : knownDepartments) {
+            departmentsById.put(department.id(), department);
+        }
+    }
+
+    /**
+     * Reads the next employee, or returns null at the end of the file.
+     * The header line and empty lines are skipped. A malformed record causes an IllegalArgumentException.
+     */
+    public Row next() throws IOException {
+        List<String> fields;
+        while ((fields = readRecord()) != null) {
+            if (isBlank(fields) || (recordLine == 1 && String.join(",", fields).equals(EmployeeCsvFormat.HEADER))) {
+                continue;
+            }
+            return parse(fields);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the remaining rows as a lazy stream; each row is read when the stream asks for it.
+     */
+    public Stream<Row> rows() {
+        Iterator<Row> iterator = new Iterator<>() {
+            private Row nextRow = readNext();
+
+            @Override
+            public boolean hasNext() {
+                return nextRow != null;
+            }
+
+            @Override
+            public Row next() {
+                if (nextRow == null) {
+                    throw new NoSuchElementException();
+                }
+                Row row = nextRow;
+                nextRow = readNext();
+                return row;
+            }
+
+            private Row readNext() {
+                try {
+                    return EmployeeCsvReader.this.next();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Reads the fields of the next record, or returns null at the end of the file.
+     * Outside of quotes, a record ends at \n, \r\n or \r; inside quotes, line breaks are part of the field.
+     */
+    private List<String> readRecord() throws IOException {
+        int c = in.read();
+        if (c < 0) {
+            return null;
+        }
+        recordLine = ++lineNumber;
+        List<String> fields = new ArrayList<>(EmployeeCsvFormat.COLUMN_COUNT);
+        field.setLength(0);
+        boolean quoted = false;
+        for (; c >= 0; c = in.read()) {
+            if (quoted) {
+                if (c == '"' && peek() == '"') {
+                    in.read();
+                    field.append('"'); // Escaped quote
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    if (c == '\n' || (c == '\r' && peek() != '\n')) {
+                        lineNumber++; // The field goes on in the next line
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c == '\r') {
+                if (peek() == '\n') {
+                    in.read();
+                }
+                break;
+            } else {
+                field.append((char) c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Line " + recordLine + ": Unterminated quoted field.");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Returns the next character without consuming it, or -1 at the end of the file.
+     */
+    private int peek() throws IOException {
+        in.mark(1);
+        int c = in.read();
+        in.reset();
+        return c;
+    }
+
+    private static boolean isBlank(List<String> fields) {
+        return fields.size() == 1 && fields.get(0).isBlank();
+    }
+
+    private Row parse(List<String> fields) {
+        if (fields.size() != EmployeeCsvFormat.COLUMN_COUNT) {
+            throw new IllegalArgumentException("Line " + recordLine + ": Expected " + EmployeeCsvFormat.COLUMN_COUNT
+                    + " fields but found " + fields.size() + ".");
+        }
+        try {
+            String type = fields.get(EmployeeCsvFormat.TYPE);
+            EmployeeBuilder builder = new EmployeeBuilder()
+                    .setId(fields.get(EmployeeCsvFormat.ID))
+                    .setFirstName(fields.get(EmployeeCsvFormat.FIRST_NAME))
+                    .setLastName(fields.get(EmployeeCsvFormat.LAST_NAME))
+                    .setDepartment(department(fields.get(EmployeeCsvFormat.DEPARTMENT_NAME), fields.get(EmployeeCsvFormat.DEPARTMENT_ID)))
+                    .setRole(role(fields.get(EmployeeCsvFormat.ROLE)))
+                    .setEmployeeType(type);
+            Double baseSalary = number(fields.get(EmployeeCsvFormat.BASE_SALARY));
+            boolean partTime = EmployeeCsvFormat.PART_TIME.equalsIgnoreCase(type);
+            if (partTime) {
+                builder.setHourlyRateAndHours(number(fields.get(EmployeeCsvFormat.HOURLY_RATE)),
+                        number(fields.get(EmployeeCsvFormat.HOURS_WORKED)));
+            } else {
+                builder.setBaseSalary(baseSalary);
+            }
+            Employee employee = builder.build();
+            if (partTime && baseSalary != null && employee.getBaseSalary() != baseSalary) {
+                employee.setBaseSalary(baseSalary); // Was changed after hiring
+            }
+            String managerId = fields.get(EmployeeCsvFormat.MANAGER_ID);
+            return new Row(employee, managerId.isEmpty() ? null : managerId, recordLine);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new IllegalArgumentException("Line " + recordLine + ": " + e.getMessage(), e);
+        }
+    }
+
+    private Department department(String name, String id) {
+        if (id.isEmpty()) {
+            return null;
+        }
+        return departmentsById.computeIfAbsent(id, key -> new Department(name, key));
+    }
+
+    private static EmployeeRole role(String value) {
+        return value.isEmpty() ? null : EmployeeRole.valueOf(value.toUpperCase());
+    }
+
+    private static Double number(String value) {
+        return value.isEmpty() ? null : Double.valueOf(value);
+    }
+}
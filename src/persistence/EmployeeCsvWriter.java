@@ -0,0 +1,80 @@
+package persistence;
+
+import model.Department;
+import model.Employee;
+import model.PartTimeEmployee;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * EmployeeCsvWriter class: Writes employees as CSV, one line per employee, straight into a Writer.
+ * Numbers are written with full precision, so reading the file back gives exactly the same values.
+ */
+public class EmployeeCsvWriter implements Closeable, Flushable {
+    private final Writer out;
+    private final StringBuilder line = new StringBuilder(128); // Reused for every line
+
+    /**
+     * Creates a writer and writes the header line.
+     * The given Writer should be buffered (e.g. Files.newBufferedWriter).
+     */
+    public EmployeeCsvWriter(Writer out) throws IOException {
+        this.out = out;
+        out.write(EmployeeCsvFormat.HEADER);
+        out.write('\n');
+    }
+
+    /**
+     * Writes one employee.
+     */
+    public void write(Employee employee) throws IOException {
+        line.setLength(0);
+        Department department = employee.getDepartment();
+        EmployeeCsvFormat.appendField(line, employee.getId());
+        line.append(',');
+        line.append(employee instanceof PartTimeEmployee ? EmployeeCsvFormat.PART_TIME : EmployeeCsvFormat.FULL_TIME);
+        line.append(',');
+        EmployeeCsvFormat.appendField(line, employee.getFirstName());
+        line.append(',');
+        EmployeeCsvFormat.appendField(line, employee.getLastName());
+        line.append(',');
+        EmployeeCsvFormat.appendField(line, department != null ? department.name() : null);
+        line.append(',');
+        EmployeeCsvFormat.appendField(line, department != null ? department.id() : null);
+        line.append(',');
+        line.append(employee.getRole() != null ? employee.getRole().name() : "");
+        line.append(',');
+        line.append(employee.getBaseSalary());
+        if (employee instanceof PartTimeEmployee partTime) {
+            // The base salary of a part-time employee starts as rate * hours, but may have been changed since
+            line.append(',').append(partTime.getHourlyRate()).append(',').append(partTime.getHoursWorked());
+        } else {
+            line.append(",,");
+        }
+        line.append(',');
+        EmployeeCsvFormat.appendField(line, employee.getManager() != null ? employee.getManager().getId() : null);
+        line.append('\n');
+        out.append(line);
+    }
+
+    /**
+     * Writes all given employees.
+     */
+    public void writeAll(Iterable<? extends Employee> employees) throws IOException {
+        for (Employee employee : employees) {
+            write(employee);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
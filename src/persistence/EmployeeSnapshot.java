@@ -0,0 +1,307 @@
+package persistence;
+
+import factory.EmployeeFactory;
+import model.Department;
+import model.Employee;
+import model.EmployeeRole;
+import model.PartTimeEmployee;
+import service.HRManager;
+import service.HRState;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * EmployeeSnapshot class: Saves the state of the HRManager (departments, employees and manager links)
+ * in a compact, versioned binary file and loads it back, e.g. for a fast start with a large roster.
+ *
+ * File layout (all numbers big-endian):
+ * <pre>
+ *   int    magic "HRMS", int version
+ *   int    string count, then per string: int byte length, UTF-8 bytes
+ *   int    department count, then per department: int key, int name, int id   (string numbers, key -1 = not registered)
+ *   int    employee count, then per employee:
+ *          byte type (0 = full-time, 1 = part-time), int id, int first name, int last name   (string numbers)
+ *          int department number (-1 = none), byte role ordinal (-1 = none)
+ *          double base salary, double hourly rate, double hours worked   (both 0 for full-time)
+ *          int manager number (position of the manager in this list, -1 = none)
+ * </pre>
+ * Every distinct string is stored once (departments, roles and names repeat a lot), and managers are
+ * stored as positions instead of IDs. Loading maps the file into memory with a FileChannel.
+ */
+public class EmployeeSnapshot {
+    private static final int MAGIC = 0x48524D53; // "HRMS"
+    private static final int VERSION = 2;
+    private static final int EMPLOYEE_BYTES = 46; // Size of one employee entry (see the file layout)
+    private static final byte FULL_TIME = 0;
+    private static final byte PART_TIME = 1;
+    private static final int NONE = -1;
+
+    /**
+     * The contents of a snapshot: departments by their HRManager key, and employees linked to their managers.
+     */
+    public record Contents(Map<String, Department> departments, List<Employee> employees) {
+    }
+
+    // Private constructor, as all methods are static.
+    private EmployeeSnapshot() {
+    }
+
+    /**
+     * Writes the current state of the HRManager to the given file.
+     * The file is first written next to the target, forced to disk, and then moved over it; the move is forced
+     * to disk as well. So after a crash the file holds either the previous or the new snapshot, never half of one,
+     * and once save returns the new snapshot is durable.
+     */
+    public static void save(HRManager hrManager, Path file) throws IOException {
+        save(hrManager.getState(), file); // Departments and employees of the same moment
+    }
+
+    /**
+     * Writes the given state to the file, in the same way as save(HRManager, Path).
+     */
+    public static void save(HRState state, Path file) throws IOException {
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(state.departments(), state.employees(), Channels.newOutputStream(channel));
+            channel.force(true);
+        }
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory(file);
+    }
+
+    /**
+     * Forces the directory entry of a file to disk, e.g. after the file was created or moved.
+     * Some platforms (e.g. Windows) cannot open a directory; there the file system does this on its own.
+     */
+    static void forceDirectory(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        } catch (IOException e) {
+            return;
+        }
+        try (channel) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Loads a snapshot file and replaces the state of the HRManager with it.
+     */
+    public static void restore(Path file, HRManager hrManager) throws IOException {
+        Contents contents = load(file);
+        hrManager.restore(contents.departments(), contents.employees());
+    }
+
+    /**
+     * Writes departments and employees in the snapshot format.
+     */
+    public static void write(Map<String, Department> departments, Collection<Employee> employees, OutputStream stream) throws IOException {
+        // 1. Give every distinct string, department and employee a number
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        Map<Department, Integer> departmentNumbers = new LinkedHashMap<>();
+        Map<Department, String> departmentKeys = new HashMap<>();
+        for (Map.Entry<String, Department> entry : departments.entrySet()) {
+            departmentKeys.put(entry.getValue(), entry.getKey());
+            departmentNumbers.putIfAbsent(entry.getValue(), departmentNumbers.size());
+        }
+        Map<String, Integer> employeeNumbers = new HashMap<>();
+        for (Employee employee : employees) {
+            employeeNumbers.putIfAbsent(employee.getId(), employeeNumbers.size());
+            if (employee.getDepartment() != null) {
+                departmentNumbers.putIfAbsent(employee.getDepartment(), departmentNumbers.size());
+            }
+            number(strings, employee.getId());
+            number(strings, employee.getFirstName());
+            number(strings, employee.getLastName());
+        }
+        for (Department department : departmentNumbers.keySet()) {
+            number(strings, departmentKeys.get(department));
+            number(strings, department.name());
+            number(strings, department.id());
+        }
+
+        // 2. Write the sections
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(strings.size());
+        for (String string : strings.keySet()) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+        out.writeInt(departmentNumbers.size());
+        for (Department department : departmentNumbers.keySet()) {
+            out.writeInt(number(strings, departmentKeys.get(department)));
+            out.writeInt(number(strings, department.name()));
+            out.writeInt(number(strings, department.id()));
+        }
+        out.writeInt(employees.size());
+        for (Employee employee : employees) {
+            boolean partTime = employee instanceof PartTimeEmployee;
+            out.writeByte(partTime ? PART_TIME : FULL_TIME);
+            out.writeInt(number(strings, employee.getId()));
+            out.writeInt(number(strings, employee.getFirstName()));
+            out.writeInt(number(strings, employee.getLastName()));
+            out.writeInt(employee.getDepartment() != null ? departmentNumbers.get(employee.getDepartment()) : NONE);
+            out.writeByte(employee.getRole() != null ? employee.getRole().ordinal() : NONE);
+            out.writeDouble(employee.getBaseSalary());
+            out.writeDouble(partTime ? ((PartTimeEmployee) employee).getHourlyRate() : 0.0);
+            out.writeDouble(partTime ? ((PartTimeEmployee) employee).getHoursWorked() : 0.0);
+            Employee manager = employee.getManager();
+            Integer managerNumber = manager != null ? employeeNumbers.get(manager.getId()) : null;
+            out.writeInt(managerNumber != null ? managerNumber : NONE);
+        }
+        out.flush();
+    }
+
+    /**
+     * Loads a snapshot file through a memory-mapped FileChannel.
+     * A damaged or incomplete file fails with an IOException that names the file.
+     */
+    public static Contents load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot " + file + " is larger than 2 GB and cannot be mapped at once.");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            try {
+                return read(buffer);
+            } catch (IOException e) {
+                throw new IOException("Cannot load " + file + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Reads the snapshot format from a buffer.
+     * A damaged or incomplete snapshot fails with an IOException, never with an exception of the buffer.
+     */
+    public static Contents read(ByteBuffer in) throws IOException {
+        try {
+            return readUnchecked(in);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Snapshot is incomplete.", e);
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Snapshot is damaged: " + e.getMessage(), e);
+        }
+    }
+
+    private static Contents readUnchecked(ByteBuffer in) throws IOException {
+        if (in.remaining() < 8 || in.getInt() != MAGIC) {
+            throw new IOException("Not an HRMS snapshot.");
+        }
+        int version = in.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version + ".");
+        }
+
+        String[] strings = new String[count(in, 4)];
+        byte[] scratch = new byte[256];
+        for (int i = 0; i < strings.length; i++) {
+            int length = in.getInt();
+            if (length < 0 || length > in.remaining()) {
+                throw new IOException("Snapshot is damaged: a string of " + length + " bytes does not fit into the rest of the file.");
+            }
+            if (length > scratch.length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            in.get(scratch, 0, length);
+            strings[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+
+        Department[] departments = new Department[count(in, 12)];
+        Map<String, Department> departmentsByKey = new LinkedHashMap<>();
+        for (int i = 0; i < departments.length; i++) {
+            int key = in.getInt();
+            departments[i] = new Department(string(strings, in.getInt()), string(strings, in.getInt()));
+            if (key != NONE) {
+                departmentsByKey.put(strings[key], departments[i]);
+            }
+        }
+
+        EmployeeRole[] roles = EmployeeRole.values();
+        Employee[] employees = new Employee[count(in, EMPLOYEE_BYTES)];
+        int[] managerNumbers = new int[employees.length];
+        for (int i = 0; i < employees.length; i++) {
+            byte type = in.get();
+            String id = string(strings, in.getInt());
+            String firstName = string(strings, in.getInt());
+            String lastName = string(strings, in.getInt());
+            int departmentNumber = in.getInt();
+            byte role = in.get();
+            double baseSalary = in.getDouble();
+            double hourlyRate = in.getDouble();
+            double hoursWorked = in.getDouble();
+            managerNumbers[i] = in.getInt();
+            Department department = departmentNumber != NONE ? departments[departmentNumber] : null;
+            EmployeeRole employeeRole = role != NONE ? roles[role] : null;
+            if (type == PART_TIME) {
+                employees[i] = EmployeeFactory.createPartTimeEmployee(id, firstName, lastName, department, employeeRole, null,
+                        hourlyRate, hoursWorked);
+                if (employees[i].getBaseSalary() != baseSalary) {
+                    employees[i].setBaseSalary(baseSalary); // Was changed after hiring
+                }
+            } else {
+                employees[i] = EmployeeFactory.createFullTimeEmployee(id, firstName, lastName, department, employeeRole, null, baseSalary);
+            }
+        }
+        // Managers may come later in the list than their reports, so they are linked in a second pass.
+        for (int i = 0; i < employees.length; i++) {
+            if (managerNumbers[i] != NONE) {
+                employees[i].setManager(employees[managerNumbers[i]]);
+            }
+        }
+        return new Contents(departmentsByKey, new ArrayList<>(Arrays.asList(employees)));
+    }
+
+    /**
+     * Reads the number of entries of a section. It must fit into the rest of the buffer, so a damaged
+     * count fails here instead of allocating a huge array.
+     */
+    private static int count(ByteBuffer in, int bytesPerEntry) throws IOException {
+        int count = in.getInt();
+        if (count < 0 || (long) count * bytesPerEntry > in.remaining()) {
+            throw new IOException("Snapshot is damaged: " + count + " entries do not fit into the rest of the file.");
+        }
+        return count;
+    }
+
+    private static int number(Map<String, Integer> strings, String string) {
+        if (string == null) {
+            return NONE;
+        }
+        Integer number = strings.get(string);
+        if (number == null) {
+            number = strings.size();
+            strings.put(string, number);
+        }
+        return number;
+    }
+
+    private static String string(String[] strings, int number) {
+        return number == NONE ? null : strings[number];
+    }
+}
@@ -0,0 +1,62 @@
+package service;
+
+import model.Employee;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * BulkImportResult class: The outcome of HRManager.addEmployees.
+ * It lists the employees that were added and, for every other row, the reason it was rejected.
+ */
+public class BulkImportResult {
+    /**
+     * A rejected row of the import and the reason why it was not added.
+     */
+    public record Rejection(Employee employee, String reason) {
+    }
+
+    private final List<Employee> accepted;
+    private final List<Rejection> rejected;
+
+    BulkImportResult(List<Employee> accepted, List<Rejection> rejected) {
+        this.accepted = Collections.unmodifiableList(accepted);
+        this.rejected = Collections.unmodifiableList(rejected);
+    }
+
+    /**
+     * Returns the added employees, in the order they were given.
+     */
+    public List<Employee> getAccepted() {
+        return accepted;
+    }
+
+    public List<Rejection> getRejected() {
+        return rejected;
+    }
+
+    public boolean hasRejections() {
+        return !rejected.isEmpty();
+    }
+
+    /**
+     * Returns a result with the same accepted rows and the given rejections added,
+     * e.g. rows that were rejected before the bulk add was called.
+     */
+    public BulkImportResult withAdditionalRejections(List<Rejection> additionalRejections) {
+        if (additionalRejections.isEmpty()) {
+            return this;
+        }
+        List<Rejection> allRejections = new ArrayList<>(additionalRejections);
+        allRejections.addAll(rejected);
+        return new BulkImportResult(accepted, allRejections);
+    }
+
+    @Override
+    public String toString() {
+        return "BulkImportResult{" +
+                "accepted=" + accepted.size() +
+                ", rejected=" + rejected.size() +
+                '}';
+    }
+}
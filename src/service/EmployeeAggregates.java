@@ -0,0 +1,237 @@
+package service;
+
+import model.Department;
+import model.Employee;
+import model.EmployeeRole;
+import strategy.SalaryStrategyRegistry;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * EmployeeAggregates class: Running salary figures per department and per role, updated incrementally
+ * by the EmployeeStore. Headcount and totals change in O(1) per change; min and max need a sorted count of
+ * the salaries in each group, so they cost O(log n) (a removed minimum must be replaced by the next one).
+ *
+ * After every change the affected groups publish a new immutable GroupStats, so reading the figures is
+ * just a map lookup and never waits for a change in progress.
+ */
+public class EmployeeAggregates implements EmployeeStoreListener {
+    /**
+     * What an employee has added to the aggregates, so exactly that can be taken away again after a change.
+     */
+    private record Contribution(Employee employee, Department department, EmployeeRole role, double baseSalary, double salary) {
+    }
+
+    /**
+     * The running figures of one group. Only changed while holding the lock of EmployeeAggregates.
+     */
+    private static final class Accumulator {
+        int headcount;
+        double totalBaseSalary;
+        double totalSalary;
+        final TreeMap<Double, Integer> salaryCounts = new TreeMap<>(); // Salary -> number of employees with it
+
+        void add(Contribution contribution) {
+            headcount++;
+            totalBaseSalary += contribution.baseSalary();
+            totalSalary += contribution.salary();
+            salaryCounts.merge(contribution.salary(), 1, Integer::sum);
+        }
+
+        void remove(Contribution contribution) {
+            headcount--;
+            totalBaseSalary -= contribution.baseSalary();
+            totalSalary -= contribution.salary();
+            salaryCounts.computeIfPresent(contribution.salary(), (salary, count) -> count == 1 ? null : count - 1);
+        }
+
+        GroupStats toStats() {
+            if (headcount == 0) {
+                return GroupStats.EMPTY;
+            }
+            return new GroupStats(headcount, totalBaseSalary, totalSalary, salaryCounts.firstKey(), salaryCounts.lastKey());
+        }
+    }
+
+    private final SalaryStrategyRegistry salaryStrategies;
+    private final Map<String, Contribution> contributions = new HashMap<>();
+    private final Map<Department, Accumulator> departmentAccumulators = new HashMap<>();
+    private final Map<EmployeeRole, Accumulator> roleAccumulators = new HashMap<>();
+    private volatile int salaryVersion; // Version of the salary strategies the figures were calculated with
+
+    // The published figures: read by anyone without locking
+    private final Map<Department, GroupStats> departmentStats = new ConcurrentHashMap<>();
+    private final Map<EmployeeRole, GroupStats> roleStats = new ConcurrentHashMap<>();
+
+    /**
+     * Creates empty aggregates. The salary strategies calculate the salaries that are summed up.
+     */
+    EmployeeAggregates(SalaryStrategyRegistry salaryStrategies) {
+        this.salaryStrategies = salaryStrategies;
+        this.salaryVersion = salaryStrategies.getVersion();
+    }
+
+    /**
+     * Returns a read-only view of the figures of every department that has employees.
+     */
+    public Map<Department, GroupStats> getDepartmentStats() {
+        refreshSalaries();
+        return Collections.unmodifiableMap(departmentStats);
+    }
+
+    /**
+     * Returns a read-only view of the figures of every role that has employees.
+     */
+    public Map<EmployeeRole, GroupStats> getRoleStats() {
+        refreshSalaries();
+        return Collections.unmodifiableMap(roleStats);
+    }
+
+    /**
+     * Returns the figures of one department (GroupStats.EMPTY if it has no employees).
+     */
+    public GroupStats getStats(Department department) {
+        refreshSalaries();
+        return departmentStats.getOrDefault(department, GroupStats.EMPTY);
+    }
+
+    /**
+     * Returns the figures of one role (GroupStats.EMPTY if no one has it).
+     */
+    public GroupStats getStats(EmployeeRole role) {
+        refreshSalaries();
+        return roleStats.getOrDefault(role, GroupStats.EMPTY);
+    }
+
+    @Override
+    public synchronized void onAdd(Employee employee) {
+        add(employee);
+    }
+
+    @Override
+    public synchronized void onRemove(Employee employee) {
+        remove(employee.getId());
+    }
+
+    @Override
+    public synchronized void onClear() {
+        contributions.clear();
+        departmentAccumulators.clear();
+        roleAccumulators.clear();
+        departmentStats.clear();
+        roleStats.clear();
+    }
+
+    @Override
+    public synchronized void onReplace(Employee oldEmployee, Employee updatedEmployee) {
+        remove(oldEmployee.getId());
+        add(updatedEmployee);
+    }
+
+    @Override
+    public synchronized void onDepartmentChanged(Employee employee, Department oldDepartment) {
+        update(employee);
+    }
+
+    @Override
+    public synchronized void onRoleChanged(Employee employee, EmployeeRole oldRole) {
+        update(employee);
+    }
+
+    @Override
+    public synchronized void onSalaryChanged(Employee employee, double oldBaseSalary) {
+        update(employee);
+    }
+
+    private void update(Employee employee) {
+        if (contributions.containsKey(employee.getId())) {
+            remove(employee.getId());
+            add(employee);
+        }
+    }
+
+    private void add(Employee employee) {
+        Contribution contribution = new Contribution(employee, employee.getDepartment(), employee.getRole(),
+                employee.getBaseSalary(), salaryStrategies.calculate(employee));
+        contributions.put(employee.getId(), contribution);
+        if (contribution.department() != null) {
+            Accumulator accumulator = departmentAccumulators.computeIfAbsent(contribution.department(), department -> new Accumulator());
+            accumulator.add(contribution);
+            departmentStats.put(contribution.department(), accumulator.toStats());
+        }
+        if (contribution.role() != null) {
+            Accumulator accumulator = roleAccumulators.computeIfAbsent(contribution.role(), role -> new Accumulator());
+            accumulator.add(contribution);
+            roleStats.put(contribution.role(), accumulator.toStats());
+        }
+    }
+
+    private void remove(String employeeId) {
+        Contribution contribution = contributions.remove(employeeId);
+        if (contribution == null) {
+            return;
+        }
+        if (contribution.department() != null) {
+            publish(departmentAccumulators, departmentStats, contribution.department(), contribution);
+        }
+        if (contribution.role() != null) {
+            publish(roleAccumulators, roleStats, contribution.role(), contribution);
+        }
+    }
+
+    /**
+     * Takes a contribution away from a group and publishes the new figures (or removes the group when it is empty).
+     */
+    private static <K> void publish(Map<K, Accumulator> accumulators, Map<K, GroupStats> stats, K group, Contribution removed) {
+        Accumulator accumulator = accumulators.get(group);
+        if (accumulator == null) {
+            return;
+        }
+        accumulator.remove(removed);
+        if (accumulator.headcount == 0) {
+            accumulators.remove(group);
+            stats.remove(group);
+        } else {
+            stats.put(group, accumulator.toStats());
+        }
+    }
+
+    /**
+     * Recalculates all figures if a salary strategy has been registered since they were calculated.
+     */
+    private void refreshSalaries() {
+        if (salaryVersion == salaryStrategies.getVersion()) {
+            return;
+        }
+        synchronized (this) {
+            int version = salaryStrategies.getVersion();
+            if (salaryVersion == version) {
+                return;
+            }
+            // Recalculate into the same accumulators, then publish; readers keep seeing the old figures meanwhile
+            Employee[] employees = contributions.values().stream().map(Contribution::employee).toArray(Employee[]::new);
+            contributions.clear();
+            departmentAccumulators.clear();
+            roleAccumulators.clear();
+            for (Employee employee : employees) {
+                Contribution contribution = new Contribution(employee, employee.getDepartment(), employee.getRole(),
+                        employee.getBaseSalary(), salaryStrategies.calculate(employee));
+                contributions.put(employee.getId(), contribution);
+                if (contribution.department() != null) {
+                    departmentAccumulators.computeIfAbsent(contribution.department(), department -> new Accumulator()).add(contribution);
+                }
+                if (contribution.role() != null) {
+                    roleAccumulators.computeIfAbsent(contribution.role(), role -> new Accumulator()).add(contribution);
+                }
+            }
+            departmentAccumulators.forEach((department, accumulator) -> departmentStats.put(department, accumulator.toStats()));
+            departmentStats.keySet().retainAll(departmentAccumulators.keySet());
+            roleAccumulators.forEach((role, accumulator) -> roleStats.put(role, accumulator.toStats()));
+            roleStats.keySet().retainAll(roleAccumulators.keySet());
+            salaryVersion = version;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package service;
+
+import model.Employee;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.function.Function;
+
+/**
+ * EmployeePage class: One page of a listing of employees (see HRManager.listEmployees).
+ * The continuation token points behind the last employee of the page, so the next page starts there
+ * even if employees are added or removed in the meantime: nobody is listed twice and nobody who stays
+ * in place is skipped.
+ */
+public class EmployeePage {
+    private final List<Employee> employees;
+    private final String nextToken;
+
+    private EmployeePage(List<Employee> employees, String nextToken) {
+        this.employees = Collections.unmodifiableList(employees);
+        this.nextToken = nextToken;
+    }
+
+    /**
+     * The employees on this page, in the requested order.
+     */
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    /**
+     * The token for the next page, or null if this is the last page.
+     */
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+
+    /**
+     * Takes one page from a sorted map without copying it: skips offset entries and collects up to limit.
+     * The token is built from the key of the last employee on the page, if any employee follows.
+     */
+    static <K> EmployeePage of(NavigableMap<K, Employee> entries, int offset, int limit, Function<K, String> tokenOf) {
+        List<Employee> page = new ArrayList<>(Math.min(limit, 1024));
+        K lastKey = null;
+        boolean more = false;
+        int skipped = 0;
+        for (Map.Entry<K, Employee> entry : entries.entrySet()) {
+            if (skipped < offset) {
+                skipped++;
+            } else if (page.size() < limit) {
+                page.add(entry.getValue());
+                lastKey = entry.getKey();
+            } else {
+                more = true; // At least one more employee follows
+                break;
+            }
+        }
+        return new EmployeePage(page, more ? tokenOf.apply(lastKey) : null);
+    }
+
+    /**
+     * The position a continuation token points behind: the sort order, the key and the insertion sequence.
+     * Tokens are opaque to callers; they are URL-safe Base64 text.
+     */
+    record Token(EmployeeSortKey sortKey, String key, long sequence) {
+        String encode() {
+            String text = sortKey.name() + ":" + sequence + ":" + (key == null ? "-" : "+" + key);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Token decode(String token) {
+            try {
+                String text = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                String[] parts = text.split(":", 3);
+                String key = parts[2].startsWith("+") ? parts[2].substring(1) : null;
+                return new Token(EmployeeSortKey.valueOf(parts[0]), key, Long.parseLong(parts[1]));
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid continuation token: " + token, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package service;
+
+import model.Department;
+import model.Employee;
+import model.EmployeeRole;
+
+/**
+ * EmployeeQuery class: Describes which employees to find (see HRManager.findEmployees).
+ * All criteria that are set must match; criteria that are not set match every employee.
+ * A query is built with EmployeeQuery.Builder and cannot be changed afterwards.
+ */
+public class EmployeeQuery {
+    private final Department department;
+    private final EmployeeRole role;
+    private final Class<? extends Employee> type;
+    private final double minSalary;
+    private final double maxSalary;
+    private final String managerId;
+
+    private EmployeeQuery(Builder builder) {
+        this.department = builder.department;
+        this.role = builder.role;
+        this.type = builder.type;
+        this.minSalary = builder.minSalary;
+        this.maxSalary = builder.maxSalary;
+        this.managerId = builder.managerId;
+    }
+
+    public Department getDepartment() {
+        return department;
+    }
+
+    public EmployeeRole getRole() {
+        return role;
+    }
+
+    public Class<? extends Employee> getType() {
+        return type;
+    }
+
+    public double getMinSalary() {
+        return minSalary;
+    }
+
+    public double getMaxSalary() {
+        return maxSalary;
+    }
+
+    public String getManagerId() {
+        return managerId;
+    }
+
+    /**
+     * Checks whether a salary range is set.
+     */
+    public boolean hasSalaryRange() {
+        return minSalary != Double.NEGATIVE_INFINITY || maxSalary != Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Checks whether the given employee fulfils all criteria of this query.
+     */
+    public boolean matches(Employee employee) {
+        return (department == null || department.equals(employee.getDepartment()))
+                && (role == null || role == employee.getRole())
+                && (type == null || type.isInstance(employee))
+                && (!hasSalaryRange() || (employee.getBaseSalary() >= minSalary && employee.getBaseSalary() <= maxSalary))
+                && (managerId == null || (employee.getManager() != null && managerId.equals(employee.getManager().getId())));
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeeQuery{" +
+                "department=" + department +
+                ", role=" + role +
+                ", type=" + (type != null ? type.getSimpleName() : null) +
+                ", salary=[" + minSalary + ", " + maxSalary + "]" +
+                ", managerId='" + managerId + '\'' +
+                '}';
+    }
+
+    /**
+     * Builder for EmployeeQuery ("Builder" design pattern): set only the criteria you need, then call build().
+     */
+    public static class Builder {
+        private Department department;
+        private EmployeeRole role;
+        private Class<? extends Employee> type;
+        private double minSalary = Double.NEGATIVE_INFINITY;
+        private double maxSalary = Double.POSITIVE_INFINITY;
+        private String managerId;
+
+        /**
+         * Only employees of this department.
+         */
+        public Builder setDepartment(Department department) {
+            this.department = department;
+            return this;
+        }
+
+        /**
+         * Only employees with this role.
+         */
+        public Builder setRole(EmployeeRole role) {
+            this.role = role;
+            return this;
+        }
+
+        /**
+         * Only employees of this type (e.g. FullTimeEmployee.class), including its subclasses.
+         */
+        public Builder setType(Class<? extends Employee> type) {
+            this.type = type;
+            return this;
+        }
+
+        /**
+         * Only employees whose base salary is at least this amount.
+         * For part-time employees the base salary is their hourly rate times the hours worked.
+         */
+        public Builder setMinSalary(double minSalary) {
+            this.minSalary = minSalary;
+            return this;
+        }
+
+        /**
+         * Only employees whose base salary is at most this amount.
+         */
+        public Builder setMaxSalary(double maxSalary) {
+            this.maxSalary = maxSalary;
+            return this;
+        }
+
+        /**
+         * Only employees who report directly to the manager with this ID.
+         */
+        public Builder setManagerId(String managerId) {
+            this.managerId = managerId;
+            return this;
+        }
+
+        public EmployeeQuery build() {
+            if (minSalary > maxSalary) {
+                throw new IllegalArgumentException("Minimum salary " + minSalary + " is above maximum salary " + maxSalary + ".");
+            }
+            return new EmployeeQuery(this);
+        }
+    }
+}
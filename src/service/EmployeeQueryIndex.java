@@ -0,0 +1,310 @@
+package service;
+
+import model.Department;
+import model.Employee;
+import model.EmployeeRole;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * EmployeeQueryIndex class: Secondary indexes for EmployeeQuery, updated incrementally by the EmployeeStore.
+ * Every employee gets a small number (a slot), so the set of employees with a role, in a department or of a type
+ * can be kept as a bitmap. Salaries are kept in a sorted set, so a salary range is found without a full scan.
+ *
+ * A query starts with the most selective index and intersects the others with it; criteria whose index would
+ * not make the result smaller are checked on each employee instead. The employees are then produced lazily.
+ */
+public class EmployeeQueryIndex implements EmployeeStoreListener {
+    /**
+     * An entry of the salary index. Entries with the same salary are ordered by slot.
+     */
+    private record SalaryEntry(double salary, int slot) {
+    }
+
+    private static final Comparator<SalaryEntry> SALARY_ORDER =
+            Comparator.comparingDouble(SalaryEntry::salary).thenComparingInt(SalaryEntry::slot);
+
+    /**
+     * The values an employee was indexed with, so the entries can be found again after the employee has changed.
+     */
+    private record Indexed(EmployeeRole role, Department department, Class<?> type, double salary) {
+    }
+
+    private final ReportingIndex reportingIndex;
+    // Changes arrive one at a time from the store; the lock only keeps queries from reading half-updated bitmaps.
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> slotsById = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private int nextSlot;
+    private volatile AtomicReferenceArray<Employee> employeesBySlot = new AtomicReferenceArray<>(1024);
+    private Indexed[] indexedBySlot = new Indexed[1024];
+    private final BitSet usedSlots = new BitSet();
+
+    private final Map<EmployeeRole, BitSet> byRole = new EnumMap<>(EmployeeRole.class);
+    private final Map<Department, BitSet> byDepartment = new HashMap<>();
+    private final Map<Class<?>, BitSet> byType = new HashMap<>();
+    private final NavigableSet<SalaryEntry> bySalary = new TreeSet<>(SALARY_ORDER);
+
+    /**
+     * Creates an empty index. The reporting index answers the manager criterion.
+     */
+    EmployeeQueryIndex(ReportingIndex reportingIndex) {
+        this.reportingIndex = reportingIndex;
+    }
+
+    /**
+     * Finds all employees that match the query. The result is produced lazily, in no particular order.
+     * Each employee is checked against the whole query when it is produced, so changes made while the stream
+     * is consumed never lead to wrong results; employees added meanwhile may be missing.
+     */
+    public Stream<Employee> find(EmployeeQuery query) {
+        BitSet candidates;
+        lock.readLock().lock();
+        try {
+            candidates = plan(query);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return candidates.stream()
+                .mapToObj(slot -> employeesBySlot.get(slot))
+                .filter(Objects::nonNull)
+                .filter(query::matches);
+    }
+
+    /**
+     * Builds the set of candidate slots: the most selective index first, then intersected with the others.
+     */
+    private BitSet plan(EmployeeQuery query) {
+        List<BitSet> indexes = new ArrayList<>();
+        if (query.getRole() != null) {
+            indexes.add(byRole.getOrDefault(query.getRole(), new BitSet()));
+        }
+        if (query.getDepartment() != null) {
+            indexes.add(byDepartment.getOrDefault(query.getDepartment(), new BitSet()));
+        }
+        if (query.getType() != null) {
+            BitSet ofType = new BitSet();
+            byType.forEach((type, slots) -> {
+                if (query.getType().isAssignableFrom(type)) {
+                    ofType.or(slots);
+                }
+            });
+            indexes.add(ofType);
+        }
+        if (query.getManagerId() != null) {
+            BitSet reports = new BitSet();
+            for (Employee report : reportingIndex.getDirectReports(query.getManagerId())) {
+                Integer slot = slotsById.get(report.getId());
+                if (slot != null) {
+                    reports.set(slot);
+                }
+            }
+            indexes.add(reports);
+        }
+
+        // Order by size, so the smallest set is copied and every intersection can only shrink it further
+        List<Integer> sizes = new ArrayList<>(indexes.size());
+        List<Integer> order = new ArrayList<>(indexes.size());
+        for (int i = 0; i < indexes.size(); i++) {
+            sizes.add(indexes.get(i).cardinality());
+            order.add(i);
+        }
+        order.sort(Comparator.comparing(sizes::get));
+        int smallest = order.isEmpty() ? Integer.MAX_VALUE : sizes.get(order.get(0));
+
+        BitSet candidates = null;
+        if (query.hasSalaryRange()) {
+            // The salary range is only used as an index if it is the most selective criterion;
+            // otherwise it is checked on each candidate. Counting stops as soon as it is not.
+            NavigableSet<SalaryEntry> range = bySalary.subSet(
+                    new SalaryEntry(query.getMinSalary(), Integer.MIN_VALUE), true,
+                    new SalaryEntry(query.getMaxSalary(), Integer.MAX_VALUE), true);
+            int count = 0;
+            for (SalaryEntry ignored : range) {
+                if (++count >= smallest) {
+                    break;
+                }
+            }
+            if (count < smallest) {
+                candidates = new BitSet();
+                for (SalaryEntry entry : range) {
+                    candidates.set(entry.slot());
+                }
+            }
+        }
+        for (int i : order) {
+            if (candidates == null) {
+                candidates = (BitSet) indexes.get(i).clone();
+            } else if (candidates.isEmpty()) {
+                break;
+            } else {
+                candidates.and(indexes.get(i));
+            }
+        }
+        return candidates != null ? candidates : (BitSet) usedSlots.clone();
+    }
+
+    @Override
+    public void onAdd(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            int slot = freeSlots.isEmpty() ? nextSlot++ : freeSlots.pop();
+            ensureCapacity(slot);
+            slotsById.put(employee.getId(), slot);
+            usedSlots.set(slot);
+            employeesBySlot.set(slot, employee);
+            index(slot, employee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onRemove(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.remove(employee.getId());
+            if (slot == null) {
+                return;
+            }
+            unindex(slot);
+            usedSlots.clear(slot);
+            employeesBySlot.set(slot, null);
+            freeSlots.push(slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onClear() {
+        lock.writeLock().lock();
+        try {
+            slotsById.clear();
+            freeSlots.clear();
+            nextSlot = 0;
+            employeesBySlot = new AtomicReferenceArray<>(1024);
+            indexedBySlot = new Indexed[1024];
+            usedSlots.clear();
+            byRole.clear();
+            byDepartment.clear();
+            byType.clear();
+            bySalary.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onReplace(Employee oldEmployee, Employee updatedEmployee) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.get(updatedEmployee.getId());
+            if (slot == null) {
+                onAdd(updatedEmployee);
+                return;
+            }
+            unindex(slot);
+            employeesBySlot.set(slot, updatedEmployee);
+            index(slot, updatedEmployee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onDepartmentChanged(Employee employee, Department oldDepartment) {
+        reindex(employee);
+    }
+
+    @Override
+    public void onRoleChanged(Employee employee, EmployeeRole oldRole) {
+        reindex(employee);
+    }
+
+    @Override
+    public void onSalaryChanged(Employee employee, double oldBaseSalary) {
+        reindex(employee);
+    }
+
+    private void reindex(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.get(employee.getId());
+            if (slot != null) {
+                unindex(slot);
+                index(slot, employee);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(int slot, Employee employee) {
+        Indexed indexed = new Indexed(employee.getRole(), employee.getDepartment(), employee.getClass(), employee.getBaseSalary());
+        indexedBySlot[slot] = indexed;
+        if (indexed.role() != null) {
+            byRole.computeIfAbsent(indexed.role(), role -> new BitSet()).set(slot);
+        }
+        if (indexed.department() != null) {
+            byDepartment.computeIfAbsent(indexed.department(), department -> new BitSet()).set(slot);
+        }
+        byType.computeIfAbsent(indexed.type(), type -> new BitSet()).set(slot);
+        bySalary.add(new SalaryEntry(indexed.salary(), slot));
+    }
+
+    private void unindex(int slot) {
+        Indexed indexed = indexedBySlot[slot];
+        if (indexed == null) {
+            return;
+        }
+        indexedBySlot[slot] = null;
+        if (indexed.role() != null) {
+            clear(byRole, indexed.role(), slot);
+        }
+        if (indexed.department() != null) {
+            clear(byDepartment, indexed.department(), slot);
+        }
+        clear(byType, indexed.type(), slot);
+        bySalary.remove(new SalaryEntry(indexed.salary(), slot));
+    }
+
+    private static <K> void clear(Map<K, BitSet> index, K key, int slot) {
+        BitSet slots = index.get(key);
+        if (slots != null) {
+            slots.clear(slot);
+            if (slots.isEmpty()) {
+                index.remove(key); // Do not keep empty bitmaps for departments that no longer have employees
+            }
+        }
+    }
+
+    private void ensureCapacity(int slot) {
+        if (slot < indexedBySlot.length) {
+            return;
+        }
+        int capacity = Math.max(slot + 1, indexedBySlot.length * 2);
+        AtomicReferenceArray<Employee> grown = new AtomicReferenceArray<>(capacity);
+        for (int i = 0; i < indexedBySlot.length; i++) {
+            grown.set(i, employeesBySlot.get(i));
+        }
+        employeesBySlot = grown;
+        Indexed[] grownIndexed = new Indexed[capacity];
+        System.arraycopy(indexedBySlot, 0, grownIndexed, 0, indexedBySlot.length);
+        indexedBySlot = grownIndexed;
+    }
+}
@@ -0,0 +1,31 @@
+package service;
+
+import strategy.KeyedSortingStrategy;
+import strategy.SortByDepartmentStrategy;
+import strategy.SortByIdStrategy;
+import strategy.SortByLastNameStrategy;
+import java.util.function.Supplier;
+
+/**
+ * EmployeeSortKey enum: The orders in which employees can be listed page by page (see HRManager.listEmployees).
+ * Employees with the same key are listed in the order they were added.
+ */
+public enum EmployeeSortKey {
+    INSERTION(null),
+    ID(SortByIdStrategy::new),
+    LAST_NAME(SortByLastNameStrategy::new),
+    DEPARTMENT(SortByDepartmentStrategy::new);
+
+    private final Supplier<KeyedSortingStrategy> strategy;
+
+    EmployeeSortKey(Supplier<KeyedSortingStrategy> strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * Returns the strategy that sorts by this key, or null for the insertion order.
+     */
+    KeyedSortingStrategy newStrategy() {
+        return strategy != null ? strategy.get() : null;
+    }
+}
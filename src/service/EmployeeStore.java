@@ -0,0 +1,371 @@
+package service;
+
+import model.Department;
+import model.Employee;
+import model.EmployeeChangeListener;
+import model.EmployeeRole;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * EmployeeStore class: Holds all employees of the HR system.
+ * It keeps a hash index by employee ID next to the insertion order, so looking up an employee is O(1)
+ * while iteration still follows the order of hiring.
+ * Registered listeners (secondary indexes) are informed about every change of the stored employees.
+ *
+ * The store can be shared between threads: reads never take a lock and never throw a
+ * ConcurrentModificationException, and changes are made one at a time under a write lock
+ * that readers do not wait for. The setters of stored employees take the same lock (see applyChange).
+ *
+ * After every change (or every atomically block) the store publishes an immutable snapshot of all employees
+ * (see snapshot()). Getting it is a single read; the snapshot shares most of its structure with the previous one.
+ * The departments are published in the same step (see state()), so they always match the employees.
+ */
+public class EmployeeStore implements EmployeeChangeListener {
+    /**
+     * An employee together with its position in the insertion order and in the snapshot vector.
+     * Replacing an employee keeps the sequence number, and so its position.
+     */
+    private record Slot(long sequence, Employee employee, int vectorPosition) {
+    }
+
+    private final Map<String, Slot> slotsById = new ConcurrentHashMap<>();
+    // Sequence number -> employee. Iterating a ConcurrentSkipListMap is safe while other threads change it.
+    private final ConcurrentSkipListMap<Long, Employee> employeesInOrder = new ConcurrentSkipListMap<>();
+    private final List<EmployeeStoreListener> listeners = new CopyOnWriteArrayList<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private long nextSequence; // Only used while holding the write lock
+    private volatile HRState state = new HRState(Map.of(), EmployeeVector.EMPTY);
+    private EmployeeVector.Transient pendingSnapshot; // Changes not yet published; only used while holding the write lock
+    private Map<String, Department> pendingDepartments; // Likewise
+
+    /**
+     * Registers a listener that is informed about all following changes.
+     * Listeners are always called while the write lock is held, so they never run concurrently with each other.
+     */
+    public void addListener(EmployeeStoreListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(EmployeeStoreListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Runs the given action while holding the write lock, so that several reads and changes happen as one step.
+     * The lock is reentrant: the action may call add, replace and remove.
+     */
+    public <T> T atomically(Supplier<T> action) {
+        writeLock.lock();
+        try {
+            return action.get();
+        } finally {
+            unlockAndPublish();
+        }
+    }
+
+    /**
+     * Adds an employee to the store.
+     * Returns false if an employee with the same ID is already stored.
+     */
+    public boolean add(Employee employee) {
+        writeLock.lock();
+        try {
+            if (slotsById.containsKey(employee.getId())) {
+                return false;
+            }
+            long sequence = nextSequence++;
+            employeesInOrder.put(sequence, employee);
+            slotsById.put(employee.getId(), new Slot(sequence, employee, pendingSnapshot().append(employee)));
+            employee.setChangeListener(this); // Field changes (e.g. setManager) are forwarded to the listeners
+            for (EmployeeStoreListener listener : listeners) {
+                listener.onAdd(employee);
+            }
+            return true;
+        } finally {
+            unlockAndPublish();
+        }
+    }
+
+    /**
+     * Retrieves an employee by ID.
+     */
+    public Optional<Employee> get(String id) {
+        Slot slot = slotsById.get(id);
+        return slot == null ? Optional.empty() : Optional.of(slot.employee());
+    }
+
+    /**
+     * Checks whether an employee with the given ID is stored.
+     */
+    public boolean contains(String id) {
+        return slotsById.containsKey(id);
+    }
+
+    /**
+     * Returns the insertion sequence number of a stored employee, or -1 if the ID is unknown.
+     * Employees added earlier have smaller numbers; replacing an employee keeps its number.
+     */
+    public long sequenceOf(String id) {
+        Slot slot = slotsById.get(id);
+        return slot == null ? -1 : slot.sequence();
+    }
+
+    /**
+     * Replaces the stored employee that has the same ID as the given one, keeping its position.
+     * Returns the previous employee object, or an empty Optional if the ID is unknown.
+     */
+    public Optional<Employee> replace(Employee updatedEmployee) {
+        writeLock.lock();
+        try {
+            Slot oldSlot = slotsById.get(updatedEmployee.getId());
+            if (oldSlot == null) {
+                return Optional.empty();
+            }
+            Employee oldEmployee = oldSlot.employee();
+            employeesInOrder.put(oldSlot.sequence(), updatedEmployee);
+            slotsById.put(updatedEmployee.getId(), new Slot(oldSlot.sequence(), updatedEmployee, oldSlot.vectorPosition()));
+            pendingSnapshot().set(oldSlot.vectorPosition(), updatedEmployee);
+            if (oldEmployee != updatedEmployee) {
+                detach(oldEmployee);
+                updatedEmployee.setChangeListener(this);
+            }
+            for (EmployeeStoreListener listener : listeners) {
+                listener.onReplace(oldEmployee, updatedEmployee);
+            }
+            return Optional.of(oldEmployee);
+        } finally {
+            unlockAndPublish();
+        }
+    }
+
+    /**
+     * Removes an employee by ID and returns the removed object, if any.
+     */
+    public Optional<Employee> remove(String id) {
+        writeLock.lock();
+        try {
+            Slot removed = slotsById.remove(id);
+            if (removed == null) {
+                return Optional.empty();
+            }
+            employeesInOrder.remove(removed.sequence());
+            pendingSnapshot().remove(removed.vectorPosition());
+            compactSnapshotIfSparse();
+            detach(removed.employee());
+            for (EmployeeStoreListener listener : listeners) {
+                listener.onRemove(removed.employee());
+            }
+            return Optional.of(removed.employee());
+        } finally {
+            unlockAndPublish();
+        }
+    }
+
+    /**
+     * Removes all employees at once.
+     */
+    public void clear() {
+        writeLock.lock();
+        try {
+            for (Slot slot : slotsById.values()) {
+                detach(slot.employee());
+            }
+            slotsById.clear();
+            employeesInOrder.clear();
+            pendingSnapshot = state.employees().asEmptyTransient();
+            for (EmployeeStoreListener listener : listeners) {
+                listener.onClear();
+            }
+        } finally {
+            unlockAndPublish();
+        }
+    }
+
+    /**
+     * Returns the number of stored employees.
+     */
+    public int size() {
+        return slotsById.size();
+    }
+
+    public boolean isEmpty() {
+        return slotsById.isEmpty();
+    }
+
+    /**
+     * Returns a read-only view of all employees in insertion order (no copy is made).
+     * The view may be iterated while other threads change the store; it then shows some or all of those changes.
+     */
+    public Collection<Employee> values() {
+        return Collections.unmodifiableCollection(employeesInOrder.values());
+    }
+
+    /**
+     * Returns a read-only view of the employees added after the one with the given sequence number
+     * (or of all employees for -1), keyed by sequence number.
+     */
+    NavigableMap<Long, Employee> entriesAfter(long sequence) {
+        return Collections.unmodifiableNavigableMap(employeesInOrder.tailMap(sequence, false));
+    }
+
+    /**
+     * Returns an immutable list of all employees in insertion order, as of the last completed change.
+     * No copy is made and nothing is allocated: later changes publish a new list and leave this one as it is.
+     */
+    public EmployeeVector snapshot() {
+        return state.employees();
+    }
+
+    /**
+     * Returns the departments and all employees as of the last completed change, read together in one step.
+     */
+    public HRState state() {
+        return state;
+    }
+
+    /**
+     * Replaces the departments. They are published together with the employee changes of the surrounding
+     * atomically block, if any.
+     */
+    public void setDepartments(Map<String, Department> departments) {
+        writeLock.lock();
+        try {
+            pendingDepartments = Collections.unmodifiableMap(new HashMap<>(departments));
+        } finally {
+            unlockAndPublish();
+        }
+    }
+
+    /**
+     * Returns a copy of all employees in insertion order.
+     */
+    public List<Employee> toList() {
+        return new ArrayList<>(employeesInOrder.values());
+    }
+
+    /**
+     * Runs a field change of a stored employee under the write lock, so the check (e.g. for reporting cycles),
+     * the new field value and the updates of all listeners are one step that no other change can interleave with.
+     */
+    @Override
+    public void applyChange(Employee employee, Runnable change) {
+        writeLock.lock();
+        try {
+            change.run();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Lets all listeners check a manager change before it is made; any of them may refuse it.
+     */
+    @Override
+    public void beforeManagerChange(Employee employee, Employee newManager) {
+        forward(listener -> listener.beforeManagerChange(employee, newManager));
+    }
+
+    /**
+     * Forwards a manager change of a stored employee to all listeners.
+     */
+    @Override
+    public void onManagerChanged(Employee employee, Employee oldManager, Employee newManager) {
+        forward(listener -> listener.onManagerChanged(employee, oldManager, newManager));
+    }
+
+    @Override
+    public void onNameChanged(Employee employee, String oldFirstName, String oldLastName) {
+        forward(listener -> listener.onNameChanged(employee, oldFirstName, oldLastName));
+    }
+
+    @Override
+    public void onDepartmentChanged(Employee employee, Department oldDepartment) {
+        forward(listener -> listener.onDepartmentChanged(employee, oldDepartment));
+    }
+
+    @Override
+    public void onRoleChanged(Employee employee, EmployeeRole oldRole) {
+        forward(listener -> listener.onRoleChanged(employee, oldRole));
+    }
+
+    @Override
+    public void onSalaryChanged(Employee employee, double oldBaseSalary) {
+        forward(listener -> listener.onSalaryChanged(employee, oldBaseSalary));
+    }
+
+    /**
+     * Calls all listeners under the write lock, so field changes are applied to the indexes one at a time.
+     */
+    private void forward(Consumer<EmployeeStoreListener> call) {
+        writeLock.lock();
+        try {
+            for (EmployeeStoreListener listener : listeners) {
+                call.accept(listener);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private EmployeeVector.Transient pendingSnapshot() {
+        if (pendingSnapshot == null) {
+            pendingSnapshot = state.employees().asTransient();
+        }
+        return pendingSnapshot;
+    }
+
+    /**
+     * Removed employees leave empty positions in the vector. Once more than half of the positions are empty,
+     * the vector is built again from the remaining employees, which gives them new positions.
+     */
+    private void compactSnapshotIfSparse() {
+        EmployeeVector.Transient pending = pendingSnapshot();
+        if (pending.end() < 64 || pending.size() >= pending.end() / 2) {
+            return;
+        }
+        EmployeeVector.Transient compacted = state.employees().asEmptyTransient();
+        for (Map.Entry<Long, Employee> entry : employeesInOrder.entrySet()) {
+            Employee employee = entry.getValue();
+            slotsById.put(employee.getId(), new Slot(entry.getKey(), employee, compacted.append(employee)));
+        }
+        pendingSnapshot = compacted;
+    }
+
+    /**
+     * Releases the write lock. When the outermost lock is released, the changes made under it are published
+     * as the next snapshot in one step.
+     */
+    private void unlockAndPublish() {
+        try {
+            if (writeLock.getHoldCount() == 1 && (pendingSnapshot != null || pendingDepartments != null)) {
+                HRState published = state;
+                state = new HRState(pendingDepartments != null ? pendingDepartments : published.departments(),
+                        pendingSnapshot != null ? pendingSnapshot.persistent() : published.employees());
+                pendingSnapshot = null;
+                pendingDepartments = null;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void detach(Employee employee) {
+        // Only stop listening if no one else has taken over the employee in the meantime.
+        if (employee.getChangeListener() == this) {
+            employee.setChangeListener(null);
+        }
+    }
+}
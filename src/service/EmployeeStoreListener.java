@@ -0,0 +1,38 @@
+package service;
+
+import model.Employee;
+import model.EmployeeChangeListener;
+
+/**
+ * EmployeeStoreListener interface: Gets informed about every change of the EmployeeStore.
+ * Secondary indexes implement it so they can be updated incrementally instead of scanning all employees.
+ */
+public interface EmployeeStoreListener extends EmployeeChangeListener {
+    /**
+     * Called after an employee has been added to the store.
+     */
+    void onAdd(Employee employee);
+
+    /**
+     * Called after an employee has been removed from the store.
+     */
+    void onRemove(Employee employee);
+
+    /**
+     * Called after all employees have been removed at once (e.g. before a saved state is loaded).
+     */
+    void onClear();
+
+    /**
+     * Called after a stored employee object has been replaced by another one with the same ID.
+     */
+    default void onReplace(Employee oldEmployee, Employee updatedEmployee) {
+        onRemove(oldEmployee);
+        onAdd(updatedEmployee);
+    }
+
+    @Override
+    default void onManagerChanged(Employee employee, Employee oldManager, Employee newManager) {
+        // Most listeners do not care about the reporting structure.
+    }
+}
@@ -0,0 +1,303 @@
+package service;
+
+import model.Employee;
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * EmployeeVector class: An immutable list of employees that is cheap to "change" by creating a new version.
+ * The employees are kept in a tree with 32 children per node (a persistent vector, as in Clojure or Scala).
+ * A new version copies only the nodes on the path to the changed position and shares all others with the
+ * previous version, so old versions stay valid and unchanged for anyone who still reads them.
+ *
+ * Removed employees leave an empty position behind; every node counts the employees below it, so the
+ * list still looks gap-free. Many changes in a row (e.g. a bulk import) are made on a Transient, which
+ * changes its own new nodes in place and is turned into the next version in one step.
+ */
+public final class EmployeeVector extends AbstractList<Employee> implements RandomAccess {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    public static final EmployeeVector EMPTY = new EmployeeVector(new Node(null, new Object[WIDTH], 0), 0, 0, 0, 0);
+
+    /**
+     * A node of the tree. On the lowest level the slots hold employees (null where one was removed),
+     * above that they hold child nodes.
+     */
+    private static final class Node {
+        final Object edit; // The Transient that created this node and may still change it in place
+        final Object[] slots;
+        int live; // Number of employees below this node
+
+        Node(Object edit, Object[] slots, int live) {
+            this.edit = edit;
+            this.slots = slots;
+            this.live = live;
+        }
+    }
+
+    private final Node root;
+    private final int shift; // BITS times the number of levels above the leaves
+    private final int end; // Number of positions used, including the ones of removed employees
+    private final int size;
+    private final long version;
+
+    private EmployeeVector(Node root, int shift, int end, int size, long version) {
+        this.root = root;
+        this.shift = shift;
+        this.end = end;
+        this.size = size;
+        this.version = version;
+    }
+
+    /**
+     * Returns the version number; every published change increases it by one.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the employee at the given index. Without removed positions this is a direct lookup;
+     * otherwise the employee counts of the nodes show which child to follow (at most 32 per level).
+     */
+    @Override
+    public Employee get(int index) {
+        Objects.checkIndex(index, size);
+        if (size == end) {
+            return (Employee) leafFor(root, shift, index)[index & MASK];
+        }
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            for (Object slot : node.slots) {
+                Node child = (Node) slot;
+                if (child == null) {
+                    continue;
+                }
+                if (index < child.live) {
+                    node = child;
+                    break;
+                }
+                index -= child.live;
+            }
+        }
+        for (Object slot : node.slots) {
+            if (slot != null && index-- == 0) {
+                return (Employee) slot;
+            }
+        }
+        throw new IllegalStateException("Employee counts of the vector are inconsistent.");
+    }
+
+    @Override
+    public Iterator<Employee> iterator() {
+        return new Iterator<>() {
+            private int position;
+            private int remaining = size;
+            private Object[] leaf;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            public Employee next() {
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                while (true) {
+                    if (leaf == null || (position & MASK) == 0) {
+                        leaf = leafFor(root, shift, position);
+                    }
+                    Object slot = leaf[position++ & MASK];
+                    if (slot != null) {
+                        remaining--;
+                        return (Employee) slot;
+                    }
+                }
+            }
+        };
+    }
+
+    @Override
+    public void forEach(Consumer<? super Employee> action) {
+        Object[] leaf = null;
+        for (int position = 0, remaining = size; remaining > 0; position++) {
+            if ((position & MASK) == 0 || leaf == null) {
+                leaf = leafFor(root, shift, position);
+            }
+            Object slot = leaf[position & MASK];
+            if (slot != null) {
+                action.accept((Employee) slot);
+                remaining--;
+            }
+        }
+    }
+
+    @Override
+    public Spliterator<Employee> spliterator() {
+        return Spliterators.spliterator(iterator(), size,
+                Spliterator.ORDERED | Spliterator.SIZED | Spliterator.IMMUTABLE | Spliterator.NONNULL);
+    }
+
+    /**
+     * Starts a series of changes based on this version. This version itself never changes.
+     */
+    public Transient asTransient() {
+        return new Transient(root, shift, end, size, version);
+    }
+
+    /**
+     * Starts a series of changes on an empty list whose version follows this one (e.g. to remove everything).
+     */
+    public Transient asEmptyTransient() {
+        return new Transient(EMPTY.root, 0, 0, 0, version);
+    }
+
+    private static Object[] leafFor(Node root, int shift, int position) {
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.slots[(position >>> level) & MASK];
+        }
+        return node.slots;
+    }
+
+    /**
+     * Transient class: Collects changes for the next version. Employees are addressed by position
+     * (as returned by append), which stays the same until the vector is compacted.
+     * Nodes created by this Transient are changed in place; all others are copied first.
+     * Not thread-safe; it must no longer be used after persistent() is called.
+     */
+    public static final class Transient {
+        private Object edit = new Object();
+        private Node root;
+        private int shift;
+        private int end;
+        private int size;
+        private final long baseVersion;
+
+        private Transient(Node root, int shift, int end, int size, long baseVersion) {
+            this.root = root;
+            this.shift = shift;
+            this.end = end;
+            this.size = size;
+            this.baseVersion = baseVersion;
+        }
+
+        /**
+         * Adds an employee at the end and returns its position.
+         */
+        public int append(Employee employee) {
+            ensureEditable();
+            if (end == (long) WIDTH << shift) {
+                // The tree is full: put a new root above it
+                Node newRoot = new Node(edit, new Object[WIDTH], root.live);
+                newRoot.slots[0] = root;
+                root = newRoot;
+                shift += BITS;
+            }
+            int position = end++;
+            root = editable(root);
+            Node node = root;
+            for (int level = shift; level > 0; level -= BITS) {
+                node.live++;
+                int index = (position >>> level) & MASK;
+                Node child = (Node) node.slots[index];
+                child = child == null ? new Node(edit, new Object[WIDTH], 0) : editable(child);
+                node.slots[index] = child;
+                node = child;
+            }
+            node.live++;
+            node.slots[position & MASK] = employee;
+            size++;
+            return position;
+        }
+
+        /**
+         * Puts another employee at a position that holds one.
+         */
+        public void set(int position, Employee employee) {
+            ensureEditable();
+            Node leaf = editablePath(position, 0);
+            if (leaf.slots[position & MASK] == null) {
+                throw new IllegalArgumentException("No employee at position " + position + ".");
+            }
+            leaf.slots[position & MASK] = employee;
+        }
+
+        /**
+         * Removes the employee at the given position; the position stays empty.
+         */
+        public void remove(int position) {
+            ensureEditable();
+            if (leafFor(root, shift, position)[position & MASK] == null) {
+                throw new IllegalArgumentException("No employee at position " + position + ".");
+            }
+            Node leaf = editablePath(position, -1);
+            leaf.slots[position & MASK] = null;
+            size--;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns the number of positions used, including the ones of removed employees.
+         */
+        public int end() {
+            return end;
+        }
+
+        /**
+         * Returns the changed list as the next version. Afterwards this Transient can no longer be used.
+         */
+        public EmployeeVector persistent() {
+            ensureEditable();
+            edit = null; // Nodes of the returned version must never change again
+            return new EmployeeVector(root, shift, end, size, baseVersion + 1);
+        }
+
+        /**
+         * Makes all nodes on the path to the position editable, adds liveDelta to their counts,
+         * and returns the leaf.
+         */
+        private Node editablePath(int position, int liveDelta) {
+            Objects.checkIndex(position, end);
+            root = editable(root);
+            Node node = root;
+            for (int level = shift; level > 0; level -= BITS) {
+                node.live += liveDelta;
+                int index = (position >>> level) & MASK;
+                Node child = editable((Node) node.slots[index]);
+                node.slots[index] = child;
+                node = child;
+            }
+            node.live += liveDelta;
+            return node;
+        }
+
+        private Node editable(Node node) {
+            return node.edit == edit ? node : new Node(edit, node.slots.clone(), node.live);
+        }
+
+        private void ensureEditable() {
+            if (edit == null) {
+                throw new IllegalStateException("Transient has already been turned into a persistent vector.");
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package service;
+
+/**
+ * GroupStats record: Salary figures of a group of employees (a department or a role) at one moment.
+ * A new object is published after every change, so all numbers of one GroupStats always belong together.
+ *
+ * @param headcount       the number of employees in the group
+ * @param totalBaseSalary the sum of their base salaries
+ * @param totalSalary     the sum of their calculated monthly salaries
+ * @param minSalary       the lowest calculated salary in the group (0 for an empty group)
+ * @param maxSalary       the highest calculated salary in the group (0 for an empty group)
+ */
+public record GroupStats(int headcount, double totalBaseSalary, double totalSalary, double minSalary, double maxSalary) {
+    public static final GroupStats EMPTY = new GroupStats(0, 0.0, 0.0, 0.0, 0.0);
+
+    /**
+     * Returns the average calculated salary, or 0 for an empty group.
+     */
+    public double averageSalary() {
+        return headcount == 0 ? 0.0 : totalSalary / headcount;
+    }
+
+    /**
+     * Returns the average base salary, or 0 for an empty group.
+     */
+    public double averageBaseSalary() {
+        return headcount == 0 ? 0.0 : totalBaseSalary / headcount;
+    }
+}
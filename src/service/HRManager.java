@@ -1,75 +1,275 @@
 package service;
 
+import metrics.EmployeeAddEvent;
+import metrics.EmployeeDeleteEvent;
+import metrics.HRMetrics;
+import metrics.Operation;
+import metrics.PayrollEvent;
 import model.Department;
 import model.Employee;
 import observer.EmployeeLifecycleNotifier;
 import strategy.EmployeeSortingStrategy;
+import strategy.KeyedSortingStrategy;
+import strategy.SalaryStrategyRegistry;
+import strategy.SortByDepartmentStrategy;
 import strategy.SortByLastNameStrategy;
+import output.ConsoleSink;
+import output.OutputEvent;
+import output.OutputSink;
+import output.SinkWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * This is a central class for managing employees and departments.
  * It follows the "Singleton" design pattern, meaning only one instance of HRManager can exist.
+ * It is safe to use from several threads: lookups do not lock, and changes never block them.
  */
 public class HRManager {
-    private static HRManager instance; // The single instance of HRManager (Singleton pattern)
-    private final List<Employee> employees;
-    private final Map<String, Department> departments;
+    private final EmployeeStore employees;
+    private final ReportingIndex reportingIndex;
+    private final HierarchyIndex hierarchyIndex;
+    // Strategy class -> employees kept sorted by that strategy, so listing never needs to sort
+    private final Map<Class<?>, SortedEmployeeView> sortedViews;
+    private final EmployeeQueryIndex queryIndex;
+    private final NameSearchIndex nameIndex;
+    private final SalaryColumns salaryColumns;
+    private final EmployeeAggregates aggregates;
+    private final SalaryStrategyRegistry salaryStrategies;
+    private final PayrollEngine payrollEngine;
     private final EmployeeLifecycleNotifier notifier;
-    private EmployeeSortingStrategy employeeSortingStrategy;
+    private final HRMetrics metrics; // Off unless switched on (see getMetrics)
+    private volatile EmployeeSortingStrategy employeeSortingStrategy; // volatile: a change is visible to all threads
+    private volatile OutputSink output = ConsoleSink.getInstance(); // Where messages go; see setOutputSink
 
     /**
      * This constructor initializes employee list, department map, notifier, and a default sorting strategy.
      */
     private HRManager() {
-        employees = new ArrayList<>();
-        departments = new HashMap<>();
-        notifier = new EmployeeLifecycleNotifier();
+        employees = new EmployeeStore();
+        reportingIndex = new ReportingIndex();
+        employees.addListener(reportingIndex); // Keeps the manager -> direct reports index up to date
+        hierarchyIndex = new HierarchyIndex(reportingIndex);
+        employees.addListener(hierarchyIndex); // Depth, report counts and chain queries; refuses reporting cycles
+        queryIndex = new EmployeeQueryIndex(reportingIndex);
+        employees.addListener(queryIndex); // Role, department, type and salary indexes for findEmployees
+        nameIndex = new NameSearchIndex();
+        employees.addListener(nameIndex); // Trie of all names for searchEmployeesByName
+        sortedViews = new ConcurrentHashMap<>();
+        sortedViewFor(new SortByLastNameStrategy()); // The built-in sort orders are always ready
+        sortedViewFor(new SortByDepartmentStrategy());
+        salaryStrategies = SalaryStrategyRegistry.withDefaults();
+        payrollEngine = new PayrollEngine(salaryStrategies);
+        salaryColumns = new SalaryColumns(salaryStrategies, reportingIndex);
+        employees.addListener(salaryColumns); // Salary numbers in plain arrays for totals and statistics
+        aggregates = new EmployeeAggregates(salaryStrategies);
+        employees.addListener(aggregates); // Headcount and salary figures per department and role
+        metrics = new HRMetrics();
+        if (Boolean.getBoolean("hrms.metrics")) {
+            metrics.setEnabled(true);
+            metrics.registerMBean();
+        }
+        notifier = new EmployeeLifecycleNotifier(metrics); // Also measures the delivery to each observer
         this.employeeSortingStrategy = new SortByLastNameStrategy(); // Default sorting strategy
 
         // Initialize some default departments
-        departments.put("HR", new Department("Human Resources", "HR-001"));
-        departments.put("IT", new Department("Information Technology", "IT-001"));
-        departments.put("SALES", new Department("Sales", "SALES-001"));
+        Map<String, Department> defaultDepartments = new HashMap<>();
+        defaultDepartments.put("HR", new Department("Human Resources", "HR-001"));
+        defaultDepartments.put("IT", new Department("Information Technology", "IT-001"));
+        defaultDepartments.put("SALES", new Department("Sales", "SALES-001"));
+        employees.setDepartments(defaultDepartments);
+    }
+
+    /**
+     * Holds the single instance of HRManager (Singleton pattern).
+     * The JVM creates it exactly once, when getInstance() is first called, and publishes it safely to all threads.
+     */
+    private static class InstanceHolder {
+        private static final HRManager INSTANCE = new HRManager();
     }
 
     /**
      * Returns the single instance of HRManager (Singleton pattern).
      */
     public static HRManager getInstance() {
-        if (instance == null) {
-            instance = new HRManager();
-        }
-        return instance;
+        return InstanceHolder.INSTANCE;
     }
 
     /**
      * Adds a new employee to the HR system and notifies observers about the new hire.
      */
     public void addEmployee(Employee employee) {
-        // Check if an employee with the same ID already exists
-        boolean exists = employees.stream().anyMatch(e -> e.getId().equals(employee.getId()));
-        if (exists) {
-            System.out.println("Error: Employee with ID " + employee.getId() + " already exists.");
-            return;
+        long start = metrics.start();
+        EmployeeAddEvent event = new EmployeeAddEvent(); // Recorded only while a JFR recording is running
+        event.begin();
+        try {
+            // The store rejects the employee if one with the same ID already exists
+            if (!employees.add(employee)) {
+                report(OutputEvent.warning("employee.duplicate", "Error: Employee with ID " + employee.getId() + " already exists.",
+                        Map.of("employeeId", employee.getId())));
+                return;
+            }
+            event.added = true;
+            if (output.isEnabled()) {
+                output.emit(OutputEvent.info("employee.added", "Added employee: " + employee.getFirstName() + " " + employee.getLastName() + " (ID: " + employee.getId() + ")", // Output in English
+                        Map.of("employeeId", employee.getId())));
+            }
+            notifier.notifyNewHire(employee); // Notify observers
+            output.flush();
+        } finally {
+            metrics.stop(Operation.ADD, start);
+            if (event.shouldCommit()) {
+                event.employeeId = employee.getId();
+                event.department = departmentName(employee);
+                event.employeeCount = employees.size();
+                event.commit();
+            }
         }
-        employees.add(employee);
-        System.out.println("Added employee: " + employee.getFirstName() + " " + employee.getLastName() + " (ID: " + employee.getId() + ")"); // Output in English
-        notifier.notifyNewHire(employee); // Notify observers
+    }
+
+    /**
+     * Adds many employees at once, e.g. when onboarding an acquired company.
+     * All rows are checked in one pass: IDs must be unique (in the batch and in the system), every manager
+     * must be either an existing employee or part of the batch, and the batch must not contain reporting cycles
+     * (see HierarchyValidator). Manager references are bound to the stored or batch employee with that ID.
+     * Rows whose manager is rejected are rejected as well.
+     * The accepted employees are added in one step (no other change can happen in between), and observers
+     * are notified once with the whole batch. Nothing is printed; the result lists accepted and rejected rows.
+     * If an observer throws, the employees stay added and the result is still returned: the failure is reported
+     * to the output sink as "employees.notificationFailed", and the observers after the failing one miss the batch.
+     */
+    public BulkImportResult addEmployees(Collection<? extends Employee> newEmployees) {
+        long start = metrics.start();
+        List<Employee> accepted = new ArrayList<>();
+        List<BulkImportResult.Rejection> rejected = new ArrayList<>();
+        try {
+            employees.atomically(() -> {
+                // 1. Duplicate check with a hash map of the batch (ID -> employee, in batch order)
+                Map<String, Employee> batch = new LinkedHashMap<>();
+                for (Employee employee : newEmployees) {
+                    if (employee == null || employee.getId() == null) {
+                        rejected.add(new BulkImportResult.Rejection(employee, "Missing employee or employee ID."));
+                    } else if (employees.contains(employee.getId())) {
+                        rejected.add(new BulkImportResult.Rejection(employee, "Employee with ID " + employee.getId() + " already exists."));
+                    } else if (batch.putIfAbsent(employee.getId(), employee) != null) {
+                        rejected.add(new BulkImportResult.Rejection(employee, "Duplicate employee ID " + employee.getId() + " in batch."));
+                    }
+                }
+
+                // 2. Check the hierarchy of the batch in one pass: missing managers, cycles, and everyone below them
+                HierarchyReport report = HierarchyValidator.validate(batch.values(), id -> employees.get(id).orElse(null));
+                for (HierarchyReport.Problem problem : report.getProblems()) {
+                    if (problem.type().invalidatesEmployee() && batch.remove(problem.employee().getId()) != null) {
+                        rejected.add(new BulkImportResult.Rejection(problem.employee(), problem.message()));
+                    }
+                }
+
+                // 3. Point the manager references to the employee object that is (or will be) stored
+                for (Employee employee : batch.values()) {
+                    Employee manager = employee.getManager();
+                    if (manager != null) {
+                        Employee resolved = batch.get(manager.getId());
+                        if (resolved == null) {
+                            resolved = employees.get(manager.getId()).orElseThrow(); // Found by the check above
+                        }
+                        if (resolved != manager) {
+                            employee.setManager(resolved);
+                        }
+                    }
+                }
+
+                // 4. Insert everything that is left
+                for (Employee employee : batch.values()) {
+                    employees.add(employee);
+                    accepted.add(employee);
+                }
+                return null;
+            });
+            try {
+                notifier.notifyNewHires(accepted); // One notification for the whole batch
+            } catch (RuntimeException e) {
+                // The rows are stored already, so the caller must still get the result
+                report(OutputEvent.error("employees.notificationFailed",
+                        "Error: Observers were not notified about all " + accepted.size() + " new employees: " + e.getMessage(),
+                        Map.of("employees", String.valueOf(accepted.size()))));
+            }
+            return new BulkImportResult(accepted, rejected);
+        } finally {
+            metrics.stop(Operation.BULK_ADD, start, newEmployees.size());
+        }
+    }
+
+    /**
+     * Replaces the whole state of the HR system with a saved one (e.g. a snapshot loaded at startup).
+     * The employees must already be linked to their managers. Observers are not notified and nothing is printed,
+     * because these are not new hires.
+     */
+    public void restore(Map<String, Department> savedDepartments, Collection<? extends Employee> savedEmployees) {
+        employees.atomically(() -> {
+            employees.clear();
+            employees.setDepartments(savedDepartments); // Published together with the employees
+            for (Employee employee : savedEmployees) {
+                employees.add(employee);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Runs the given action while no other thread can change the employees, e.g. to read the state together with
+     * something that a change listener keeps in step with it. Changes made by the action are published when it returns.
+     */
+    public <T> T atomically(Supplier<T> action) {
+        return employees.atomically(action);
+    }
+
+    /**
+     * Registers a listener that is informed about every change of the employees (e.g. a change journal).
+     * It is called while the change is being made, so it should be quick.
+     */
+    public void addChangeListener(EmployeeStoreListener listener) {
+        employees.addListener(listener);
+    }
+
+    public void removeChangeListener(EmployeeStoreListener listener) {
+        employees.removeListener(listener);
     }
 
     /**
      * Retrieves an employee by their ID. Uses Optional to handle cases where the employee might not be found.
      */
     public Optional<Employee> getEmployeeById(String id) {
-        return employees.stream()
-                .filter(e -> e.getId().equals(id))
-                .findFirst();
+        long start = metrics.start();
+        Optional<Employee> employee = employees.get(id);
+        metrics.stop(Operation.LOOKUP, start);
+        return employee;
+    }
+
+    /**
+     * Finds all employees that match the given query, e.g. all developers in IT with a base salary of at least 60,000.
+     * The search uses the secondary indexes instead of checking every employee, and the result is produced lazily.
+     */
+    public Stream<Employee> findEmployees(EmployeeQuery query) {
+        return queryIndex.find(query);
+    }
+
+    /**
+     * Searches employees by first name, last name or full name, e.g. for autocomplete.
+     * The search ignores case and accents and tolerates typos; the best matches come first.
+     */
+    public List<Employee> searchEmployeesByName(String text, int limit) {
+        return nameIndex.search(text, limit);
     }
 
     /**
@@ -78,46 +278,208 @@ public class HRManager {
      * Notifies observers about the termination.
      */
     public boolean deleteEmployee(String employeeId) {
-        Optional<Employee> employeeToRemove = getEmployeeById(employeeId);
-        if (employeeToRemove.isPresent()) {
-            Employee employee = employeeToRemove.get();
-            List<Employee> subordinates = employees.stream()
-                    .filter(e -> e.getManager() != null && e.getManager().getId().equals(employeeId))
-                    .toList();
-
-            if (!subordinates.isEmpty()) {
-                System.out.println("Employee " + employee.getFirstName() + " " + employee.getLastName() + " has subordinates. Cannot delete."); // Output in English
-                return false; // Cannot delete if there are subordinates
-            }
+        long start = metrics.start();
+        EmployeeDeleteEvent event = new EmployeeDeleteEvent();
+        event.begin();
+        try {
+            Optional<Employee> employeeToRemove = employees.get(employeeId); // Not getEmployeeById: that would count as a lookup
+            if (employeeToRemove.isPresent()) {
+                Employee employee = employeeToRemove.get();
+                event.department = departmentName(employee);
+                // The subordinate check and the removal are one step, so no one can be assigned to the employee in between
+                boolean deleted = employees.atomically(() ->
+                        !reportingIndex.hasDirectReports(employeeId) && employees.remove(employeeId).isPresent());
+                if (!deleted && employees.contains(employeeId)) {
+                    report(OutputEvent.warning("employee.delete.refused", "Employee " + employee.getFirstName() + " " + employee.getLastName() + " has subordinates. Cannot delete.", // Output in English
+                            Map.of("employeeId", employeeId)));
+                    return false; // Cannot delete if there are subordinates
+                }
+                if (!deleted) {
+                    report(OutputEvent.warning("employee.notFound", "Employee with ID " + employeeId + " not found for deletion.", // Deleted by another thread
+                            Map.of("employeeId", employeeId)));
+                    return false;
+                }
 
-            employees.remove(employee);
-            System.out.println("Deleted employee with ID: " + employeeId + " (" + employee.getFirstName() + " " + employee.getLastName() + ")"); // Output in English
-            notifier.notifyTermination(employee); // Notify observers
-            return true;
+                if (output.isEnabled()) {
+                    output.emit(OutputEvent.info("employee.deleted", "Deleted employee with ID: " + employeeId + " (" + employee.getFirstName() + " " + employee.getLastName() + ")", // Output in English
+                            Map.of("employeeId", employeeId)));
+                }
+                event.deleted = true;
+                notifier.notifyTermination(employee); // Notify observers
+                output.flush();
+                return true;
+            }
+            report(OutputEvent.warning("employee.notFound", "Employee with ID " + employeeId + " not found for deletion.",
+                    Map.of("employeeId", employeeId)));
+            return false;
+        } finally {
+            metrics.stop(Operation.DELETE, start);
+            if (event.shouldCommit()) {
+                event.employeeId = employeeId;
+                event.employeeCount = employees.size();
+                event.commit();
+            }
         }
-        System.out.println("Employee with ID " + employeeId + " not found for deletion.");
-        return false;
     }
 
     /**
-     * Retrieves a copy of the list of all employees.
+     * Retrieves an immutable snapshot of all employees in insertion order.
+     * It is consistent (one state between two changes) and is not copied: every change publishes a new
+     * snapshot that shares most of its structure with the previous one, so calling this allocates nothing.
      */
     public List<Employee> getAllEmployees() {
-        return new ArrayList<>(employees);
+        return employees.snapshot();
+    }
+
+    /**
+     * Retrieves one page of employees in the given order, starting at the given offset (0 = first page).
+     * Only the requested employees are copied; skipping the offset walks over the skipped entries.
+     * To read further, pass the returned token to listEmployees(sortKey, token, limit).
+     */
+    public EmployeePage listEmployees(EmployeeSortKey sortKey, int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative: " + offset);
+        }
+        long start = metrics.start();
+        EmployeePage page = page(sortKey, null, offset, limit);
+        metrics.stop(Operation.LIST, start, page.getEmployees().size());
+        return page;
+    }
+
+    /**
+     * Retrieves the page of employees that follows the given continuation token (null = first page).
+     * The token stays valid while employees are added, changed or removed: the listing continues behind the
+     * last employee that was returned. Employees whose sort key changes in the meantime may move across that point.
+     */
+    public EmployeePage listEmployees(EmployeeSortKey sortKey, String continuationToken, int limit) {
+        EmployeePage.Token token = continuationToken != null ? EmployeePage.Token.decode(continuationToken) : null;
+        if (token != null && token.sortKey() != sortKey) {
+            throw new IllegalArgumentException("Continuation token belongs to the sort key " + token.sortKey() + ", not " + sortKey + ".");
+        }
+        long start = metrics.start();
+        EmployeePage page = page(sortKey, token, 0, limit);
+        metrics.stop(Operation.LIST, start, page.getEmployees().size());
+        return page;
+    }
+
+    private EmployeePage page(EmployeeSortKey sortKey, EmployeePage.Token after, int offset, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive: " + limit);
+        }
+        if (sortKey == EmployeeSortKey.INSERTION) {
+            return EmployeePage.of(employees.entriesAfter(after != null ? after.sequence() : -1), offset, limit,
+                    sequence -> new EmployeePage.Token(sortKey, null, sequence).encode());
+        }
+        SortedEmployeeView view = sortedViewFor(sortKey.newStrategy());
+        SortedEmployeeView.Position start = after != null ? new SortedEmployeeView.Position(after.key(), after.sequence()) : null;
+        return EmployeePage.of(view.entriesAfter(start), offset, limit,
+                position -> new EmployeePage.Token(sortKey, position.key(), position.sequence()).encode());
+    }
+
+    /**
+     * Retrieves a read-only view of the employees who report directly to the given manager.
+     */
+    public Collection<Employee> getDirectReports(String managerId) {
+        return reportingIndex.getDirectReports(managerId);
+    }
+
+    /**
+     * Retrieves a read-only view of the employees who have no manager (the roots of the organization chart).
+     */
+    public Collection<Employee> getTopLevelEmployees() {
+        return reportingIndex.getTopLevelEmployees();
+    }
+
+    /**
+     * Retrieves the level of an employee in the organization (0 for the top), or -1 if the ID is unknown.
+     */
+    public int getDepth(String employeeId) {
+        return hierarchyIndex.getDepth(employeeId);
+    }
+
+    /**
+     * Retrieves the number of employees who report directly to the given manager.
+     */
+    public int getSpanOfControl(String managerId) {
+        return hierarchyIndex.getSpanOfControl(managerId);
+    }
+
+    /**
+     * Retrieves the number of employees below the given manager, directly or indirectly.
+     */
+    public int getTransitiveReportCount(String managerId) {
+        return hierarchyIndex.getTransitiveReportCount(managerId);
+    }
+
+    /**
+     * Checks whether the employee reports to the manager, directly or through other managers.
+     */
+    public boolean isInReportingChain(String employeeId, String managerId) {
+        return hierarchyIndex.isInReportingChain(employeeId, managerId);
+    }
+
+    /**
+     * Retrieves a list of everyone below the given manager, in org-chart order.
+     */
+    public List<Employee> getAllReports(String managerId) {
+        return hierarchyIndex.getAllReports(managerId);
+    }
+
+    /**
+     * Retrieves the employees two levels below the given manager.
+     */
+    public List<Employee> getSkipLevelReports(String managerId) {
+        return hierarchyIndex.getSkipLevelReports(managerId);
     }
 
     /**
-     * Retrieves a copy of the map of all departments.
+     * Retrieves the managers above an employee, from the direct manager up to the top.
+     */
+    public List<Employee> getManagementChain(String employeeId) {
+        return hierarchyIndex.getManagementChain(employeeId);
+    }
+
+    /**
+     * Checks the reporting structure of all stored employees (cycles, missing managers and stale manager references).
+     */
+    public HierarchyReport validateHierarchy() {
+        return employees.atomically(() -> HierarchyValidator.validate(employees.toList(), id -> employees.get(id).orElse(null)));
+    }
+
+    /**
+     * Sets where messages of the HR system, its notifier and the registered observers go, e.g. a FileSink
+     * for a bulk run or NoOpSink.getInstance() to report nothing. The default is the console.
+     */
+    public void setOutputSink(OutputSink output) {
+        this.output = output;
+        notifier.setOutputSink(output);
+    }
+
+    public OutputSink getOutputSink() {
+        return output;
+    }
+
+    /**
+     * Retrieves the immutable map of all departments (key -> department). It is replaced, never changed,
+     * so no copy is made.
      */
     public Map<String, Department> getDepartments() {
-        return new HashMap<>(departments);
+        return employees.state().departments();
+    }
+
+    /**
+     * Retrieves the departments and all employees together, as one consistent state (e.g. for a snapshot).
+     * Calling getDepartments() and getAllEmployees() one after the other could mix two states.
+     */
+    public HRState getState() {
+        return employees.state();
     }
 
     /**
      * Retrieves a department by its name (case-insensitive).
      */
     public Optional<Department> getDepartmentByName(String name) {
-        return Optional.ofNullable(departments.get(name.toUpperCase()));
+        return Optional.ofNullable(getDepartments().get(name.toUpperCase()));
     }
 
     /**
@@ -128,56 +490,200 @@ public class HRManager {
     }
 
     /**
-     * Prints a list of all employees to the console, applying the current sorting strategy.
+     * Gets the registry of salary strategies used by the payroll. New pay models can be registered here.
+     */
+    public SalaryStrategyRegistry getSalaryStrategies() {
+        return salaryStrategies;
+    }
+
+    /**
+     * Reports a list of all employees through the output sink, applying the current sorting strategy.
      */
     public void listAllEmployees() {
-        if (employees.isEmpty()) {
-            System.out.println("No employees to display."); // Output in English
-            return;
+        long start = metrics.start();
+        try {
+            OutputSink sink = output;
+            if (!sink.isEnabled()) {
+                return;
+            }
+            if (employees.isEmpty()) {
+                report(OutputEvent.info("employee.list.empty", "No employees to display.")); // Output in English
+                return;
+            }
+            sink.emit(OutputEvent.info("employee.list.start", "\n--- List of All Employees ---")); // Output in English
+            EmployeeSortingStrategy strategy = employeeSortingStrategy;
+            SortedEmployeeView sortedView = strategy != null ? sortedViews.get(strategy.getClass()) : null;
+            Iterable<Employee> employeesToList;
+            if (sortedView != null) {
+                employeesToList = sortedView.values(); // Already sorted: no copy and no sorting needed
+            } else {
+                List<Employee> copy = employees.toList();
+                if (strategy != null) {
+                    strategy.sort(copy); // Apply the current sorting strategy
+                }
+                employeesToList = copy;
+            }
+            for (Employee employee : employeesToList) {
+                sink.emit(OutputEvent.info("employee.list.entry", employee.toString(), Map.of("employeeId", employee.getId())));
+            }
+            sink.emit(OutputEvent.info("employee.list.end", "---------------------------------"));
+            sink.flush(); // The whole list is written in one go
+        } finally {
+            metrics.stop(Operation.LIST, start);
         }
-        System.out.println("\n--- List of All Employees ---"); // Output in English
-        List<Employee> employeesToList = new ArrayList<>(employees);
-        if (employeeSortingStrategy != null) {
-            employeeSortingStrategy.sort(employeesToList); // Apply the current sorting strategy
+    }
+
+    /**
+     * Calculates the salary of all employees (in parallel) and returns the amounts with department and company totals.
+     */
+    public PayrollResult runPayroll() {
+        long start = metrics.start();
+        PayrollEvent event = new PayrollEvent();
+        event.begin();
+        PayrollResult result = payrollEngine.run(employees.toList());
+        metrics.stop(Operation.PAYROLL, start, result.size());
+        if (event.shouldCommit()) {
+            event.employeeCount = result.size();
+            event.departmentCount = result.getDepartmentTotals().size();
+            event.companyTotal = result.getCompanyTotal();
+            event.commit();
         }
-        employeesToList.forEach(System.out::println);
-        System.out.println("---------------------------------");
+        return result;
+    }
+
+    /**
+     * Gets the call counts and latencies of the HRManager operations and of every observer.
+     * They are only recorded while enabled (getMetrics().setEnabled(true), or -Dhrms.metrics=true at startup,
+     * which also registers them with JMX); getMetrics().dump() returns them as a text table.
+     */
+    public HRMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Gets the salary numbers of all employees in column form, for payroll totals and statistics
+     * that do not need the individual amounts.
+     */
+    public SalaryColumns getSalaryColumns() {
+        return salaryColumns;
+    }
+
+    /**
+     * Gets the running salary figures (headcount, totals, min and max) per department and per role.
+     * They are kept up to date on every change, so reading them costs almost nothing.
+     */
+    public EmployeeAggregates getAggregates() {
+        return aggregates;
     }
 
     /**
-     * Calculates and prints the salary for all employees.
+     * Calculates the salary for all employees and reports one line per employee through the output sink.
+     * The calculation runs first; the formatted lines are then written in one buffered step.
      */
     public void calculateAllSalaries() {
         if (employees.isEmpty()) {
-            System.out.println("No employees to calculate salaries for.");
+            report(OutputEvent.info("payroll.empty", "No employees to calculate salaries for."));
             return;
         }
-        employees.forEach(emp -> {
-            System.out.printf("%s %s (ID: %s) - Calculated Salary: %.2f€%n",
-                    emp.getFirstName(), emp.getLastName(), emp.getId(), emp.calculateSalary());
-        });
+        PayrollResult result = runPayroll();
+        if (!output.isEnabled()) {
+            return;
+        }
+        Writer out = new SinkWriter(output, "payroll.line");
+        try {
+            result.writeTo(out);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
      * Sets the sorting strategy to be used for listing employees and demonstrates the "Strategy" design pattern.
      */
     public void setSortingStrategy(EmployeeSortingStrategy strategy) {
+        sortedViewFor(strategy); // Built once per strategy class, then kept up to date on every change
         this.employeeSortingStrategy = strategy;
-        System.out.println("Sorting strategy set: " + strategy.getClass().getSimpleName());
+        report(OutputEvent.info("sorting.changed", "Sorting strategy set: " + strategy.getClass().getSimpleName(),
+                Map.of("strategy", strategy.getClass().getSimpleName())));
+    }
+
+    /**
+     * Returns the view that keeps all employees sorted by the given strategy, creating it on first use.
+     * Only KeyedSortingStrategy can be kept sorted; for other strategies null is returned.
+     * Strategies of the same class are expected to sort the same way, so they share one view.
+     */
+    private SortedEmployeeView sortedViewFor(EmployeeSortingStrategy strategy) {
+        if (!(strategy instanceof KeyedSortingStrategy keyedStrategy)) {
+            return null;
+        }
+        SortedEmployeeView existing = sortedViews.get(strategy.getClass());
+        if (existing != null) {
+            return existing;
+        }
+        // Fill the view and register it in one step, so no change made in between is missed
+        return employees.atomically(() -> sortedViews.computeIfAbsent(strategy.getClass(), type -> {
+            SortedEmployeeView view = new SortedEmployeeView(keyedStrategy, employees);
+            employees.values().forEach(view::onAdd);
+            employees.addListener(view);
+            return view;
+        }));
     }
 
     /**
      * Updates an existing employee's information.
      */
     public boolean updateEmployee(Employee updatedEmployee) {
-        for (int i = 0; i < employees.size(); i++) {
-            if (employees.get(i).getId().equals(updatedEmployee.getId())) {
-                employees.set(i, updatedEmployee); // Replace the old employee object with the updated one
-                System.out.println("Employee with ID: " + updatedEmployee.getId() + " updated successfully.");
+        long start = metrics.start();
+        try {
+            // Replace the old employee object with the updated one, keeping its position.
+            // A new manager must not be someone who (indirectly) reports to the updated employee.
+            Boolean replaced = employees.atomically(() -> {
+                if (hierarchyIndex.wouldCreateCycle(updatedEmployee.getId(), updatedEmployee.getManager())) {
+                    return null;
+                }
+                if (employees.replace(updatedEmployee).isEmpty()) {
+                    return false;
+                }
+                // The direct reports still point to the old object; let them point to the updated one
+                for (Employee report : List.copyOf(reportingIndex.getDirectReports(updatedEmployee.getId()))) {
+                    if (report.getManager() != updatedEmployee) {
+                        report.setManager(updatedEmployee);
+                    }
+                }
                 return true;
+            });
+            if (replaced == null) {
+                report(OutputEvent.warning("employee.update.refused", "Employee with ID " + updatedEmployee.getId() + " cannot report to "
+                        + updatedEmployee.getManager().getId() + ", because that would create a reporting cycle.",
+                        Map.of("employeeId", updatedEmployee.getId(), "managerId", updatedEmployee.getManager().getId())));
+                return false;
             }
+            if (replaced) {
+                report(OutputEvent.info("employee.updated", "Employee with ID: " + updatedEmployee.getId() + " updated successfully.",
+                        Map.of("employeeId", updatedEmployee.getId())));
+                return true;
+            }
+            report(OutputEvent.warning("employee.notFound", "Employee with ID " + updatedEmployee.getId() + " not found for update.",
+                    Map.of("employeeId", updatedEmployee.getId())));
+            return false;
+        } finally {
+            metrics.stop(Operation.UPDATE, start);
+        }
+    }
+
+    private static String departmentName(Employee employee) {
+        return employee.getDepartment() != null ? employee.getDepartment().name() : null;
+    }
+
+    /**
+     * Reports a single event and writes it out right away.
+     */
+    private void report(OutputEvent event) {
+        OutputSink sink = output;
+        if (sink.isEnabled()) {
+            sink.emit(event);
+            sink.flush();
         }
-        System.out.println("Employee with ID " + updatedEmployee.getId() + " not found for update.");
-        return false;
     }
 }
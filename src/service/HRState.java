@@ -0,0 +1,15 @@
+package service;
+
+import model.Department;
+import java.util.Map;
+
+/**
+ * HRState record: The departments and all employees of the HR system at one moment.
+ * Both are immutable and are published together with a single volatile write, so a reader that needs both
+ * (e.g. to write a snapshot) never sees the departments of one state and the employees of another.
+ *
+ * @param departments the immutable map of departments (key -> department)
+ * @param employees   the immutable list of all employees in insertion order
+ */
+public record HRState(Map<String, Department> departments, EmployeeVector employees) {
+}
@@ -0,0 +1,479 @@
+package service;
+
+import model.Employee;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * HierarchyIndex class: Answers questions about whole reporting chains, e.g. "all reports of X (also indirect)",
+ * "is A somewhere below B" and "how deep is an employee in the organization".
+ *
+ * The hierarchy is kept as its depth-first walk ("Euler tour"): every employee has an open token where the walk
+ * enters them and a close token where it leaves them, and everyone below a manager sits between the manager's two
+ * tokens. The tokens are stored in a balanced tree by position (an implicit treap), so the position of a token,
+ * the depth (open tokens before it minus close tokens before it) and the size of a subtree (tokens between open
+ * and close) are O(log n). Moving an employee to another manager cuts their whole subtree out of the walk and
+ * inserts it before the new manager's close token, which is O(log n) as well; nothing is ever rebuilt.
+ *
+ * Changes arrive one at a time from the store; the lock keeps queries from reading a half-moved subtree.
+ * Changes that would make an employee report (directly or indirectly) to themselves are refused.
+ */
+public class HierarchyIndex implements EmployeeStoreListener {
+    /**
+     * Where an employee is in the hierarchy. Guarded by the lock.
+     */
+    private static final class Node {
+        Employee employee;
+        String managerId; // May name an employee that is not (yet) stored; then this node is a root
+        final Token open = new Token(this, 1);
+        final Token close = new Token(this, -1);
+
+        Node(Employee employee, String managerId) {
+            this.employee = employee;
+            this.managerId = managerId;
+        }
+    }
+
+    /**
+     * One token of the walk, and a node of the treap: ordered by position, heap-ordered by priority.
+     * Every token knows the number of tokens and the sum of the values (+1 open, -1 close) in its subtree.
+     */
+    private static final class Token {
+        final Node owner;
+        final int value;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        Token left;
+        Token right;
+        Token parent;
+        int size = 1;
+        int balance;
+
+        Token(Node owner, int value) {
+            this.owner = owner;
+            this.value = value;
+            this.balance = value;
+        }
+
+        void update() {
+            size = 1 + size(left) + size(right);
+            balance = value + balance(left) + balance(right);
+        }
+    }
+
+    private final ReportingIndex reportingIndex;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Node> nodes = new HashMap<>();
+    private Token root; // The whole walk: every root of the hierarchy with everyone below them, one after another
+
+    /**
+     * Creates an empty index. The direct reports of each manager come from the reporting index.
+     */
+    HierarchyIndex(ReportingIndex reportingIndex) {
+        this.reportingIndex = reportingIndex;
+    }
+
+    // --- Queries ---
+
+    /**
+     * Returns the level of an employee: 0 for the top of the organization, 1 for their direct reports, and so on.
+     * Returns -1 for an unknown ID.
+     */
+    public int getDepth(String employeeId) {
+        lock.readLock().lock();
+        try {
+            Node node = nodes.get(employeeId);
+            return node != null ? balanceBefore(node.open) : -1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of employees who report directly to the given manager (span of control).
+     */
+    public int getSpanOfControl(String managerId) {
+        return reportingIndex.getDirectReports(managerId).size();
+    }
+
+    /**
+     * Returns the number of employees below the given manager, directly or indirectly.
+     */
+    public int getTransitiveReportCount(String managerId) {
+        lock.readLock().lock();
+        try {
+            Node node = nodes.get(managerId);
+            return node != null ? (rank(node.close) - rank(node.open) - 1) / 2 : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether the employee reports to the manager, directly or through other managers.
+     */
+    public boolean isInReportingChain(String employeeId, String managerId) {
+        lock.readLock().lock();
+        try {
+            Node employee = nodes.get(employeeId);
+            Node manager = nodes.get(managerId);
+            return employee != null && manager != null && employee != manager && contains(manager, employee);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns all employees below the given manager (directly or indirectly), in org-chart order.
+     * The list is a copy; it does not change when the hierarchy does.
+     */
+    public List<Employee> getAllReports(String managerId) {
+        lock.readLock().lock();
+        try {
+            Node manager = nodes.get(managerId);
+            if (manager == null) {
+                return List.of();
+            }
+            List<Employee> reports = new ArrayList<>((rank(manager.close) - rank(manager.open) - 1) / 2);
+            for (Token token = next(manager.open); token != manager.close; token = next(token)) {
+                if (token.value > 0) {
+                    reports.add(token.owner.employee);
+                }
+            }
+            return reports;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the employees two levels below the given manager (the reports of their direct reports).
+     */
+    public List<Employee> getSkipLevelReports(String managerId) {
+        List<Employee> skipLevel = new ArrayList<>();
+        for (Employee report : reportingIndex.getDirectReports(managerId)) {
+            skipLevel.addAll(reportingIndex.getDirectReports(report.getId()));
+        }
+        return skipLevel;
+    }
+
+    /**
+     * Returns the managers above an employee, starting with the direct manager and ending at the top.
+     */
+    public List<Employee> getManagementChain(String employeeId) {
+        lock.readLock().lock();
+        try {
+            List<Employee> chain = new ArrayList<>();
+            int steps = nodes.size(); // Restored data may contain a cycle
+            for (Node node = managerNode(nodes.get(employeeId)); node != null && steps-- > 0; node = managerNode(node)) {
+                chain.add(node.employee);
+            }
+            return chain;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether giving the employee the new manager would make the employee report to themselves.
+     */
+    public boolean wouldCreateCycle(String employeeId, Employee newManager) {
+        lock.readLock().lock();
+        try {
+            // Managers that are not stored (yet) are followed by their own references, until a stored one is reached
+            Employee manager = newManager;
+            for (int steps = nodes.size() + 1; manager != null && !nodes.containsKey(manager.getId()) && steps > 0; steps--) {
+                if (manager.getId().equals(employeeId)) {
+                    return true;
+                }
+                manager = manager.getManager();
+            }
+            if (manager == null || !nodes.containsKey(manager.getId())) {
+                return false;
+            }
+            if (manager.getId().equals(employeeId)) {
+                return true;
+            }
+            // Everyone above a stored manager is stored, so only a stored employee can be among them
+            Node employee = nodes.get(employeeId);
+            return employee != null && contains(employee, nodes.get(manager.getId()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- Changes ---
+
+    @Override
+    public void beforeManagerChange(Employee employee, Employee newManager) {
+        if (wouldCreateCycle(employee.getId(), newManager)) {
+            throw new IllegalArgumentException("Employee " + employee.getId() + " cannot report to " + newManager.getId()
+                    + ", because " + newManager.getId() + " already reports to " + employee.getId() + ".");
+        }
+    }
+
+    @Override
+    public void onAdd(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            Node node = new Node(employee, managerId(employee.getManager()));
+            nodes.put(employee.getId(), node);
+            Node manager = managerNode(node);
+            insert(merge(node.open, node.close), manager != null ? rank(manager.close) : size(root));
+            // Reports that were added before this manager (e.g. while restoring) now belong below it
+            adoptReports(node, reportingIndex.getDirectReports(employee.getId()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onRemove(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            Node node = nodes.remove(employee.getId());
+            if (node == null) {
+                return;
+            }
+            // Anyone still below the removed employee is now at the top
+            Token subtree = cut(node);
+            Token[] parts = split(subtree, 1);
+            Token[] reports = split(parts[1], size(parts[1]) - 1);
+            root = merge(root, reports[0]);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onClear() {
+        lock.writeLock().lock();
+        try {
+            nodes.clear();
+            root = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onReplace(Employee oldEmployee, Employee updatedEmployee) {
+        lock.writeLock().lock();
+        try {
+            Node node = nodes.get(updatedEmployee.getId());
+            if (node == null) {
+                onAdd(updatedEmployee);
+                return;
+            }
+            node.employee = updatedEmployee;
+            String managerId = managerId(updatedEmployee.getManager());
+            if (!Objects.equals(node.managerId, managerId)) {
+                node.managerId = managerId;
+                move(node);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onManagerChanged(Employee employee, Employee oldManager, Employee newManager) {
+        lock.writeLock().lock();
+        try {
+            Node node = nodes.get(employee.getId());
+            // Always follow the employee's current manager, in case another thread changed it again meanwhile
+            String managerId = managerId(employee.getManager());
+            if (node == null || Objects.equals(node.managerId, managerId)) {
+                return;
+            }
+            node.managerId = managerId;
+            move(node);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void adoptReports(Node manager, Collection<Employee> reports) {
+        for (Employee report : reports) {
+            Node reportNode = nodes.get(report.getId());
+            if (reportNode != null && reportNode != manager && !contains(reportNode, manager)) {
+                insert(cut(reportNode), rank(manager.close));
+            }
+        }
+    }
+
+    /**
+     * Moves the subtree of the node below its current manager, as the manager's last report.
+     * If the manager is not stored, or is inside the subtree itself, the node becomes a root at the end of the walk.
+     */
+    private void move(Node node) {
+        Node manager = managerNode(node);
+        if (manager != null && (manager == node || contains(node, manager))) {
+            manager = null;
+        }
+        Token subtree = cut(node);
+        insert(subtree, manager != null ? rank(manager.close) : size(root));
+    }
+
+    private Node managerNode(Node node) {
+        if (node == null || node.managerId == null) {
+            return null;
+        }
+        Node manager = nodes.get(node.managerId);
+        return manager != node ? manager : null;
+    }
+
+    private static String managerId(Employee manager) {
+        return manager != null ? manager.getId() : null;
+    }
+
+    // --- The walk ---
+
+    /**
+     * Checks whether the node lies strictly inside the subtree of the manager.
+     */
+    private static boolean contains(Node manager, Node node) {
+        int position = rank(node.open);
+        return rank(manager.open) < position && position < rank(manager.close);
+    }
+
+    /**
+     * Takes the tokens of the node's subtree (from its open to its close token) out of the walk and returns them.
+     */
+    private Token cut(Node node) {
+        int from = rank(node.open);
+        int to = rank(node.close);
+        Token[] before = split(root, from);
+        Token[] rest = split(before[1], to - from + 1);
+        root = merge(before[0], rest[1]);
+        return rest[0];
+    }
+
+    /**
+     * Inserts a sequence of tokens into the walk, so that it starts at the given position.
+     */
+    private void insert(Token tokens, int position) {
+        Token[] parts = split(root, position);
+        root = merge(merge(parts[0], tokens), parts[1]);
+    }
+
+    /**
+     * Returns the position of the token in the walk.
+     */
+    private static int rank(Token token) {
+        int rank = size(token.left);
+        for (Token child = token, parent = token.parent; parent != null; child = parent, parent = parent.parent) {
+            if (parent.right == child) {
+                rank += size(parent.left) + 1;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the sum of the values of all tokens before the given one: the number of managers around it.
+     */
+    private static int balanceBefore(Token token) {
+        int balance = balance(token.left);
+        for (Token child = token, parent = token.parent; parent != null; child = parent, parent = parent.parent) {
+            if (parent.right == child) {
+                balance += balance(parent.left) + parent.value;
+            }
+        }
+        return balance;
+    }
+
+    /**
+     * Returns the token after the given one in the walk, or null at the end.
+     */
+    private static Token next(Token token) {
+        if (token.right != null) {
+            Token next = token.right;
+            while (next.left != null) {
+                next = next.left;
+            }
+            return next;
+        }
+        Token child = token;
+        while (child.parent != null && child.parent.right == child) {
+            child = child.parent;
+        }
+        return child.parent;
+    }
+
+    /**
+     * Splits a treap into its first count tokens and the rest.
+     */
+    private static Token[] split(Token treap, int count) {
+        Token[] parts = new Token[2];
+        split(treap, count, parts);
+        for (Token part : parts) {
+            if (part != null) {
+                part.parent = null;
+            }
+        }
+        return parts;
+    }
+
+    private static void split(Token treap, int count, Token[] parts) {
+        if (treap == null) {
+            parts[0] = null;
+            parts[1] = null;
+            return;
+        }
+        if (size(treap.left) < count) {
+            split(treap.right, count - size(treap.left) - 1, parts);
+            treap.right = parts[0];
+            if (treap.right != null) {
+                treap.right.parent = treap;
+            }
+            treap.update();
+            parts[0] = treap;
+        } else {
+            split(treap.left, count, parts);
+            treap.left = parts[1];
+            if (treap.left != null) {
+                treap.left.parent = treap;
+            }
+            treap.update();
+            parts[1] = treap;
+        }
+    }
+
+    /**
+     * Joins two treaps: all tokens of the first one come before those of the second one.
+     */
+    private static Token merge(Token first, Token second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            first.right.parent = first;
+            first.update();
+            first.parent = null;
+            return first;
+        }
+        second.left = merge(first, second.left);
+        second.left.parent = second;
+        second.update();
+        second.parent = null;
+        return second;
+    }
+
+    private static int size(Token token) {
+        return token != null ? token.size : 0;
+    }
+
+    private static int balance(Token token) {
+        return token != null ? token.balance : 0;
+    }
+}
@@ -0,0 +1,97 @@
+package service;
+
+import model.Employee;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * HierarchyReport class: The outcome of HierarchyValidator.
+ * It lists every problem found in the reporting structure and every cycle, in the order they were found.
+ */
+public class HierarchyReport {
+    /**
+     * The kinds of problems the validator finds.
+     */
+    public enum ProblemType {
+        DUPLICATE_ID(true),
+        MISSING_MANAGER(true), // The manager ID is neither in the checked employees nor in the system (orphan)
+        CYCLE(true), // The employee reports (directly or indirectly) to themselves
+        BELOW_INVALID_MANAGER(true), // A manager further up has one of the problems above
+        STALE_MANAGER_REFERENCE(false); // The manager object is not the one stored under its ID (e.g. an old copy)
+
+        private final boolean invalidatesEmployee;
+
+        ProblemType(boolean invalidatesEmployee) {
+            this.invalidatesEmployee = invalidatesEmployee;
+        }
+
+        /**
+         * Returns true if an employee with this problem cannot be added as it is.
+         * A stale reference is only a warning: pointing the employee to the stored manager fixes it.
+         */
+        public boolean invalidatesEmployee() {
+            return invalidatesEmployee;
+        }
+    }
+
+    /**
+     * One problem of one employee.
+     */
+    public record Problem(ProblemType type, Employee employee, String message) {
+    }
+
+    private final List<Problem> problems;
+    private final List<List<Employee>> cycles;
+    private final Set<String> invalidIds = new LinkedHashSet<>();
+
+    HierarchyReport(List<Problem> problems, List<List<Employee>> cycles) {
+        this.problems = Collections.unmodifiableList(problems);
+        this.cycles = Collections.unmodifiableList(cycles);
+        for (Problem problem : problems) {
+            if (problem.type().invalidatesEmployee()) {
+                invalidIds.add(problem.employee().getId());
+            }
+        }
+    }
+
+    public List<Problem> getProblems() {
+        return problems;
+    }
+
+    /**
+     * Returns every cycle once, as the employees in reporting order (each one reports to the next,
+     * and the last one to the first).
+     */
+    public List<List<Employee>> getCycles() {
+        return cycles;
+    }
+
+    /**
+     * Returns the IDs of all employees that have a problem other than a stale reference.
+     */
+    public Set<String> getInvalidIds() {
+        return Collections.unmodifiableSet(invalidIds);
+    }
+
+    public boolean isValid(String employeeId) {
+        return !invalidIds.contains(employeeId);
+    }
+
+    /**
+     * Returns true if no problem at all was found.
+     */
+    public boolean isValid() {
+        return problems.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "HierarchyReport{" +
+                "problems=" + problems.size() +
+                ", cycles=" + cycles.size() +
+                ", invalid=" + invalidIds.size() +
+                '}';
+    }
+}
@@ -0,0 +1,142 @@
+package service;
+
+import model.Employee;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * HierarchyValidator class: Checks the reporting structure of many employees at once, e.g. a whole roster
+ * or a large import, before it is committed.
+ * It finds every cycle (including employees who are their own manager), every employee whose manager does
+ * not exist, everyone who reports to such an employee, and manager references that point to an old copy
+ * instead of the stored employee.
+ *
+ * The check takes linear time: each employee is followed up its management chain until an employee that
+ * was already checked is reached ("DFS coloring" of the manager links: unchecked, on the current path, done).
+ * An employee on the current path that is reached again closes a cycle. No recursion is used, so
+ * very deep hierarchies are fine.
+ */
+public class HierarchyValidator {
+    private static final int VALID = -1;
+    private static final int INVALID = -2;
+    private static final int MAX_DESCRIBED_MEMBERS = 10;
+    // Any value >= 0 means "on the current path, at this index"
+
+    // Private constructor, as all methods are static.
+    private HierarchyValidator() {
+    }
+
+    /**
+     * Checks a complete roster: every manager must be one of the given employees.
+     */
+    public static HierarchyReport validate(Collection<? extends Employee> roster) {
+        return validate(roster, id -> null);
+    }
+
+    /**
+     * Checks a batch of new or changed employees against the employees that already exist.
+     * Managers are looked up in the batch first (so a changed employee replaces the existing one),
+     * then through existingById, which returns null for unknown IDs.
+     */
+    public static HierarchyReport validate(Collection<? extends Employee> batch, Function<String, Employee> existingById) {
+        List<HierarchyReport.Problem> problems = new ArrayList<>();
+        List<List<Employee>> cycles = new ArrayList<>();
+
+        // 1. ID index of the batch; later rows with a known ID are duplicates
+        Map<String, Employee> batchById = new LinkedHashMap<>();
+        for (Employee employee : batch) {
+            if (batchById.putIfAbsent(employee.getId(), employee) != null) {
+                problems.add(new HierarchyReport.Problem(HierarchyReport.ProblemType.DUPLICATE_ID, employee,
+                        "Duplicate employee ID " + employee.getId() + " in batch."));
+            }
+        }
+
+        // 2. Follow every employee up to a checked one (or the top), then mark the whole path at once
+        Map<String, Integer> state = new HashMap<>(batchById.size() * 4 / 3 + 1);
+        List<Employee> path = new ArrayList<>();
+        for (Employee start : batchById.values()) {
+            if (state.containsKey(start.getId())) {
+                continue;
+            }
+            path.clear();
+            boolean valid = true;
+            int firstInvalid = 0; // If not valid: path index from which the employees have a problem of their own
+            Employee current = start;
+            while (current != null) {
+                Integer currentState = state.get(current.getId());
+                if (currentState != null) {
+                    if (currentState >= 0) {
+                        // Reached the current path again: everything from there on is a cycle
+                        List<Employee> cycle = List.copyOf(path.subList(currentState, path.size()));
+                        cycles.add(cycle);
+                        String description = describe(cycle);
+                        for (Employee member : cycle) {
+                            problems.add(new HierarchyReport.Problem(HierarchyReport.ProblemType.CYCLE, member,
+                                    "Employee " + member.getId() + " is part of a reporting cycle: " + description + "."));
+                        }
+                        firstInvalid = currentState;
+                        valid = false;
+                    } else if (currentState == INVALID) {
+                        firstInvalid = path.size();
+                        valid = false;
+                    }
+                    break;
+                }
+                state.put(current.getId(), path.size());
+                path.add(current);
+
+                Employee manager = current.getManager();
+                if (manager == null) {
+                    break; // Top of the organization
+                }
+                Employee resolved = batchById.get(manager.getId());
+                if (resolved == null) {
+                    resolved = existingById.apply(manager.getId());
+                }
+                if (resolved == null) {
+                    problems.add(new HierarchyReport.Problem(HierarchyReport.ProblemType.MISSING_MANAGER, current,
+                            "Manager with ID " + manager.getId() + " not found."));
+                    firstInvalid = path.size() - 1;
+                    valid = false;
+                    break;
+                }
+                if (resolved != manager) {
+                    problems.add(new HierarchyReport.Problem(HierarchyReport.ProblemType.STALE_MANAGER_REFERENCE, current,
+                            "Manager of " + current.getId() + " is not the current employee with ID " + manager.getId() + "."));
+                }
+                current = resolved;
+            }
+
+            // If the chain is broken, everyone below the broken part of this path is invalid too
+            for (int i = 0; i < path.size(); i++) {
+                Employee employee = path.get(i);
+                if (!valid && i < firstInvalid) {
+                    problems.add(new HierarchyReport.Problem(HierarchyReport.ProblemType.BELOW_INVALID_MANAGER, employee,
+                            "Manager with ID " + employee.getManager().getId() + " is not valid."));
+                }
+                state.put(employee.getId(), valid ? VALID : INVALID);
+            }
+        }
+        return new HierarchyReport(problems, cycles);
+    }
+
+    /**
+     * "A -> B -> C -> A" for the cycle [A, B, C]. Long cycles are shortened, because the description
+     * is part of the message of every member.
+     */
+    private static String describe(List<Employee> cycle) {
+        StringBuilder description = new StringBuilder();
+        for (Employee member : cycle.subList(0, Math.min(cycle.size(), MAX_DESCRIBED_MEMBERS))) {
+            description.append(member.getId()).append(" -> ");
+        }
+        if (cycle.size() > MAX_DESCRIBED_MEMBERS) {
+            description.append("... (").append(cycle.size()).append(" employees) -> ");
+        }
+        return description.append(cycle.get(0).getId()).toString();
+    }
+}
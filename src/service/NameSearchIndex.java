@@ -0,0 +1,356 @@
+package service;
+
+import model.Employee;
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * NameSearchIndex class: Finds employees by name while the user is still typing (autocomplete).
+ * All names are kept in a trie (a tree with one character per level), so every name that starts with
+ * the typed text sits below a single node. The first name, the last name and both full-name orders
+ * ("Anna Schmidt" and "Schmidt Anna") are indexed, and search ignores case and accents ("muller" finds "Müller").
+ *
+ * Results are ranked: exact names first, then names that start with the text (shorter names first),
+ * then names with one or two typos ("Schmitd" finds "Schmidt"). Only the best results are collected,
+ * so a search does not slow down with the number of employees.
+ * The index is updated incrementally by the EmployeeStore; searches may run on any thread.
+ */
+public class NameSearchIndex implements EmployeeStoreListener {
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+    // Typos are only allowed from this query length on, because short texts would match almost everything.
+    private static final int MIN_LENGTH_FOR_ONE_TYPO = 3;
+    private static final int MIN_LENGTH_FOR_TWO_TYPOS = 6;
+
+    /**
+     * A node of the trie. Children are kept in sorted arrays, which needs far less memory than a map per node.
+     */
+    private static final class Node {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+        int depth;
+        // Employees (by ID, in the order they were indexed) whose name ends at this node; null if there are none.
+        LinkedHashMap<String, Employee> employees;
+
+        Node child(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node addChild(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            Node child = new Node();
+            child.depth = depth + 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = key;
+            newChildren[insertAt] = child;
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+
+        void removeChild(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index < 0) {
+                return;
+            }
+            if (keys.length == 1) {
+                keys = NO_KEYS;
+                children = NO_CHILDREN;
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        boolean isEmpty() {
+            return employees == null && keys.length == 0;
+        }
+    }
+
+    /**
+     * A trie node that matched a query with typos: all names below it are results with that many typos.
+     */
+    private record FuzzyMatch(Node node, int typos) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root = new Node();
+    // Employee ID -> the names the employee is indexed under, so they can be removed after a change
+    private final Map<String, String[]> namesById = new HashMap<>();
+
+    /**
+     * Returns up to limit employees whose first name, last name or full name starts with the given text,
+     * best matches first. If there are not enough such employees, names with typos are added.
+     */
+    public List<Employee> search(String text, int limit) {
+        String query = normalize(text);
+        if (query == null || query.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Map<String, Employee> results = new LinkedHashMap<>(); // An employee may match through several names
+        lock.readLock().lock();
+        try {
+            // 1. Names that start with the query, level by level (exact names first, then shorter ones)
+            Node node = root;
+            for (int i = 0; i < query.length() && node != null; i++) {
+                node = node.child(query.charAt(i));
+            }
+            if (node != null) {
+                collect(node, results, limit);
+            }
+            // 2. Names with typos, fewest typos first
+            int maxTypos = query.length() >= MIN_LENGTH_FOR_TWO_TYPOS ? 2 : query.length() >= MIN_LENGTH_FOR_ONE_TYPO ? 1 : 0;
+            if (results.size() < limit && maxTypos > 0) {
+                List<FuzzyMatch> matches = new ArrayList<>();
+                int[] firstRow = new int[query.length() + 1];
+                for (int i = 0; i < firstRow.length; i++) {
+                    firstRow[i] = i;
+                }
+                findWithTypos(root, query, firstRow, maxTypos, matches);
+                // Fewest typos first, then names whose length is closest to the query
+                matches.sort(Comparator.comparingInt(FuzzyMatch::typos)
+                        .thenComparingInt(match -> Math.abs(match.node().depth - query.length())));
+                for (FuzzyMatch match : matches) {
+                    if (results.size() >= limit) {
+                        break;
+                    }
+                    collect(match.node(), results, limit);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new ArrayList<>(results.values());
+    }
+
+    /**
+     * Walks the trie below the given node level by level and collects employees until the limit is reached.
+     */
+    private static void collect(Node start, Map<String, Employee> results, int limit) {
+        Deque<Node> queue = new ArrayDeque<>();
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            if (node.employees != null) {
+                for (Employee employee : node.employees.values()) {
+                    results.putIfAbsent(employee.getId(), employee);
+                    if (results.size() >= limit) {
+                        return;
+                    }
+                }
+            }
+            queue.addAll(Arrays.asList(node.children));
+        }
+    }
+
+    /**
+     * Finds trie nodes whose text is within maxTypos edits of the query (Levenshtein distance, one row per trie level).
+     * A node is a match when its whole text is close to the query; all names below it are then found as well.
+     * Branches that can no longer match are skipped, so the walk never goes deeper than the query length plus maxTypos.
+     * Nodes without typos are left out, because the prefix search has already returned them.
+     */
+    private static void findWithTypos(Node parent, String query, int[] parentRow, int maxTypos, List<FuzzyMatch> matches) {
+        for (int i = 0; i < parent.keys.length; i++) {
+            if (parent.keys[i] == ' ' && query.indexOf(' ') < 0) {
+                continue; // A single word is only matched against single names, not across into a full name
+            }
+            findWithTypos(parent.children[i], parent.keys[i], query, parentRow, maxTypos, matches);
+        }
+    }
+
+    private static void findWithTypos(Node node, char key, String query, int[] previousRow, int maxTypos, List<FuzzyMatch> matches) {
+        int[] row = new int[previousRow.length];
+        row[0] = previousRow[0] + 1;
+        int best = row[0];
+        for (int i = 1; i < row.length; i++) {
+            int replace = previousRow[i - 1] + (query.charAt(i - 1) == key ? 0 : 1);
+            row[i] = Math.min(replace, Math.min(row[i - 1] + 1, previousRow[i] + 1));
+            best = Math.min(best, row[i]);
+        }
+        int typos = row[row.length - 1];
+        if (typos > 0 && typos <= maxTypos) {
+            matches.add(new FuzzyMatch(node, typos)); // Longer names below may still match with fewer typos
+        }
+        if (best > maxTypos) {
+            return; // Every longer text has even more typos
+        }
+        findWithTypos(node, query, row, maxTypos, matches);
+    }
+
+    @Override
+    public void onAdd(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            index(employee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onRemove(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            unindex(employee.getId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onClear() {
+        lock.writeLock().lock();
+        try {
+            root = new Node();
+            namesById.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onReplace(Employee oldEmployee, Employee updatedEmployee) {
+        lock.writeLock().lock();
+        try {
+            unindex(oldEmployee.getId());
+            index(updatedEmployee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onNameChanged(Employee employee, String oldFirstName, String oldLastName) {
+        onReplace(employee, employee);
+    }
+
+    private void index(Employee employee) {
+        String[] names = namesOf(employee);
+        namesById.put(employee.getId(), names);
+        for (String name : names) {
+            Node node = root;
+            for (int i = 0; i < name.length(); i++) {
+                node = node.addChild(name.charAt(i));
+            }
+            if (node.employees == null) {
+                node.employees = new LinkedHashMap<>();
+            }
+            node.employees.put(employee.getId(), employee);
+        }
+    }
+
+    private void unindex(String employeeId) {
+        String[] names = namesById.remove(employeeId);
+        if (names == null) {
+            return;
+        }
+        for (String name : names) {
+            unindex(employeeId, name);
+        }
+    }
+
+    private void unindex(String employeeId, String name) {
+        Node[] path = new Node[name.length() + 1]; // The nodes from the root down to the end of the name
+        path[0] = root;
+        for (int i = 0; i < name.length(); i++) {
+            path[i + 1] = path[i].child(name.charAt(i));
+            if (path[i + 1] == null) {
+                return;
+            }
+        }
+        Node node = path[name.length()];
+        if (node.employees != null) {
+            node.employees.remove(employeeId);
+            if (node.employees.isEmpty()) {
+                node.employees = null;
+            }
+        }
+        // On the way back up, remove the nodes below which no name ends any more
+        for (int i = name.length(); i > 0 && path[i].isEmpty(); i--) {
+            path[i - 1].removeChild(name.charAt(i - 1));
+        }
+    }
+
+    /**
+     * Returns the number of nodes in the trie, including the root.
+     */
+    int nodeCount() {
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            Deque<Node> stack = new ArrayDeque<>();
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                Node node = stack.pop();
+                count++;
+                for (Node child : node.children) {
+                    stack.push(child);
+                }
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The normalized names an employee can be found by: first name, last name, and both full-name orders.
+     */
+    private static String[] namesOf(Employee employee) {
+        String first = normalize(employee.getFirstName());
+        String last = normalize(employee.getLastName());
+        List<String> names = new ArrayList<>(4);
+        if (first != null && !first.isEmpty()) {
+            names.add(first);
+        }
+        if (last != null && !last.isEmpty() && !last.equals(first)) {
+            names.add(last);
+        }
+        if (names.size() == 2) {
+            names.add(first + " " + last);
+            names.add(last + " " + first);
+        }
+        return names.toArray(new String[0]);
+    }
+
+    /**
+     * Lower case without accents and with single spaces, so "  Jürgen  MÜLLER " becomes "jurgen muller".
+     */
+    static String normalize(String name) {
+        if (name == null) {
+            return null;
+        }
+        String withoutAccents = ACCENTS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        return SPACES.matcher(withoutAccents.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
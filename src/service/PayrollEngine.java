@@ -0,0 +1,149 @@
+package service;
+
+import model.Department;
+import model.Employee;
+import strategy.SalaryStrategyRegistry;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * PayrollEngine class: Calculates the salaries of many employees at once.
+ * The roster is split into chunks that are calculated in parallel with the fork/join framework.
+ * Every chunk also adds up its own department and company totals in plain double arrays, and the chunk totals
+ * are combined in roster order. The result therefore only depends on the roster and the chunk size, never on
+ * how the tasks were scheduled; compared with adding one employee after another, only the rounding of the
+ * totals can differ.
+ * Salaries are calculated with the strategies of a SalaryStrategyRegistry.
+ */
+public class PayrollEngine {
+    // Number of employees one task calculates without splitting further.
+    private static final int DEFAULT_CHUNK_SIZE = 4096;
+
+    private final SalaryStrategyRegistry salaryStrategies;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    /**
+     * Creates an engine that runs on the common fork/join pool (one worker per core).
+     */
+    public PayrollEngine(SalaryStrategyRegistry salaryStrategies) {
+        this(salaryStrategies, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public PayrollEngine(SalaryStrategyRegistry salaryStrategies, ForkJoinPool pool, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1.");
+        }
+        this.salaryStrategies = salaryStrategies;
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Calculates the salaries of the given employees and returns them with department and company totals.
+     */
+    public PayrollResult run(List<Employee> employees) {
+        Employee[] roster = employees.toArray(new Employee[0]);
+        double[] amounts = new double[roster.length];
+
+        // Chunks are independent, so they can run on all cores
+        PayrollTask task = new PayrollTask(salaryStrategies, roster, amounts, 0, roster.length, chunkSize);
+        Totals totals = roster.length <= chunkSize
+                ? task.compute() // Too small to be worth handing over to the pool
+                : pool.invoke(task);
+
+        Map<Department, Double> departmentTotals = new LinkedHashMap<>();
+        for (int i = 0; i < totals.count; i++) {
+            departmentTotals.put(totals.departments[i], totals.amounts[i]);
+        }
+        return new PayrollResult(Arrays.asList(roster), amounts, departmentTotals, totals.companyTotal);
+    }
+
+    /**
+     * The totals of a part of the roster. Department number i is departments[i] and its total is amounts[i];
+     * departments are numbered in the order they first appear, so a roster has only as many as it uses.
+     */
+    private static final class Totals {
+        private Department[] departments = new Department[4];
+        private double[] amounts = new double[4];
+        private int count;
+        private double companyTotal;
+
+        void add(Department department, double amount) {
+            int number = numberOf(department);
+            amounts[number] += amount;
+            companyTotal += amount;
+        }
+
+        /**
+         * Adds the totals of the part of the roster right after this one.
+         */
+        void addAll(Totals next) {
+            for (int i = 0; i < next.count; i++) {
+                amounts[numberOf(next.departments[i])] += next.amounts[i];
+            }
+            companyTotal += next.companyTotal;
+        }
+
+        private int numberOf(Department department) {
+            // A company has only a handful of departments, so a scan beats hashing every employee's department
+            for (int i = 0; i < count; i++) {
+                if (departments[i] == department || (department != null && department.equals(departments[i]))) {
+                    return i;
+                }
+            }
+            if (count == departments.length) {
+                departments = Arrays.copyOf(departments, count * 2);
+                amounts = Arrays.copyOf(amounts, count * 2);
+            }
+            departments[count] = department;
+            return count++;
+        }
+    }
+
+    /**
+     * Calculates the amounts of the employees in [from, to) and returns their totals,
+     * splitting the range in half while it is too large.
+     * RecursiveTask is Serializable, but the tasks are never serialized.
+     */
+    @SuppressWarnings("serial")
+    private static class PayrollTask extends RecursiveTask<Totals> {
+        private final SalaryStrategyRegistry salaryStrategies;
+        private final Employee[] roster;
+        private final double[] amounts;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        PayrollTask(SalaryStrategyRegistry salaryStrategies, Employee[] roster, double[] amounts, int from, int to, int chunkSize) {
+            this.salaryStrategies = salaryStrategies;
+            this.roster = roster;
+            this.amounts = amounts;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (to - from <= chunkSize) {
+                salaryStrategies.calculate(roster, amounts, from, to);
+                Totals totals = new Totals();
+                for (int i = from; i < to; i++) {
+                    totals.add(roster[i].getDepartment(), amounts[i]);
+                }
+                return totals;
+            }
+            int middle = (from + to) >>> 1;
+            PayrollTask right = new PayrollTask(salaryStrategies, roster, amounts, middle, to, chunkSize);
+            right.fork();
+            Totals totals = new PayrollTask(salaryStrategies, roster, amounts, from, middle, chunkSize).compute();
+            totals.addAll(right.join()); // Left before right keeps the roster order
+            return totals;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package service;
+
+import model.Department;
+import model.Employee;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Formatter;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PayrollResult class: The outcome of one payroll run.
+ * It holds the calculated amount of every employee (in roster order) together with the totals
+ * per department and for the whole company. Formatting is a separate step (see writeTo).
+ */
+public class PayrollResult {
+    private final List<Employee> employees;
+    private final double[] amounts; // amounts[i] belongs to employees.get(i)
+    private final Map<Department, Double> departmentTotals;
+    private final double companyTotal;
+
+    PayrollResult(List<Employee> employees, double[] amounts, Map<Department, Double> departmentTotals, double companyTotal) {
+        this.employees = Collections.unmodifiableList(employees);
+        this.amounts = amounts;
+        this.departmentTotals = Collections.unmodifiableMap(departmentTotals);
+        this.companyTotal = companyTotal;
+    }
+
+    /**
+     * Returns the number of employees in this payroll run.
+     */
+    public int size() {
+        return amounts.length;
+    }
+
+    /**
+     * Returns the employees of this payroll run in roster order.
+     */
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    /**
+     * Returns the calculated amount of the employee at the given position.
+     */
+    public double getAmount(int index) {
+        return amounts[index];
+    }
+
+    /**
+     * Returns the total amount per department, in the order the departments first appear in the roster.
+     */
+    public Map<Department, Double> getDepartmentTotals() {
+        return departmentTotals;
+    }
+
+    public double getCompanyTotal() {
+        return companyTotal;
+    }
+
+    /**
+     * Writes one line per employee into the given Appendable (e.g. a buffered Writer).
+     * The lines look exactly like the ones HRManager has always printed.
+     */
+    public void writeTo(Appendable out) throws IOException {
+        Formatter formatter = new Formatter(out);
+        for (int i = 0; i < amounts.length; i++) {
+            Employee emp = employees.get(i);
+            formatter.format("%s %s (ID: %s) - Calculated Salary: %.2f€%n",
+                    emp.getFirstName(), emp.getLastName(), emp.getId(), amounts[i]);
+        }
+        if (formatter.ioException() != null) {
+            throw formatter.ioException(); // Formatter keeps I/O errors instead of throwing them
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package service;
+
+import model.Employee;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * ReportingIndex class: Maps each manager ID to the employees who report directly to that manager.
+ * It is updated incrementally by the EmployeeStore, so finding someone's subordinates costs O(1)
+ * instead of a scan over all employees.
+ * Changes arrive one at a time (under the store's write lock); the lookups may be used from any thread.
+ */
+public class ReportingIndex implements EmployeeStoreListener {
+    /**
+     * Where an employee is currently listed: under which manager, and at which position.
+     */
+    private record Link(String managerId, long sequence) {
+    }
+
+    // Employee ID -> where the employee is listed. Used to find the entry again when it has to be moved.
+    private final Map<String, Link> links = new ConcurrentHashMap<>();
+    // Manager ID -> (position -> employee). The positions keep the reports in the order they were added.
+    private final Map<String, ConcurrentSkipListMap<Long, Employee>> reportsByManager = new ConcurrentHashMap<>();
+    // Employees without a manager (the top of the organization chart), in the order they were added.
+    private final ConcurrentSkipListMap<Long, Employee> topLevelEmployees = new ConcurrentSkipListMap<>();
+    private long nextSequence;
+
+    @Override
+    public void onAdd(Employee employee) {
+        link(employee);
+    }
+
+    @Override
+    public void onRemove(Employee employee) {
+        unlink(employee.getId());
+    }
+
+    @Override
+    public void onClear() {
+        links.clear();
+        reportsByManager.clear();
+        topLevelEmployees.clear();
+    }
+
+    @Override
+    public void onReplace(Employee oldEmployee, Employee updatedEmployee) {
+        Link link = links.get(updatedEmployee.getId());
+        if (link != null && Objects.equals(link.managerId(), managerId(updatedEmployee.getManager()))) {
+            // Same manager: overwrite the entry so the employee keeps its position among the reports.
+            reportsOf(link.managerId()).put(link.sequence(), updatedEmployee);
+            return;
+        }
+        unlink(updatedEmployee.getId());
+        link(updatedEmployee);
+    }
+
+    @Override
+    public void onManagerChanged(Employee employee, Employee oldManager, Employee newManager) {
+        // Always follow the employee's current manager, in case another thread changed it again meanwhile.
+        Link link = links.get(employee.getId());
+        if (link != null && Objects.equals(link.managerId(), managerId(employee.getManager()))) {
+            return;
+        }
+        unlink(employee.getId());
+        link(employee);
+    }
+
+    /**
+     * Returns a read-only view of the employees who report directly to the given manager.
+     */
+    public Collection<Employee> getDirectReports(String managerId) {
+        Map<Long, Employee> reports = reportsByManager.get(managerId);
+        return reports == null ? Collections.emptyList() : Collections.unmodifiableCollection(reports.values());
+    }
+
+    /**
+     * Returns a read-only view of the employees who have no manager.
+     */
+    public Collection<Employee> getTopLevelEmployees() {
+        return Collections.unmodifiableCollection(topLevelEmployees.values());
+    }
+
+    /**
+     * Checks whether anyone reports directly to the given manager.
+     */
+    public boolean hasDirectReports(String managerId) {
+        Map<Long, Employee> reports = reportsByManager.get(managerId);
+        return reports != null && !reports.isEmpty();
+    }
+
+    private void link(Employee employee) {
+        String managerId = managerId(employee.getManager());
+        long sequence = nextSequence++;
+        reportsOf(managerId).put(sequence, employee);
+        links.put(employee.getId(), new Link(managerId, sequence));
+    }
+
+    private void unlink(String employeeId) {
+        Link link = links.remove(employeeId);
+        if (link == null) {
+            return;
+        }
+        if (link.managerId() == null) {
+            topLevelEmployees.remove(link.sequence());
+            return;
+        }
+        Map<Long, Employee> reports = reportsByManager.get(link.managerId());
+        if (reports != null) {
+            reports.remove(link.sequence());
+            if (reports.isEmpty()) {
+                reportsByManager.remove(link.managerId()); // Do not keep empty maps for former managers
+            }
+        }
+    }
+
+    private ConcurrentSkipListMap<Long, Employee> reportsOf(String managerId) {
+        if (managerId == null) {
+            return topLevelEmployees;
+        }
+        return reportsByManager.computeIfAbsent(managerId, id -> new ConcurrentSkipListMap<>());
+    }
+
+    private static String managerId(Employee manager) {
+        return manager != null ? manager.getId() : null;
+    }
+}
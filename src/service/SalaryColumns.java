@@ -0,0 +1,453 @@
+package service;
+
+import model.Department;
+import model.Employee;
+import model.EmployeeRole;
+import model.PartTimeEmployee;
+import strategy.SalaryStrategyRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * SalaryColumns class: Keeps the numbers needed for payroll and salary statistics in plain arrays,
+ * one array ("column") per field and one row per employee, updated incrementally by the EmployeeStore.
+ * Totals, averages and histograms are then simple loops over a double[] instead of visiting every
+ * Employee object, so they are fast even for millions of employees and allocate nothing.
+ *
+ * Rows are packed: when an employee is removed, the last row moves into the gap.
+ * Readers first try without locking (StampedLock optimistic read) and only lock if a change happened meanwhile.
+ */
+public class SalaryColumns implements EmployeeStoreListener {
+    private static final int NONE = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final SalaryStrategyRegistry salaryStrategies;
+    private final ReportingIndex reportingIndex;
+    private final StampedLock lock = new StampedLock();
+
+    private int size;
+    private Employee[] employees = new Employee[INITIAL_CAPACITY]; // Needed to recalculate pay after a strategy change
+    private double[] pay = new double[INITIAL_CAPACITY]; // Monthly amount as calculated by the salary strategies
+    private double[] baseSalary = new double[INITIAL_CAPACITY];
+    private double[] hourlyRate = new double[INITIAL_CAPACITY]; // 0 for full-time employees
+    private double[] hoursWorked = new double[INITIAL_CAPACITY]; // 0 for full-time employees
+    private int[] departmentOrdinal = new int[INITIAL_CAPACITY];
+    private int[] roleOrdinal = new int[INITIAL_CAPACITY];
+    private int[] managerRow = new int[INITIAL_CAPACITY]; // Row of the manager, or NONE
+    private volatile int payVersion; // Version of the salary strategies the pay column was calculated with
+
+    private final Map<String, Integer> rowsById = new HashMap<>();
+    // Department -> ordinal. Departments are only added, so an ordinal never changes meaning.
+    private final Map<Department, Integer> departmentOrdinals = new HashMap<>();
+    private final List<Department> departments = new ArrayList<>();
+
+    /**
+     * Creates empty columns. The salary strategies calculate the pay column; the reporting index is used to
+     * keep the manager column up to date when rows move.
+     */
+    SalaryColumns(SalaryStrategyRegistry salaryStrategies, ReportingIndex reportingIndex) {
+        this.salaryStrategies = salaryStrategies;
+        this.reportingIndex = reportingIndex;
+        this.payVersion = salaryStrategies.getVersion();
+    }
+
+    /**
+     * Returns the number of employees (rows).
+     */
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int rows = size;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                rows = size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Returns the sum of the monthly pay of all employees (the payroll total).
+     * The sum is built in four independent parts, which lets the CPU add several values at once;
+     * the last digits may therefore differ slightly from adding the amounts one by one.
+     */
+    public double totalPay() {
+        refreshPay();
+        long stamp = lock.tryOptimisticRead();
+        double total = sum(pay, size);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                total = sum(pay, size);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Returns the average monthly pay, or 0 if there are no employees.
+     */
+    public double averagePay() {
+        refreshPay();
+        long stamp = lock.readLock(); // Total and size must belong together
+        try {
+            return size == 0 ? 0.0 : sum(pay, size) / size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the sum of the base salaries of all employees.
+     */
+    public double totalBaseSalary() {
+        long stamp = lock.tryOptimisticRead();
+        double total = sum(baseSalary, size);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                total = sum(baseSalary, size);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Counts the employees per pay range: buckets of equal width between min and max.
+     * Pay below min is counted in the first bucket, pay of max or more in the last one.
+     */
+    public long[] payHistogram(double min, double max, int buckets) {
+        if (buckets <= 0 || !(max > min)) {
+            throw new IllegalArgumentException("Need at least one bucket and max > min.");
+        }
+        refreshPay();
+        long[] counts = new long[buckets];
+        long stamp = lock.tryOptimisticRead();
+        histogram(pay, size, min, max, counts);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                histogram(pay, size, min, max, counts);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the total monthly pay per department. Employees without a department are left out.
+     */
+    public Map<Department, Double> payByDepartment() {
+        refreshPay();
+        long stamp = lock.readLock();
+        try {
+            double[] totals = new double[departments.size()];
+            double[] payColumn = pay;
+            int[] departmentColumn = departmentOrdinal;
+            for (int row = 0; row < size; row++) {
+                int department = departmentColumn[row];
+                if (department != NONE) {
+                    totals[department] += payColumn[row];
+                }
+            }
+            Map<Department, Double> result = new LinkedHashMap<>();
+            for (int i = 0; i < totals.length; i++) {
+                if (totals[i] != 0.0) {
+                    result.put(departments.get(i), totals[i]);
+                }
+            }
+            return result;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the number of employees with the given role.
+     */
+    public int countByRole(EmployeeRole role) {
+        long stamp = lock.readLock();
+        try {
+            int[] roleColumn = roleOrdinal;
+            int wanted = role.ordinal();
+            int count = 0;
+            for (int row = 0; row < size; row++) {
+                if (roleColumn[row] == wanted) {
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the total monthly pay of the employees who report directly to the given manager.
+     */
+    public double payOfDirectReports(String managerId) {
+        refreshPay();
+        long stamp = lock.readLock();
+        try {
+            Integer manager = rowsById.get(managerId);
+            if (manager == null) {
+                return 0.0;
+            }
+            double total = 0.0;
+            double[] payColumn = pay;
+            int[] managerColumn = managerRow;
+            for (int row = 0; row < size; row++) {
+                if (managerColumn[row] == manager) {
+                    total += payColumn[row];
+                }
+            }
+            return total;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Adds the first rows of a column in four parts. The length is taken from the array as well,
+     * so a stale size read without the lock can never run past the end.
+     */
+    private static double sum(double[] column, int rows) {
+        int n = Math.min(rows, column.length);
+        double a = 0.0;
+        double b = 0.0;
+        double c = 0.0;
+        double d = 0.0;
+        int i = 0;
+        for (; i + 3 < n; i += 4) {
+            a += column[i];
+            b += column[i + 1];
+            c += column[i + 2];
+            d += column[i + 3];
+        }
+        for (; i < n; i++) {
+            a += column[i];
+        }
+        return (a + b) + (c + d);
+    }
+
+    private static void histogram(double[] column, int rows, double min, double max, long[] counts) {
+        Arrays.fill(counts, 0);
+        int n = Math.min(rows, column.length);
+        int last = counts.length - 1;
+        double scale = counts.length / (max - min);
+        for (int i = 0; i < n; i++) {
+            int bucket = (int) ((column[i] - min) * scale);
+            counts[bucket < 0 ? 0 : Math.min(bucket, last)]++;
+        }
+    }
+
+    /**
+     * Recalculates the pay column if a salary strategy has been registered since it was calculated.
+     */
+    private void refreshPay() {
+        if (payVersion == salaryStrategies.getVersion()) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            int version = salaryStrategies.getVersion();
+            if (payVersion == version) {
+                return; // Another reader recalculated while this one waited for the lock
+            }
+            salaryStrategies.calculate(employees, pay, 0, size);
+            payVersion = version;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void onAdd(Employee employee) {
+        long stamp = lock.writeLock();
+        try {
+            addRow(employee);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void onRemove(Employee employee) {
+        long stamp = lock.writeLock();
+        try {
+            Integer removed = rowsById.remove(employee.getId());
+            if (removed == null) {
+                return;
+            }
+            int last = --size;
+            // Reports of the removed employee no longer have a manager row
+            for (Employee report : reportingIndex.getDirectReports(employee.getId())) {
+                Integer reportRow = rowsById.get(report.getId());
+                if (reportRow != null) {
+                    managerRow[reportRow] = NONE;
+                }
+            }
+            if (removed != last) {
+                moveRow(last, removed);
+            }
+            employees[last] = null;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void onClear() {
+        long stamp = lock.writeLock();
+        try {
+            Arrays.fill(employees, 0, size, null);
+            size = 0;
+            rowsById.clear();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void onReplace(Employee oldEmployee, Employee updatedEmployee) {
+        long stamp = lock.writeLock();
+        try {
+            Integer row = rowsById.get(updatedEmployee.getId());
+            if (row != null) {
+                write(row, updatedEmployee);
+            } else {
+                addRow(updatedEmployee);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void onManagerChanged(Employee employee, Employee oldManager, Employee newManager) {
+        update(employee);
+    }
+
+    @Override
+    public void onDepartmentChanged(Employee employee, Department oldDepartment) {
+        update(employee);
+    }
+
+    @Override
+    public void onRoleChanged(Employee employee, EmployeeRole oldRole) {
+        update(employee);
+    }
+
+    @Override
+    public void onSalaryChanged(Employee employee, double oldBaseSalary) {
+        update(employee);
+    }
+
+    private void update(Employee employee) {
+        long stamp = lock.writeLock();
+        try {
+            Integer row = rowsById.get(employee.getId());
+            if (row != null) {
+                write(row, employee);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void addRow(Employee employee) {
+        ensureCapacity(size + 1);
+        int row = size++;
+        rowsById.put(employee.getId(), row);
+        write(row, employee);
+        // Reports added before their manager (e.g. while restoring) can now point to the manager's row
+        for (Employee report : reportingIndex.getDirectReports(employee.getId())) {
+            Integer reportRow = rowsById.get(report.getId());
+            if (reportRow != null) {
+                managerRow[reportRow] = row;
+            }
+        }
+    }
+
+    /**
+     * Writes all columns of one row from the employee's current values.
+     */
+    private void write(int row, Employee employee) {
+        employees[row] = employee;
+        pay[row] = salaryStrategies.calculate(employee);
+        baseSalary[row] = employee.getBaseSalary();
+        if (employee instanceof PartTimeEmployee partTime) {
+            hourlyRate[row] = partTime.getHourlyRate();
+            hoursWorked[row] = partTime.getHoursWorked();
+        } else {
+            hourlyRate[row] = 0.0;
+            hoursWorked[row] = 0.0;
+        }
+        departmentOrdinal[row] = departmentOrdinal(employee.getDepartment());
+        roleOrdinal[row] = employee.getRole() != null ? employee.getRole().ordinal() : NONE;
+        Integer manager = employee.getManager() != null ? rowsById.get(employee.getManager().getId()) : null;
+        managerRow[row] = manager != null ? manager : NONE;
+    }
+
+    /**
+     * Moves the row "from" to the row "to" (swap-remove), and lets the reports of the moved employee point to its new row.
+     */
+    private void moveRow(int from, int to) {
+        Employee moved = employees[from];
+        employees[to] = moved;
+        pay[to] = pay[from];
+        baseSalary[to] = baseSalary[from];
+        hourlyRate[to] = hourlyRate[from];
+        hoursWorked[to] = hoursWorked[from];
+        departmentOrdinal[to] = departmentOrdinal[from];
+        roleOrdinal[to] = roleOrdinal[from];
+        managerRow[to] = managerRow[from];
+        rowsById.put(moved.getId(), to);
+        for (Employee report : reportingIndex.getDirectReports(moved.getId())) {
+            Integer reportRow = rowsById.get(report.getId());
+            if (reportRow != null) {
+                managerRow[reportRow] = to;
+            }
+        }
+    }
+
+    private int departmentOrdinal(Department department) {
+        if (department == null) {
+            return NONE;
+        }
+        Integer ordinal = departmentOrdinals.get(department);
+        if (ordinal == null) {
+            ordinal = departments.size();
+            departments.add(department);
+            departmentOrdinals.put(department, ordinal);
+        }
+        return ordinal;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= pay.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, pay.length * 2);
+        employees = Arrays.copyOf(employees, newCapacity);
+        pay = Arrays.copyOf(pay, newCapacity);
+        baseSalary = Arrays.copyOf(baseSalary, newCapacity);
+        hourlyRate = Arrays.copyOf(hourlyRate, newCapacity);
+        hoursWorked = Arrays.copyOf(hoursWorked, newCapacity);
+        departmentOrdinal = Arrays.copyOf(departmentOrdinal, newCapacity);
+        roleOrdinal = Arrays.copyOf(roleOrdinal, newCapacity);
+        managerRow = Arrays.copyOf(managerRow, newCapacity);
+    }
+}
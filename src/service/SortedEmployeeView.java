@@ -0,0 +1,122 @@
+package service;
+
+import model.Department;
+import model.Employee;
+import model.EmployeeRole;
+import strategy.KeyedSortingStrategy;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * SortedEmployeeView class: Keeps all employees sorted by the key of one KeyedSortingStrategy.
+ * It is updated incrementally by the EmployeeStore (O(log n) per change), so listing the employees
+ * in this order is a simple walk through a skip list instead of copying and sorting everything.
+ * Changes arrive one at a time (under the store's write lock); the view may be read from any thread.
+ */
+public class SortedEmployeeView implements EmployeeStoreListener {
+    /**
+     * The position of an employee: the sort key as it was when the employee was placed, then the
+     * insertion sequence of the store, so equal keys keep the order of hiring (like a stable sort).
+     */
+    record Position(String key, long sequence) implements Comparable<Position> {
+        @Override
+        public int compareTo(Position other) {
+            int byKey = KeyedSortingStrategy.KEY_ORDER.compare(key, other.key);
+            return byKey != 0 ? byKey : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private final KeyedSortingStrategy strategy;
+    private final EmployeeStore store;
+    private final ConcurrentSkipListMap<Position, Employee> employeesInOrder = new ConcurrentSkipListMap<>();
+    // Employee ID -> current position. Needed to find the entry again after the key has changed.
+    private final Map<String, Position> positions = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a view for the given strategy. It starts empty; see EmployeeStore.addListener.
+     */
+    SortedEmployeeView(KeyedSortingStrategy strategy, EmployeeStore store) {
+        this.strategy = strategy;
+        this.store = store;
+    }
+
+    public KeyedSortingStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Returns a read-only view of all employees in sorted order (no copy is made).
+     */
+    public Collection<Employee> values() {
+        return Collections.unmodifiableCollection(employeesInOrder.values());
+    }
+
+    /**
+     * Returns a read-only view of the sorted entries, starting behind the given position (or at the start if null).
+     * Used for paging: the view stays valid while the employees change.
+     */
+    NavigableMap<Position, Employee> entriesAfter(Position position) {
+        NavigableMap<Position, Employee> entries = position == null ? employeesInOrder : employeesInOrder.tailMap(position, false);
+        return Collections.unmodifiableNavigableMap(entries);
+    }
+
+    @Override
+    public void onAdd(Employee employee) {
+        place(employee);
+    }
+
+    @Override
+    public void onRemove(Employee employee) {
+        Position position = positions.remove(employee.getId());
+        if (position != null) {
+            employeesInOrder.remove(position);
+        }
+    }
+
+    @Override
+    public void onClear() {
+        employeesInOrder.clear();
+        positions.clear();
+    }
+
+    @Override
+    public void onReplace(Employee oldEmployee, Employee updatedEmployee) {
+        place(updatedEmployee); // The store keeps the sequence, so only a changed key moves the employee
+    }
+
+    @Override
+    public void onNameChanged(Employee employee, String oldFirstName, String oldLastName) {
+        place(employee);
+    }
+
+    @Override
+    public void onDepartmentChanged(Employee employee, Department oldDepartment) {
+        place(employee);
+    }
+
+    @Override
+    public void onRoleChanged(Employee employee, EmployeeRole oldRole) {
+        place(employee);
+    }
+
+    @Override
+    public void onSalaryChanged(Employee employee, double oldBaseSalary) {
+        place(employee);
+    }
+
+    /**
+     * Puts the employee at the position for its current key, moving it if the key has changed.
+     */
+    private void place(Employee employee) {
+        Position position = new Position(strategy.sortKey(employee), store.sequenceOf(employee.getId()));
+        Position oldPosition = positions.put(employee.getId(), position);
+        if (oldPosition != null && !oldPosition.equals(position)) {
+            employeesInOrder.remove(oldPosition);
+        }
+        employeesInOrder.put(position, employee);
+    }
+}
@@ -0,0 +1,26 @@
+package strategy;
+
+import model.Employee;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A sorting strategy that orders employees by a single text key (e.g. the last name).
+ * Because the key can be read from each employee on its own, the HRManager can keep a list that is
+ * always sorted this way and update it on every change, instead of sorting all employees for each listing.
+ * Employees with the same key (or no key) keep the order in which they were added; missing keys come first.
+ */
+public interface KeyedSortingStrategy extends EmployeeSortingStrategy {
+    Comparator<String> KEY_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    /**
+     * Returns the value the employee is sorted by, or null if the employee has none.
+     */
+    String sortKey(Employee employee);
+
+    @Override
+    default void sort(List<Employee> employees) {
+        // List.sort is stable, so employees with the same key keep their order
+        employees.sort(Comparator.comparing(this::sortKey, KEY_ORDER));
+    }
+}
@@ -1,19 +1,15 @@
 package strategy;
 
-import model.Employee;
 import model.FullTimeEmployee;
 
 /**
  * This class calculates the salary of FullTime employees.
  */
-public class MonthlySalaryStrategy implements SalaryCalculationStrategy {
+public class MonthlySalaryStrategy implements SalaryCalculationStrategy<FullTimeEmployee> {
 
     @Override
-    public double calculate(Employee employee) {
-        // Check if the employee is an instance of FullTimeEmployee
-        if (employee instanceof FullTimeEmployee) {
-            return ((FullTimeEmployee) employee).calculateSalary();
-        }
-        throw new IllegalArgumentException("This strategy is for FullTimeEmployee only.");
+    public double calculate(FullTimeEmployee employee) {
+        // Base salary plus the monthly bonus
+        return employee.calculateSalary();
     }
 }
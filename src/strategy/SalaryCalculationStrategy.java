@@ -4,7 +4,8 @@ import model.Employee;
 
 /**
  * This interface calculates an employee's salary.
+ * The type parameter is the kind of employee the strategy is made for, so no type checks are needed inside.
  */
-public interface SalaryCalculationStrategy {
-    double calculate(Employee employee);
+public interface SalaryCalculationStrategy<E extends Employee> {
+    double calculate(E employee);
 }
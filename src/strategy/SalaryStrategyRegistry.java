@@ -0,0 +1,115 @@
+package strategy;
+
+import model.Employee;
+import model.FullTimeEmployee;
+import model.PartTimeEmployee;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SalaryStrategyRegistry class: Knows which SalaryCalculationStrategy to use for which type of employee.
+ * A strategy registered for a class is also used for its subclasses, unless they have their own.
+ * The lookup is done once per employee class and then cached, so calculating a salary needs
+ * no type checks and cannot fail because of a wrong employee type.
+ * Employee types without a registered strategy fall back to Employee.calculateSalary().
+ * Each registration starts a new, empty cache, so a lookup that was still running when a strategy was
+ * registered can only fill the cache that is no longer used.
+ */
+public class SalaryStrategyRegistry {
+    private static final SalaryCalculationStrategy<Employee> DEFAULT_STRATEGY = Employee::calculateSalary;
+
+    private final Map<Class<?>, SalaryCalculationStrategy<?>> registered = new ConcurrentHashMap<>();
+    private volatile Resolved resolved = new Resolved(0, new ConcurrentHashMap<>());
+
+    /**
+     * Resolved record: The strategies found for the employee classes (including the fallback)
+     * while the registrations had the given version.
+     */
+    private record Resolved(int version, Map<Class<?>, SalaryCalculationStrategy<Employee>> strategies) {
+    }
+
+    /**
+     * Creates a registry with the built-in strategies for FullTime and PartTime employees.
+     */
+    public static SalaryStrategyRegistry withDefaults() {
+        SalaryStrategyRegistry registry = new SalaryStrategyRegistry();
+        registry.register(FullTimeEmployee.class, new MonthlySalaryStrategy());
+        registry.register(PartTimeEmployee.class, new HourlyWageStrategy());
+        return registry;
+    }
+
+    /**
+     * Registers (or replaces) the strategy for the given employee type, e.g. an overtime or commission model.
+     */
+    public synchronized <E extends Employee> void register(Class<E> employeeType, SalaryCalculationStrategy<? super E> strategy) {
+        registered.put(employeeType, strategy);
+        // Subclasses may now resolve to the new strategy, and salaries calculated with the old ones are out of date
+        resolved = new Resolved(resolved.version() + 1, new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Returns a number that changes whenever a strategy is registered.
+     * Anyone who keeps calculated salaries can compare it to know when they are out of date.
+     */
+    public int getVersion() {
+        return resolved.version();
+    }
+
+    /**
+     * Returns the strategy used for the given employee type.
+     */
+    public SalaryCalculationStrategy<Employee> strategyFor(Class<? extends Employee> employeeType) {
+        // Taken before the lookup: if a strategy is registered meanwhile, the result lands in a cache nobody uses
+        return resolved.strategies().computeIfAbsent(employeeType, this::resolve);
+    }
+
+    /**
+     * Calculates the salary of one employee.
+     */
+    public double calculate(Employee employee) {
+        return strategyFor(employee.getClass()).calculate(employee);
+    }
+
+    /**
+     * Calculates the salaries of all given employees. The result has the same order as the list.
+     */
+    public double[] calculate(List<Employee> employees) {
+        Employee[] roster = employees.toArray(new Employee[0]);
+        double[] amounts = new double[roster.length];
+        calculate(roster, amounts, 0, roster.length);
+        return amounts;
+    }
+
+    /**
+     * Calculates the salaries of roster[from..to) into amounts[from..to).
+     * The strategy is only looked up again when the employee class changes from one entry to the next.
+     */
+    public void calculate(Employee[] roster, double[] amounts, int from, int to) {
+        Class<?> currentType = null;
+        SalaryCalculationStrategy<Employee> strategy = DEFAULT_STRATEGY;
+        for (int i = from; i < to; i++) {
+            Employee employee = roster[i];
+            if (employee.getClass() != currentType) {
+                currentType = employee.getClass();
+                strategy = strategyFor(employee.getClass());
+            }
+            amounts[i] = strategy.calculate(employee);
+        }
+    }
+
+    /**
+     * Finds the strategy for a class by walking up its superclasses.
+     * The cast is safe: a strategy is only ever used for objects of the class it was registered for (or a subclass).
+     */
+    @SuppressWarnings("unchecked")
+    private SalaryCalculationStrategy<Employee> resolve(Class<?> employeeType) {
+        for (Class<?> type = employeeType; type != null; type = type.getSuperclass()) {
+            SalaryCalculationStrategy<?> strategy = registered.get(type);
+            if (strategy != null) {
+                return (SalaryCalculationStrategy<Employee>) strategy;
+            }
+        }
+        return DEFAULT_STRATEGY;
+    }
+}
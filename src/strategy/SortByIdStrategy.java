@@ -0,0 +1,14 @@
+package strategy;
+
+import model.Employee;
+
+/**
+ * This class sorts a list of employees by their ID.
+ */
+public class SortByIdStrategy implements KeyedSortingStrategy {
+
+    @Override
+    public String sortKey(Employee employee) {
+        return employee.getId();
+    }
+}
@@ -0,0 +1,116 @@
+package util;
+
+import model.Employee;
+import service.HRManager;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.function.Function;
+
+/**
+ * OrgChartRenderer class: Writes the reporting structure of employees into any Appendable (e.g. a Writer).
+ * Instead of recursion it walks the hierarchy with an explicit stack, so even very deep hierarchies
+ * cannot cause a StackOverflowError. Direct reports are looked up through the reporting index,
+ * and indentation strings are built only once and then reused for every line.
+ */
+public class OrgChartRenderer {
+    private static final String INDENT = "  ";
+    // Indentation strings are cached up to this many levels; deeper lines repeat the largest one.
+    // This keeps the cache small even for hierarchies that are thousands of levels deep.
+    private static final int CACHED_LEVELS = 64;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final Function<String, Collection<Employee>> directReports;
+
+    /**
+     * Creates a renderer that looks up direct reports in the HRManager.
+     */
+    public OrgChartRenderer() {
+        this(HRManager.getInstance()::getDirectReports);
+    }
+
+    /**
+     * Creates a renderer that uses the given function to find the direct reports of a manager ID.
+     */
+    public OrgChartRenderer(Function<String, Collection<Employee>> directReports) {
+        this.directReports = directReports;
+    }
+
+    /**
+     * Writes the charts of all given top-level employees, one after another.
+     * Returns the number of employees written.
+     */
+    public int renderAll(Collection<Employee> topLevelEmployees, Appendable out) throws IOException {
+        int written = 0;
+        for (Employee employee : topLevelEmployees) {
+            written += render(employee, "", out);
+        }
+        return written;
+    }
+
+    /**
+     * Writes the chart of the given employee and everyone below them.
+     * Every line starts with the given prefix plus two spaces per hierarchy level.
+     * Returns the number of employees written.
+     */
+    public int render(Employee employee, String prefix, Appendable out) throws IOException {
+        if (employee == null) {
+            return 0;
+        }
+        // indents[d] is the indentation for d levels; it is built the first time that depth is reached.
+        String[] indents = new String[CACHED_LEVELS + 1];
+        indents[0] = "";
+        // One iterator per open hierarchy level; the top of the stack is the deepest level.
+        Deque<Iterator<Employee>> stack = new ArrayDeque<>();
+
+        writeLine(employee, prefix, out);
+        int written = 1;
+        pushReports(employee, stack);
+        while (!stack.isEmpty()) {
+            Iterator<Employee> reports = stack.peek();
+            if (!reports.hasNext()) {
+                stack.pop(); // All reports of this level are written, go back up one level
+                continue;
+            }
+            Employee report = reports.next();
+            out.append(prefix);
+            writeIndent(stack.size(), indents, out);
+            writeLine(report, "", out);
+            written++;
+            pushReports(report, stack);
+        }
+        return written;
+    }
+
+    private static void writeIndent(int depth, String[] indents, Appendable out) throws IOException {
+        while (depth > CACHED_LEVELS) {
+            out.append(indent(CACHED_LEVELS, indents));
+            depth -= CACHED_LEVELS;
+        }
+        out.append(indent(depth, indents));
+    }
+
+    private static String indent(int depth, String[] indents) {
+        if (indents[depth] == null) {
+            indents[depth] = INDENT.repeat(depth);
+        }
+        return indents[depth];
+    }
+
+    private void pushReports(Employee manager, Deque<Iterator<Employee>> stack) {
+        Collection<Employee> reports = directReports.apply(manager.getId());
+        if (!reports.isEmpty()) {
+            stack.push(reports.iterator());
+        }
+    }
+
+    private static void writeLine(Employee employee, String prefix, Appendable out) throws IOException {
+        out.append(prefix)
+                .append(employee.getFirstName()).append(' ')
+                .append(employee.getLastName()).append(" (")
+                .append(String.valueOf(employee.getRole())).append(')')
+                .append(LINE_SEPARATOR);
+    }
+}
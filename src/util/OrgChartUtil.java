@@ -1,42 +1,72 @@
 package util;
 
+import metrics.OrgChartEvent;
 import model.Employee;
+import output.OutputEvent;
+import output.OutputSink;
+import output.SinkWriter;
 import service.HRManager;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 
 /**
  * OrgChartUtil class helps visualize the reporting structure of employees.
+ * The chart is reported line by line through the output sink of the HRManager.
  */
 public class OrgChartUtil {
 
     /**
-     * Recursively prints the organization chart starting from a given employee.
+     * Prints the organization chart starting from a given employee.
      * It shows who reports to whom.
      */
     public static void printOrganizationChart(Employee employee, String prefix) {
-        // Stop if the employee is null (base case for recursion)
+        // Stop if the employee is null
         if (employee == null) {
             return;
         }
-        System.out.println(prefix + employee.getFirstName() + " " + employee.getLastName() + " (" + employee.getRole() + ")");
-
-        // Find all employees who report to the current employee and print their sub-charts
-        HRManager.getInstance().getAllEmployees().stream()
-                // Filter for employees whose manager's ID matches the current employee's ID
-                .filter(e -> e.getManager() != null && e.getManager().getId().equals(employee.getId()))
-                // For each subordinate, recursively call printOrganizationChart with increased indentation
-                .forEach(e -> printOrganizationChart(e, prefix + "  "));
+        OutputSink sink = HRManager.getInstance().getOutputSink();
+        if (!sink.isEnabled()) {
+            return;
+        }
+        OrgChartEvent event = new OrgChartEvent();
+        event.begin();
+        Writer out = new SinkWriter(sink, "orgchart.line");
+        try {
+            event.employeeCount = new OrgChartRenderer().render(employee, prefix, out);
+            out.flush(); // Write the whole chart at once
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (event.shouldCommit()) {
+            event.rootEmployeeId = employee.getId();
+            event.commit();
+        }
     }
 
     /**
      * Prints the complete organization chart, starting from employees who have no manager.
      */
     public static void printFullOrganizationChart() {
-        System.out.println("\n--- Organization Chart ---");
-        // Get all employees and filter for those who don't have a manager (top-level employees)
-        HRManager.getInstance().getAllEmployees().stream()
-                .filter(e -> e.getManager() == null)
-                // For each top-level employee, start printing their part of the chart with no initial prefix
-                .forEach(e -> printOrganizationChart(e, ""));
-        System.out.println("--------------------------");
+        OutputSink sink = HRManager.getInstance().getOutputSink();
+        if (!sink.isEnabled()) {
+            return;
+        }
+        OrgChartEvent event = new OrgChartEvent(); // Recorded only while a JFR recording is running
+        event.begin();
+        sink.emit(OutputEvent.info("orgchart.start", "\n--- Organization Chart ---"));
+        Writer out = new SinkWriter(sink, "orgchart.line");
+        try {
+            // The top-level employees come straight from the reporting index; no copy of all employees is made
+            event.employeeCount = new OrgChartRenderer().renderAll(HRManager.getInstance().getTopLevelEmployees(), out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        sink.emit(OutputEvent.info("orgchart.end", "--------------------------"));
+        sink.flush();
+        if (event.shouldCommit()) {
+            event.rootEmployeeId = "";
+            event.commit();
+        }
     }
 }
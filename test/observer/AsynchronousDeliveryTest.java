@@ -0,0 +1,126 @@
+package observer;
+
+import factory.EmployeeFactory;
+import metrics.HRMetrics;
+import model.Employee;
+import model.EmployeeRole;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import output.MemorySink;
+import output.OutputEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that closing an asynchronous delivery loses no queued event, also while other threads keep notifying,
+ * and that failing observers are counted and reported.
+ */
+class AsynchronousDeliveryTest {
+    private static final Employee EMPLOYEE = EmployeeFactory.createFullTimeEmployee("E1", "Anna", "Bauer", null,
+            EmployeeRole.DEVELOPER, null, 3000);
+
+    /**
+     * Counts the employees it is told about.
+     */
+    private static final class CountingObserver implements EmployeeObserver {
+        final AtomicInteger received = new AtomicInteger();
+
+        @Override
+        public void onNewHire(Employee employee) {
+            received.incrementAndGet();
+        }
+
+        @Override
+        public void onTermination(Employee employee) {
+            received.incrementAndGet();
+        }
+    }
+
+    @Test
+    @Timeout(value = 1, unit = TimeUnit.MINUTES)
+    void everyEventIsDeliveredOrCountedWhenClosingDuringNotification() throws InterruptedException {
+        for (int round = 0; round < 50; round++) {
+            CountingObserver observer = new CountingObserver();
+            // Tiny queue, several workers and batches: the stop signals often meet a full queue
+            AsynchronousDelivery delivery = delivery(observer, DeliveryOptions.async()
+                    .withQueueCapacity(2).withBatchSize(4).unordered(4), new MemorySink());
+            int producers = 8;
+            int eventsPerProducer = 200;
+            CountDownLatch started = new CountDownLatch(producers);
+            List<Thread> threads = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                threads.add(Thread.ofPlatform().start(() -> {
+                    started.countDown();
+                    for (int i = 0; i < eventsPerProducer; i++) {
+                        delivery.deliver(LifecycleEvent.Type.NEW_HIRE, List.of(EMPLOYEE));
+                    }
+                }));
+            }
+            started.await();
+            delivery.close(); // While the producers are still sending
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertEquals(producers * eventsPerProducer, observer.received.get() + delivery.droppedEvents(),
+                    "round " + round);
+        }
+    }
+
+    @Test
+    @Timeout(value = 1, unit = TimeUnit.MINUTES)
+    void closeDeliversAllQueuedEvents() {
+        CountingObserver observer = new CountingObserver();
+        AsynchronousDelivery delivery = delivery(observer, DeliveryOptions.async().withQueueCapacity(16).withBatchSize(5),
+                new MemorySink());
+        for (int i = 0; i < 1000; i++) {
+            delivery.deliver(i % 2 == 0 ? LifecycleEvent.Type.NEW_HIRE : LifecycleEvent.Type.TERMINATION, List.of(EMPLOYEE));
+        }
+        delivery.close();
+        assertEquals(1000, observer.received.get());
+        assertEquals(0, delivery.droppedEvents());
+
+        delivery.deliver(LifecycleEvent.Type.NEW_HIRE, List.of(EMPLOYEE)); // After close: dropped, not thrown
+        assertEquals(1, delivery.droppedEvents());
+    }
+
+    @Test
+    @Timeout(value = 1, unit = TimeUnit.MINUTES)
+    void failingObserverIsCountedAndReported() {
+        CountingObserver counter = new CountingObserver();
+        EmployeeObserver failing = new EmployeeObserver() {
+            @Override
+            public void onNewHire(Employee employee) {
+                if (counter.received.incrementAndGet() == 1) {
+                    throw new IllegalStateException("provisioning is down");
+                }
+            }
+
+            @Override
+            public void onTermination(Employee employee) {
+            }
+        };
+        MemorySink sink = new MemorySink();
+        AsynchronousDelivery delivery = delivery(failing, DeliveryOptions.async(), sink);
+        delivery.deliver(LifecycleEvent.Type.NEW_HIRE, List.of(EMPLOYEE));
+        delivery.deliver(LifecycleEvent.Type.NEW_HIRE, List.of(EMPLOYEE));
+        delivery.close();
+
+        assertEquals(2, counter.received.get()); // The failure did not stop later events
+        assertEquals(1, delivery.failedDeliveries());
+        List<OutputEvent> events = sink.getEvents();
+        assertEquals(1, events.size());
+        assertEquals(OutputEvent.Level.ERROR, events.get(0).level());
+        assertEquals("observer.failed", events.get(0).type());
+        assertTrue(events.get(0).message().contains("provisioning is down"));
+    }
+
+    private static AsynchronousDelivery delivery(EmployeeObserver observer, DeliveryOptions options, MemorySink sink) {
+        return new AsynchronousDelivery(observer, options, new HRMetrics().forObserver("test"), () -> sink);
+    }
+}
@@ -0,0 +1,77 @@
+package observer;
+
+import factory.EmployeeFactory;
+import model.Employee;
+import model.EmployeeRole;
+import org.junit.jupiter.api.Test;
+import output.MemorySink;
+import output.NoOpSink;
+import output.OutputEvent;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the department observers write to the sink of their notifier and follow it when it changes.
+ */
+class DepartmentObserverTest {
+    private static final Employee ANNA = EmployeeFactory.createFullTimeEmployee("E1", "Anna", "Bauer", null,
+            EmployeeRole.DEVELOPER, null, 3000);
+    private static final Employee BEN = EmployeeFactory.createFullTimeEmployee("E2", "Ben", "Koch", null,
+            EmployeeRole.DEVELOPER, null, 3000);
+
+    @Test
+    void writeToTheSinkOfTheNotifier() {
+        MemorySink sink = new MemorySink();
+        EmployeeLifecycleNotifier notifier = new EmployeeLifecycleNotifier();
+        notifier.setOutputSink(sink);
+        notifier.addObserver(new ITDepartmentObserver());
+        notifier.addObserver(new FinanceDepartmentObserver());
+        sink.clear();
+
+        notifier.notifyNewHires(List.of(ANNA, BEN));
+        notifier.notifyTermination(ANNA);
+
+        assertEquals(List.of("it.newHire", "it.newHire", "finance.newHire", "finance.newHire",
+                "it.termination", "finance.termination"), types(sink));
+        assertEquals("[IT Dept] New employee hired: Anna Bauer. Creating IT accounts...", sink.getEvents().get(0).message());
+        assertEquals("[Finance Dept] Employee terminated: Anna Bauer. Removing from payroll...",
+                sink.getEvents().get(5).message());
+        assertEquals("E1", sink.getEvents().get(5).fields().get("employeeId"));
+    }
+
+    @Test
+    void followTheNotifierWhenItsSinkChanges() {
+        MemorySink first = new MemorySink();
+        EmployeeLifecycleNotifier notifier = new EmployeeLifecycleNotifier();
+        notifier.setOutputSink(first);
+        notifier.addObserver(new ITDepartmentObserver());
+        first.clear();
+
+        notifier.setOutputSink(NoOpSink.getInstance());
+        notifier.notifyNewHire(ANNA);
+        assertTrue(first.getEvents().isEmpty());
+
+        MemorySink second = new MemorySink();
+        notifier.setOutputSink(second);
+        notifier.notifyNewHire(BEN);
+        assertEquals(List.of("it.newHire"), types(second));
+    }
+
+    @Test
+    void keepASinkOfTheirOwn() {
+        MemorySink own = new MemorySink();
+        EmployeeLifecycleNotifier notifier = new EmployeeLifecycleNotifier();
+        notifier.setOutputSink(NoOpSink.getInstance());
+        notifier.addObserver(new FinanceDepartmentObserver(own));
+
+        notifier.notifyNewHire(ANNA);
+
+        assertEquals(List.of("finance.newHire"), types(own));
+    }
+
+    private static List<String> types(MemorySink sink) {
+        return sink.getEvents().stream().map(OutputEvent::type).toList();
+    }
+}
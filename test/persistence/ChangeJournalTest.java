@@ -0,0 +1,287 @@
+package persistence;
+
+import factory.EmployeeFactory;
+import model.Employee;
+import model.EmployeeRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import output.MemorySink;
+import output.OutputEvent;
+import service.HRManager;
+import service.TestRosters;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static service.TestRosters.IT;
+import static service.TestRosters.assertSameEmployees;
+import static service.TestRosters.random;
+
+/**
+ * Journals changes of the HRManager and recovers them from the snapshot and the journal.
+ */
+class ChangeJournalTest {
+    private static final Duration NEVER = Duration.ofHours(1);
+
+    @TempDir
+    Path directory;
+
+    private HRManager hrManager;
+
+    @AfterEach
+    void tearDown() {
+        hrManager.restore(Map.of(), List.of());
+    }
+
+    @Test
+    void recoversChangesMadeAfterTheSnapshot() throws IOException {
+        hrManager = TestRosters.load(random(300, 1));
+        EmployeeSnapshot.save(hrManager, snapshot());
+        ChangeJournal journal = ChangeJournal.open(hrManager, snapshot(), journal(), NEVER, 1 << 20, 0);
+        try {
+            change(new Random(2), 400);
+        } finally {
+            journal.close();
+        }
+
+        assertRecovers(hrManager.getAllEmployees());
+    }
+
+    @Test
+    void recoversFromTheJournalAlone() throws IOException {
+        hrManager = TestRosters.load(List.of());
+        ChangeJournal journal = ChangeJournal.open(hrManager, snapshot(), journal(), NEVER, 64, 0);
+        try {
+            for (Employee employee : random(100, 3)) {
+                hrManager.addEmployee(employee);
+            }
+            change(new Random(4), 200);
+        } finally {
+            journal.close();
+        }
+
+        assertRecovers(hrManager.getAllEmployees());
+    }
+
+    @Test
+    void ignoresADamagedOrIncompleteEnd() throws IOException {
+        hrManager = TestRosters.load(random(50, 5));
+        EmployeeSnapshot.save(hrManager, snapshot());
+        ChangeJournal journal = ChangeJournal.open(hrManager, snapshot(), journal(), NEVER, 1 << 20, 0);
+        try {
+            change(new Random(6), 50);
+        } finally {
+            journal.close();
+        }
+        List<Employee> expected = hrManager.getAllEmployees();
+        Path complete = directory.resolve("complete.journal");
+        Files.copy(journal(), complete);
+        byte[] firstRecord = new byte[12];
+        ByteBuffer.wrap(Files.readAllBytes(complete)).get(firstRecord);
+
+        byte[][] ends = {
+                {0x7f, -1, -1, -1, 1, 2, 3, 4}, // Length far beyond the end of the file
+                {-1, -1, -1, -2, 0, 0, 0, 0}, // Negative length
+                new byte[64], // Zeros, as left by a crash on some file systems
+                firstRecord, // A record that was only partly written
+        };
+        for (byte[] end : ends) {
+            Files.copy(complete, journal(), StandardCopyOption.REPLACE_EXISTING);
+            Files.write(journal(), end, StandardOpenOption.APPEND);
+            assertRecovers(expected);
+        }
+    }
+
+    @Test
+    void compactionKeepsOnlyTheChangesAfterTheSnapshot() throws IOException {
+        hrManager = TestRosters.load(random(200, 7));
+        try (ChangeJournal journal = ChangeJournal.open(hrManager, snapshot(), journal(), NEVER, 1 << 20, 0)) {
+            change(new Random(8), 200);
+            journal.sync();
+            long journalSize = Files.size(journal());
+            assertTrue(journalSize > 0);
+
+            journal.compact();
+            assertEquals(0, Files.size(journal()));
+            assertSameEmployees(hrManager.getAllEmployees(), EmployeeSnapshot.load(snapshot()).employees());
+
+            change(new Random(9), 20);
+            journal.sync();
+            assertTrue(Files.size(journal()) > 0);
+        }
+
+        assertRecovers(hrManager.getAllEmployees());
+    }
+
+    @Test
+    void compactionKeepsChangesOfABlockThatIsStillOpen() throws Exception {
+        hrManager = TestRosters.load(random(20, 14));
+        ExecutorService threads = Executors.newFixedThreadPool(2);
+        try (ChangeJournal journal = ChangeJournal.open(hrManager, snapshot(), journal(), NEVER, 1 << 20, 0)) {
+            CountDownLatch changed = new CountDownLatch(1);
+            CountDownLatch finish = new CountDownLatch(1);
+            // A bulk change: its record is journaled at once, but it is only published when the block ends
+            Future<?> change = threads.submit(() -> hrManager.atomically(() -> {
+                hrManager.addEmployee(EmployeeFactory.createFullTimeEmployee("LATE", "Late", "Hire", IT,
+                        EmployeeRole.DEVELOPER, null, 3000));
+                changed.countDown();
+                awaitQuietly(finish);
+                return null;
+            }));
+            changed.await();
+            AtomicReference<Thread> compactingThread = new AtomicReference<>();
+            Future<?> compaction = threads.submit(() -> {
+                compactingThread.set(Thread.currentThread());
+                journal.compact();
+                return null;
+            });
+            // Let the compaction run as far as it gets while the block is open: it must wait for the block
+            awaitUntil(() -> compaction.isDone()
+                    || compactingThread.get() != null && compactingThread.get().getState() == Thread.State.WAITING);
+            finish.countDown();
+            change.get();
+            compaction.get();
+        } finally {
+            threads.shutdownNow();
+        }
+
+        assertTrue(hrManager.getEmployeeById("LATE").isPresent());
+        assertRecovers(hrManager.getAllEmployees());
+    }
+
+    @Test
+    void keepsJournalingAfterTheJournalCouldNotBeReplaced() throws IOException {
+        hrManager = TestRosters.load(random(30, 15));
+        Path moved = directory.resolve("moved.journal");
+        try (ChangeJournal journal = ChangeJournal.open(hrManager, snapshot(), journal(), NEVER, 1 << 20, 0)) {
+            change(new Random(16), 30);
+            journal.sync();
+            // A non-empty directory where the journal was: the compacted journal cannot be moved there
+            Files.move(journal(), moved);
+            Files.createDirectory(journal());
+            Files.createFile(journal().resolve("blocker"));
+            assertThrows(IOException.class, journal::compact);
+
+            Files.delete(journal().resolve("blocker"));
+            Files.delete(journal());
+            Files.move(moved, journal());
+            change(new Random(17), 30);
+            journal.sync(); // Opens the journal again instead of failing on the closed file
+        }
+
+        assertRecovers(hrManager.getAllEmployees());
+    }
+
+    @Test
+    void compactsInTheBackgroundOnceTheJournalIsLarge() throws IOException, InterruptedException {
+        hrManager = TestRosters.load(random(100, 10));
+        try (ChangeJournal journal = ChangeJournal.open(hrManager, snapshot(), journal(), NEVER, 1 << 20, 1024)) {
+            change(new Random(11), 100);
+            journal.sync();
+            awaitUntil(() -> Files.exists(snapshot()));
+        }
+
+        assertRecovers(hrManager.getAllEmployees());
+    }
+
+    @Test
+    void reportsBackgroundFailuresToTheOutputSink() throws IOException, InterruptedException {
+        hrManager = TestRosters.load(random(10, 12));
+        MemorySink sink = new MemorySink();
+        Path unwritableSnapshot = directory.resolve("missing").resolve("hrms.snapshot");
+        try (ChangeJournal journal = ChangeJournal.open(hrManager, unwritableSnapshot, journal(), NEVER, 1 << 20, 1)) {
+            journal.setOutputSink(sink);
+            change(new Random(13), 1);
+            journal.sync();
+            awaitUntil(() -> !sink.getEvents().isEmpty());
+        }
+
+        OutputEvent event = sink.getEvents().get(0);
+        assertEquals(OutputEvent.Level.ERROR, event.level());
+        assertEquals("journal.compactFailed", event.type());
+        assertEquals(journal().toString(), event.fields().get("journal"));
+    }
+
+    private Path snapshot() {
+        return directory.resolve("hrms.snapshot");
+    }
+
+    private Path journal() {
+        return directory.resolve("hrms.journal");
+    }
+
+    /**
+     * Makes random changes of every kind that the journal records.
+     */
+    private void change(Random random, int count) {
+        EmployeeRole[] roles = EmployeeRole.values();
+        for (int i = 0; i < count; i++) {
+            List<Employee> all = hrManager.getAllEmployees();
+            Employee employee = all.isEmpty() ? null : all.get(random.nextInt(all.size()));
+            int kind = employee == null ? 0 : random.nextInt(7);
+            switch (kind) {
+                case 0 -> {
+                    Employee partTime = EmployeeFactory.createPartTimeEmployee("N" + i + "-" + random.nextInt(1000),
+                            "New", "Hire", IT, EmployeeRole.DEVELOPER, employee, 20, 40);
+                    hrManager.addEmployee(partTime);
+                    partTime.setBaseSalary(999.5); // Changed after hiring
+                }
+                case 1 -> hrManager.deleteEmployee(employee.getId()); // Refused while the employee has reports
+                case 2 -> employee.setFirstName("Renamed" + i);
+                case 3 -> employee.setRole(roles[random.nextInt(roles.length)]);
+                case 4 -> employee.setBaseSalary(3000 + random.nextInt(4000));
+                case 5 -> hrManager.updateEmployee(EmployeeFactory.createFullTimeEmployee(employee.getId(), "Updated",
+                        employee.getLastName(), employee.getDepartment(), employee.getRole(), employee.getManager(), 4200));
+                default -> {
+                    try {
+                        employee.setManager(all.get(random.nextInt(all.size())));
+                    } catch (IllegalArgumentException e) {
+                        // Would create a reporting cycle; refused
+                    }
+                }
+            }
+        }
+    }
+
+    private void assertRecovers(List<Employee> expected) throws IOException {
+        hrManager.restore(Map.of(), List.of());
+        ChangeJournal.recover(snapshot(), journal(), hrManager);
+        assertSameEmployees(expected, hrManager.getAllEmployees());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private interface Condition {
+        boolean holds() throws IOException;
+    }
+
+    private static void awaitUntil(Condition condition) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.holds()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package persistence;
+
+import model.Employee;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import service.BulkImportResult;
+import service.HRManager;
+import service.TestRosters;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Imports CSV rosters with broken reporting lines into the HRManager.
+ */
+class EmployeeCsvImporterTest {
+    private HRManager hrManager;
+
+    @AfterEach
+    void tearDown() {
+        hrManager.restore(Map.of(), List.of());
+    }
+
+    @Test
+    void rejectsRowsThatManageThemselvesInsteadOfFailing() throws IOException {
+        hrManager = TestRosters.load(List.of());
+        String csv = EmployeeCsvFormat.HEADER + "\n"
+                + "A,FULLTIME,Anna,Bauer,,,,5000.0,,,\n"
+                + "B,FULLTIME,Ben,Koch,,,,4000.0,,,B\n" // Their own manager
+                + "C,FULLTIME,Clara,Meyer,,,,3000.0,,,B\n"
+                + "D,FULLTIME,David,Weber,,,,3000.0,,,C\n"
+                + "E,FULLTIME,Emma,Fischer,,,,3000.0,,,A\n";
+
+        BulkImportResult result = EmployeeCsvImporter.importInto(new StringReader(csv), hrManager);
+
+        assertEquals(List.of("A", "E"), ids(result.getAccepted()));
+        Map<String, String> reasons = reasons(result);
+        assertEquals(List.of("B", "C", "D"), List.copyOf(reasons.keySet()));
+        assertEquals("Employee B cannot be their own manager.", reasons.get("B"));
+        assertTrue(reasons.get("C").contains("B"), reasons.get("C"));
+        assertTrue(reasons.get("D").contains("C"), reasons.get("D"));
+        assertEquals(List.of("A", "E"), ids(hrManager.getAllEmployees()));
+    }
+
+    @Test
+    void rejectsCyclesAndMissingManagers() throws IOException {
+        hrManager = TestRosters.load(List.of());
+        String csv = EmployeeCsvFormat.HEADER + "\n"
+                + "A,FULLTIME,Anna,Bauer,,,,5000.0,,,C\n"
+                + "B,FULLTIME,Ben,Koch,,,,4000.0,,,A\n"
+                + "C,FULLTIME,Clara,Meyer,,,,3000.0,,,B\n"
+                + "D,FULLTIME,David,Weber,,,,3000.0,,,X\n"
+                + "E,FULLTIME,Emma,Fischer,,,,3000.0,,,\n";
+
+        BulkImportResult result = EmployeeCsvImporter.importInto(new StringReader(csv), hrManager);
+
+        assertEquals(List.of("E"), ids(result.getAccepted()));
+        Map<String, String> reasons = reasons(result);
+        assertEquals(Set.of("A", "B", "C", "D"), reasons.keySet());
+        assertTrue(reasons.get("A").contains("reporting cycle"), reasons.get("A"));
+        assertEquals("Manager with ID X not found.", reasons.get("D"));
+    }
+
+    private static List<String> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).toList();
+    }
+
+    private static Map<String, String> reasons(BulkImportResult result) {
+        Map<String, String> reasons = new LinkedHashMap<>();
+        for (BulkImportResult.Rejection rejection : result.getRejected()) {
+            reasons.put(rejection.employee().getId(), rejection.reason());
+        }
+        return reasons;
+    }
+}
@@ -0,0 +1,88 @@
+package persistence;
+
+import factory.EmployeeFactory;
+import model.Employee;
+import model.EmployeeRole;
+import model.PartTimeEmployee;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static service.TestRosters.IT;
+
+/**
+ * Writes employees as CSV and reads them back.
+ */
+class EmployeeCsvTest {
+
+    @Test
+    void readsBackQuotedFieldsWithLineBreaks() throws IOException {
+        Employee boss = EmployeeFactory.createFullTimeEmployee("E1", "Anna\nMaria", "Bauer, \"Jr.\"", IT,
+                EmployeeRole.PROJECT_MANAGER, null, 7000);
+        Employee report = EmployeeFactory.createFullTimeEmployee("E2", "Ben\r\nJonas", "Koch\rMeyer", IT,
+                EmployeeRole.DEVELOPER, boss, 5000);
+
+        List<EmployeeCsvReader.Row> rows = readBack(List.of(boss, report));
+
+        assertEquals(2, rows.size());
+        assertEquals("Anna\nMaria", rows.get(0).employee().getFirstName());
+        assertEquals("Bauer, \"Jr.\"", rows.get(0).employee().getLastName());
+        assertEquals("Ben\r\nJonas", rows.get(1).employee().getFirstName());
+        assertEquals("Koch\rMeyer", rows.get(1).employee().getLastName());
+        assertEquals("E1", rows.get(1).managerId());
+        // Line 1 is the header; the first record takes lines 2 and 3
+        assertEquals(2, rows.get(0).lineNumber());
+        assertEquals(4, rows.get(1).lineNumber());
+    }
+
+    @Test
+    void keepsTheChangedBaseSalaryOfPartTimeEmployees() throws IOException {
+        Employee partTime = EmployeeFactory.createPartTimeEmployee("E1", "Clara", "Fischer", IT,
+                EmployeeRole.DEVELOPER, null, 20, 80);
+        partTime.setBaseSalary(1750.25);
+
+        Employee read = readBack(List.of(partTime)).get(0).employee();
+
+        PartTimeEmployee readPartTime = assertInstanceOf(PartTimeEmployee.class, read);
+        assertEquals(1750.25, readPartTime.getBaseSalary());
+        assertEquals(20, readPartTime.getHourlyRate());
+        assertEquals(80, readPartTime.getHoursWorked());
+    }
+
+    @Test
+    void reportsUnterminatedQuotesWithTheLineTheRecordStartsOn() throws IOException {
+        String csv = EmployeeCsvFormat.HEADER + "\r\n\r\nE1,FULLTIME,\"Anna\n,Bauer,,,,1,,,\n";
+        try (EmployeeCsvReader reader = new EmployeeCsvReader(new StringReader(csv), List.of())) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, reader::next);
+            assertTrue(e.getMessage().startsWith("Line 3:"), e.getMessage());
+        }
+    }
+
+    @Test
+    void skipsEmptyLines() throws IOException {
+        String csv = EmployeeCsvFormat.HEADER + "\n\n  \nE1,FULLTIME,Anna,Bauer,,,,1000.0,,,\n\n";
+        try (EmployeeCsvReader reader = new EmployeeCsvReader(new StringReader(csv), List.of())) {
+            EmployeeCsvReader.Row row = reader.next();
+            assertEquals("E1", row.employee().getId());
+            assertEquals(4, row.lineNumber());
+            assertNull(reader.next());
+        }
+    }
+
+    private static List<EmployeeCsvReader.Row> readBack(List<Employee> employees) throws IOException {
+        StringWriter csv = new StringWriter();
+        try (EmployeeCsvWriter writer = new EmployeeCsvWriter(csv)) {
+            writer.writeAll(employees);
+        }
+        try (EmployeeCsvReader reader = new EmployeeCsvReader(new StringReader(csv.toString()), List.of(IT))) {
+            return reader.rows().toList();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package persistence;
+
+import factory.EmployeeFactory;
+import model.Department;
+import model.Employee;
+import model.EmployeeRole;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import service.HRManager;
+import service.TestRosters;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static service.TestRosters.IT;
+import static service.TestRosters.assertSameEmployees;
+import static service.TestRosters.departments;
+import static service.TestRosters.random;
+
+/**
+ * Writes snapshots and reads them back.
+ */
+class EmployeeSnapshotTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsBackManagersAndPartTimeEmployees() throws IOException {
+        Map<String, Department> departments = departments();
+        List<Employee> employees = random(500, 1);
+        // A part-time employee whose base salary was changed after hiring, and an employee without any optional field
+        Employee partTime = EmployeeFactory.createPartTimeEmployee("P", "Clara", "Fischer", IT, EmployeeRole.DEVELOPER,
+                null, 20, 80);
+        partTime.setBaseSalary(1750.25);
+        employees.add(partTime);
+        employees.add(EmployeeFactory.createFullTimeEmployee("N", null, null, null, null, null, 0));
+        employees.get(0).setManager(partTime); // A manager that comes later in the list than their report
+
+        EmployeeSnapshot.Contents contents = EmployeeSnapshot.read(ByteBuffer.wrap(written(departments, employees)));
+
+        assertEquals(departments, contents.departments());
+        assertSameEmployees(employees, contents.employees());
+        assertSame(contents.employees().get(500), contents.employees().get(0).getManager());
+    }
+
+    @Test
+    void readsBackAnEmptyRoster() throws IOException {
+        EmployeeSnapshot.Contents contents = EmployeeSnapshot.read(ByteBuffer.wrap(written(Map.of(), List.of())));
+
+        assertTrue(contents.departments().isEmpty());
+        assertTrue(contents.employees().isEmpty());
+    }
+
+    @Test
+    void savesAndLoadsThroughAFile() throws IOException {
+        Path file = directory.resolve("hrms.snapshot");
+        HRManager hrManager = TestRosters.load(random(200, 2));
+
+        EmployeeSnapshot.save(hrManager, file);
+        List<Employee> saved = hrManager.getAllEmployees();
+        hrManager.restore(Map.of(), List.of());
+        EmployeeSnapshot.save(hrManager, file); // Replaces the existing file
+        assertTrue(EmployeeSnapshot.load(file).employees().isEmpty());
+
+        hrManager.restore(departments(), saved);
+        EmployeeSnapshot.save(hrManager, file);
+        assertSameEmployees(saved, EmployeeSnapshot.load(file).employees());
+        assertFalse(Files.exists(directory.resolve("hrms.snapshot.tmp")));
+        hrManager.restore(Map.of(), List.of());
+    }
+
+    @Test
+    void refusesIncompleteFiles() throws IOException {
+        byte[] complete = written(departments(), random(20, 3));
+        Path file = directory.resolve("hrms.snapshot");
+        for (int length = 0; length < complete.length; length++) {
+            Files.write(file, Arrays.copyOf(complete, length));
+            IOException e = assertThrows(IOException.class, () -> EmployeeSnapshot.load(file), "Length " + length);
+            assertTrue(e.getMessage().contains(file.toString()), e.getMessage());
+        }
+    }
+
+    @Test
+    void refusesDamagedFilesWithAnIOException() throws IOException {
+        byte[] complete = written(departments(), random(20, 4));
+        Random random = new Random(5);
+        for (int i = 0; i < 2000; i++) {
+            byte[] damaged = complete.clone();
+            for (int changes = 1 + random.nextInt(3); changes > 0; changes--) {
+                damaged[8 + random.nextInt(damaged.length - 8)] = (byte) random.nextInt(256);
+            }
+            try {
+                EmployeeSnapshot.read(ByteBuffer.wrap(damaged)); // Some damage still gives a readable snapshot
+            } catch (IOException e) {
+                // Expected; any other exception fails the test
+            }
+        }
+    }
+
+    private static byte[] written(Map<String, Department> departments, List<Employee> employees) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        EmployeeSnapshot.write(departments, employees, bytes);
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,95 @@
+package service;
+
+import model.Department;
+import model.Employee;
+import model.EmployeeRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import strategy.SalaryStrategyRegistry;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the incrementally updated figures per department and role against figures calculated from scratch.
+ */
+class EmployeeAggregatesTest {
+    private static final double DELTA = 1e-6;
+
+    private HRManager hrManager;
+
+    @BeforeEach
+    void setUp() {
+        hrManager = TestRosters.load(TestRosters.random(1000, 3));
+    }
+
+    @Test
+    void matchesFiguresCalculatedFromScratch() {
+        assertMatchesScratch();
+    }
+
+    @Test
+    void followsChangesOfTheEmployees() {
+        Random random = new Random(4);
+        Department[] departments = TestRosters.departments().values().toArray(new Department[0]);
+        EmployeeRole[] roles = EmployeeRole.values();
+        for (int i = 0; i < 500; i++) {
+            List<Employee> all = hrManager.getAllEmployees();
+            Employee employee = all.get(random.nextInt(all.size()));
+            switch (random.nextInt(4)) {
+                case 0 -> employee.setRole(roles[random.nextInt(roles.length)]);
+                case 1 -> employee.setDepartment(departments[random.nextInt(departments.length)]);
+                case 2 -> employee.setBaseSalary(2000 + random.nextInt(6000));
+                default -> hrManager.deleteEmployee(employee.getId());
+            }
+        }
+        assertMatchesScratch();
+    }
+
+    @Test
+    void emptyGroupsHaveNoFigures() {
+        TestRosters.load(List.of());
+        assertEquals(GroupStats.EMPTY, hrManager.getAggregates().getStats(EmployeeRole.DEVELOPER));
+        assertEquals(0, hrManager.getAggregates().getDepartmentStats().size());
+    }
+
+    private void assertMatchesScratch() {
+        EmployeeAggregates aggregates = hrManager.getAggregates();
+        for (Department department : TestRosters.departments().values()) {
+            assertStats(scratch(employee -> department.equals(employee.getDepartment())), aggregates.getStats(department));
+        }
+        for (EmployeeRole role : EmployeeRole.values()) {
+            assertStats(scratch(employee -> role == employee.getRole()), aggregates.getStats(role));
+        }
+    }
+
+    private GroupStats scratch(Predicate<Employee> inGroup) {
+        SalaryStrategyRegistry strategies = hrManager.getSalaryStrategies();
+        int headcount = 0;
+        double totalBase = 0;
+        double total = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (Employee employee : hrManager.getAllEmployees()) {
+            if (inGroup.test(employee)) {
+                double salary = strategies.calculate(employee);
+                headcount++;
+                totalBase += employee.getBaseSalary();
+                total += salary;
+                min = Math.min(min, salary);
+                max = Math.max(max, salary);
+            }
+        }
+        return headcount == 0 ? GroupStats.EMPTY : new GroupStats(headcount, totalBase, total, min, max);
+    }
+
+    private static void assertStats(GroupStats expected, GroupStats actual) {
+        assertEquals(expected.headcount(), actual.headcount());
+        assertEquals(expected.totalBaseSalary(), actual.totalBaseSalary(), DELTA);
+        assertEquals(expected.totalSalary(), actual.totalSalary(), DELTA);
+        assertEquals(expected.minSalary(), actual.minSalary(), DELTA);
+        assertEquals(expected.maxSalary(), actual.maxSalary(), DELTA);
+    }
+}
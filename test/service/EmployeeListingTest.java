@@ -0,0 +1,114 @@
+package service;
+
+import factory.EmployeeFactory;
+import model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the paged listing of HRManager: continuation tokens while employees come and go, and invalid tokens.
+ */
+class EmployeeListingTest {
+    private HRManager hrManager;
+
+    @BeforeEach
+    void setUp() {
+        hrManager = TestRosters.load(TestRosters.random(300, 7));
+    }
+
+    @Test
+    void tokenStaysValidWhileEmployeesAroundItChange() {
+        for (EmployeeSortKey sortKey : EmployeeSortKey.values()) {
+            hrManager = TestRosters.load(TestRosters.random(300, 10));
+            EmployeePage first = hrManager.listEmployees(sortKey, null, 40);
+            Employee cursor = last(first.getEmployees());
+            Employee followsCursor = sorted(sortKey).get(40);
+
+            // Remove the employee the token points behind and the one right after it, and hire someone
+            // who sorts before the token (except in insertion order) and someone who sorts after it
+            hrManager.deleteEmployee(cursor.getId());
+            hrManager.deleteEmployee(followsCursor.getId());
+            hrManager.addEmployee(EmployeeFactory.createFullTimeEmployee("A", "Anna", "Aaron", null, null, null, 3000));
+            hrManager.addEmployee(EmployeeFactory.createFullTimeEmployee("Z", "Ben", "Zimmermann", TestRosters.SALES, null, null, 3000));
+            List<Employee> rest = listAll(sortKey, first.getNextToken(), 40);
+
+            Set<String> firstPage = Set.copyOf(ids(first.getEmployees()));
+            List<String> expected = ids(sorted(sortKey)).stream()
+                    .filter(id -> !firstPage.contains(id) && (sortKey == EmployeeSortKey.INSERTION || !id.equals("A")))
+                    .toList();
+            assertEquals(expected, ids(rest), sortKey.name());
+            assertEquals("Z", last(rest).getId());
+            Set<String> listed = new HashSet<>(ids(first.getEmployees()));
+            for (Employee employee : rest) {
+                assertTrue(listed.add(employee.getId()), "Listed twice: " + employee.getId());
+            }
+        }
+    }
+
+    @Test
+    void refusesInvalidTokensAndArguments() {
+        String idToken = hrManager.listEmployees(EmployeeSortKey.ID, null, 10).getNextToken();
+
+        assertThrows(IllegalArgumentException.class, () -> hrManager.listEmployees(EmployeeSortKey.LAST_NAME, idToken, 10));
+        for (String token : List.of("", "not a token!", encode("LAST_NAME"), encode("LAST_NAME:x:-"), encode("SALARY:1:-"))) {
+            assertThrows(IllegalArgumentException.class, () -> hrManager.listEmployees(EmployeeSortKey.LAST_NAME, token, 10), token);
+        }
+        assertThrows(IllegalArgumentException.class, () -> hrManager.listEmployees(EmployeeSortKey.ID, idToken, 0));
+        assertThrows(IllegalArgumentException.class, () -> hrManager.listEmployees(EmployeeSortKey.ID, -1, 10));
+    }
+
+    @Test
+    void lastPageHasNoToken() {
+        EmployeePage page = hrManager.listEmployees(EmployeeSortKey.ID, 290, 10);
+        assertEquals(10, page.getEmployees().size());
+        assertNull(page.getNextToken());
+        assertTrue(hrManager.listEmployees(EmployeeSortKey.ID, 300, 10).getEmployees().isEmpty());
+    }
+
+    /**
+     * The employees in the given order, calculated from scratch with a stable sort of the insertion order.
+     */
+    private List<Employee> sorted(EmployeeSortKey sortKey) {
+        List<Employee> sorted = new ArrayList<>(hrManager.getAllEmployees());
+        if (sortKey != EmployeeSortKey.INSERTION) {
+            sortKey.newStrategy().sort(sorted);
+        }
+        return sorted;
+    }
+
+    /**
+     * Follows the continuation tokens from the given one to the last page.
+     */
+    private List<Employee> listAll(EmployeeSortKey sortKey, String token, int limit) {
+        List<Employee> listed = new ArrayList<>();
+        do {
+            EmployeePage page = hrManager.listEmployees(sortKey, token, limit);
+            listed.addAll(page.getEmployees());
+            token = page.getNextToken();
+        } while (token != null);
+        return listed;
+    }
+
+    private static List<String> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).toList();
+    }
+
+    private static Employee last(List<Employee> employees) {
+        return employees.get(employees.size() - 1);
+    }
+
+    private static String encode(String text) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,90 @@
+package service;
+
+import model.Department;
+import model.Employee;
+import model.EmployeeRole;
+import model.FullTimeEmployee;
+import model.PartTimeEmployee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks findEmployees against a plain filter over all employees, also after employees have changed.
+ */
+class EmployeeQueryIndexTest {
+    private HRManager hrManager;
+    private List<EmployeeQuery> queries;
+
+    @BeforeEach
+    void setUp() {
+        hrManager = TestRosters.load(TestRosters.random(2000, 1));
+        queries = queries();
+    }
+
+    @Test
+    void findsTheSameEmployeesAsAFullScan() {
+        assertAllQueriesMatchScan();
+    }
+
+    @Test
+    void followsChangesOfTheEmployees() {
+        Random random = new Random(2);
+        Department[] departments = TestRosters.departments().values().toArray(new Department[0]);
+        EmployeeRole[] roles = EmployeeRole.values();
+        for (int i = 0; i < 500; i++) {
+            List<Employee> all = hrManager.getAllEmployees();
+            Employee employee = all.get(random.nextInt(all.size()));
+            switch (random.nextInt(5)) {
+                case 0 -> employee.setRole(roles[random.nextInt(roles.length)]);
+                case 1 -> employee.setDepartment(departments[random.nextInt(departments.length)]);
+                case 2 -> employee.setBaseSalary(2000 + random.nextInt(6000));
+                case 3 -> {
+                    Employee manager = all.get(random.nextInt(all.size()));
+                    if (manager != employee && !hrManager.isInReportingChain(manager.getId(), employee.getId())) {
+                        employee.setManager(manager);
+                    }
+                }
+                default -> hrManager.deleteEmployee(employee.getId()); // Refused while the employee has reports
+            }
+        }
+        assertAllQueriesMatchScan();
+    }
+
+    private void assertAllQueriesMatchScan() {
+        for (EmployeeQuery query : queries) {
+            Set<String> expected = hrManager.getAllEmployees().stream()
+                    .filter(query::matches)
+                    .map(Employee::getId)
+                    .collect(Collectors.toCollection(TreeSet::new));
+            Set<String> found = hrManager.findEmployees(query)
+                    .map(Employee::getId)
+                    .collect(Collectors.toCollection(TreeSet::new));
+            assertEquals(expected, found, query.toString());
+        }
+    }
+
+    private static List<EmployeeQuery> queries() {
+        Department it = TestRosters.departments().get("IT");
+        List<EmployeeQuery> queries = new ArrayList<>();
+        queries.add(new EmployeeQuery.Builder().build());
+        queries.add(new EmployeeQuery.Builder().setDepartment(it).build());
+        queries.add(new EmployeeQuery.Builder().setRole(EmployeeRole.DEVELOPER).build());
+        queries.add(new EmployeeQuery.Builder().setType(PartTimeEmployee.class).build());
+        queries.add(new EmployeeQuery.Builder().setMinSalary(4000).setMaxSalary(5000).build());
+        queries.add(new EmployeeQuery.Builder().setManagerId("E0").build());
+        queries.add(new EmployeeQuery.Builder().setDepartment(it).setRole(EmployeeRole.QA_ENGINEER)
+                .setType(FullTimeEmployee.class).setMinSalary(3000).build());
+        queries.add(new EmployeeQuery.Builder().setRole(EmployeeRole.ADMINISTRATOR).setMaxSalary(3000).build());
+        queries.add(new EmployeeQuery.Builder().setManagerId("E3").setRole(EmployeeRole.DEVELOPER).build());
+        queries.add(new EmployeeQuery.Builder().setMinSalary(100_000).build());
+        return queries;
+    }
+}
@@ -0,0 +1,130 @@
+package service;
+
+import model.Employee;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the persistent vector against a plain list after random changes, and that older versions never change.
+ */
+class EmployeeVectorTest {
+    @Test
+    void matchesAListAfterRandomChanges() {
+        List<Employee> pool = TestRosters.random(400, 1);
+        Random random = new Random(2);
+        EmployeeVector vector = EmployeeVector.EMPTY;
+        TreeMap<Integer, Employee> positions = new TreeMap<>(); // Position -> employee, the expected contents
+        List<EmployeeVector> versions = new ArrayList<>();
+        List<List<Employee>> expectedVersions = new ArrayList<>();
+
+        for (int round = 0; round < 300; round++) {
+            EmployeeVector.Transient changes = vector.asTransient();
+            // Mostly small batches, sometimes a bulk import that needs more levels
+            int count = random.nextInt(20) == 0 ? 1 + random.nextInt(3000) : 1 + random.nextInt(8);
+            for (int i = 0; i < count; i++) {
+                int kind = positions.isEmpty() ? 0 : random.nextInt(4);
+                Employee employee = pool.get(random.nextInt(pool.size()));
+                if (kind <= 1) {
+                    int position = changes.append(employee);
+                    assertEquals(changes.end() - 1, position);
+                    positions.put(position, employee);
+                } else {
+                    int position = randomPosition(positions, random);
+                    if (kind == 2) {
+                        changes.set(position, employee);
+                        positions.put(position, employee);
+                    } else {
+                        changes.remove(position);
+                        positions.remove(position);
+                    }
+                }
+            }
+            assertEquals(positions.size(), changes.size());
+            EmployeeVector next = changes.persistent();
+            assertEquals(vector.getVersion() + 1, next.getVersion());
+            vector = next;
+
+            List<Employee> expected = new ArrayList<>(positions.values());
+            assertMatches(expected, vector);
+            if (round % 10 == 0) {
+                versions.add(vector);
+                expectedVersions.add(expected);
+            }
+        }
+
+        for (int i = 0; i < versions.size(); i++) {
+            assertMatches(expectedVersions.get(i), versions.get(i));
+        }
+    }
+
+    @Test
+    void emptyTransientStartsOverWithTheNextVersion() {
+        EmployeeVector.Transient changes = EmployeeVector.EMPTY.asTransient();
+        for (Employee employee : TestRosters.random(100, 3)) {
+            changes.append(employee);
+        }
+        EmployeeVector full = changes.persistent();
+
+        EmployeeVector.Transient cleared = full.asEmptyTransient();
+        assertEquals(0, cleared.end());
+        Employee only = TestRosters.random(1, 4).get(0);
+        assertEquals(0, cleared.append(only));
+        EmployeeVector next = cleared.persistent();
+
+        assertEquals(full.getVersion() + 1, next.getVersion());
+        assertEquals(List.of(only), next);
+        assertEquals(100, full.size());
+    }
+
+    @Test
+    void refusesInvalidChanges() {
+        EmployeeVector.Transient changes = EmployeeVector.EMPTY.asTransient();
+        changes.append(TestRosters.random(1, 5).get(0));
+        changes.remove(0);
+        Employee employee = TestRosters.random(1, 6).get(0);
+
+        assertThrows(IllegalArgumentException.class, () -> changes.remove(0));
+        assertThrows(IllegalArgumentException.class, () -> changes.set(0, employee));
+        assertThrows(IndexOutOfBoundsException.class, () -> changes.set(1, employee));
+        EmployeeVector vector = changes.persistent();
+        assertThrows(IllegalStateException.class, () -> changes.append(employee));
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.get(0));
+        assertThrows(UnsupportedOperationException.class, () -> vector.add(employee));
+        Iterator<Employee> iterator = vector.iterator();
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    private static int randomPosition(TreeMap<Integer, Employee> positions, Random random) {
+        Integer position = positions.ceilingKey(random.nextInt(positions.lastKey() + 1));
+        return position != null ? position : positions.lastKey();
+    }
+
+    /**
+     * Compares every way of reading the vector with the expected list.
+     */
+    private static void assertMatches(List<Employee> expected, EmployeeVector vector) {
+        assertEquals(expected.size(), vector.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertTrue(expected.get(i) == vector.get(i), "get(" + i + ")");
+        }
+        List<Employee> iterated = new ArrayList<>();
+        vector.iterator().forEachRemaining(iterated::add);
+        assertEquals(expected, iterated);
+        List<Employee> visited = new ArrayList<>();
+        vector.forEach(visited::add);
+        assertEquals(expected, visited);
+        assertEquals(expected, vector.stream().toList());
+        assertEquals(expected, vector);
+    }
+}
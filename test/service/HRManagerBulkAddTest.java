@@ -0,0 +1,154 @@
+package service;
+
+import factory.EmployeeFactory;
+import model.Employee;
+import observer.EmployeeObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import output.MemorySink;
+import output.NoOpSink;
+import output.OutputEvent;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks which rows HRManager.addEmployees rejects, that the accepted rows appear all at once,
+ * and that a failing observer does not hide the result.
+ */
+class HRManagerBulkAddTest {
+    private HRManager hrManager;
+    private final List<EmployeeObserver> observers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        hrManager = TestRosters.load(TestRosters.random(20, 1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        observers.forEach(hrManager.getNotifier()::removeObserver);
+        hrManager.setOutputSink(NoOpSink.getInstance());
+    }
+
+    @Test
+    void rejectsInvalidRowsAndAddsTheRest() {
+        Employee stored = hrManager.getEmployeeById("E3").orElseThrow();
+        Employee gone = employee("GONE", null); // Never added
+        Employee cycleA = employee("C1", null);
+        Employee cycleB = employee("C2", cycleA);
+        cycleA.setManager(cycleB);
+        Employee newManager = employee("M1", employee("E3", null)); // Refers to a copy of E3
+        List<Employee> batch = new ArrayList<>(List.of(
+                employee("E5", null), // Already stored
+                employee("D1", null),
+                employee("D1", null), // Duplicate in the batch
+                employee("O1", gone),
+                employee("O2", employee("O1", null)), // Below a rejected row
+                cycleA, cycleB,
+                employee("B1", cycleB),
+                newManager,
+                employee("R1", newManager)));
+        batch.add(null);
+
+        BulkImportResult result = hrManager.addEmployees(batch);
+
+        assertEquals(List.of("D1", "M1", "R1"), result.getAccepted().stream().map(Employee::getId).toList());
+        Map<String, String> reasons = new HashMap<>();
+        for (BulkImportResult.Rejection rejection : result.getRejected()) {
+            reasons.put(rejection.employee() != null ? rejection.employee().getId() : null, rejection.reason());
+        }
+        assertEquals(8, result.getRejected().size());
+        assertEquals("Employee with ID E5 already exists.", reasons.get("E5"));
+        assertEquals("Duplicate employee ID D1 in batch.", reasons.get("D1"));
+        assertEquals("Manager with ID GONE not found.", reasons.get("O1"));
+        assertEquals("Missing employee or employee ID.", reasons.get(null));
+        assertTrue(reasons.keySet().containsAll(List.of("O2", "C1", "C2", "B1")), reasons.keySet().toString());
+
+        assertEquals(23, hrManager.getAllEmployees().size());
+        // Manager references point to the stored objects
+        assertSame(stored, hrManager.getEmployeeById("M1").orElseThrow().getManager());
+        assertSame(newManager, hrManager.getEmployeeById("R1").orElseThrow().getManager());
+        assertTrue(hrManager.getEmployeeById("O1").isEmpty());
+    }
+
+    @Test
+    void otherThreadsSeeEitherNoneOrAllOfABatch() throws InterruptedException {
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> seen = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                int size = hrManager.getAllEmployees().size();
+                if ((size - 20) % 500 != 0) {
+                    seen.compareAndSet(null, "Part of a batch: " + size + " employees");
+                }
+            }
+        });
+        reader.start();
+        try {
+            for (int round = 0; round < 20; round++) {
+                List<Employee> batch = new ArrayList<>();
+                for (int i = 0; i < 500; i++) {
+                    batch.add(employee("N" + round + "-" + i, i == 0 ? null : batch.get(i - 1)));
+                }
+                assertEquals(500, hrManager.addEmployees(batch).getAccepted().size());
+            }
+        } finally {
+            done.set(true);
+            reader.join();
+        }
+        assertNull(seen.get());
+    }
+
+    @Test
+    void failingObserverDoesNotHideTheResult() {
+        List<Employee> notified = new ArrayList<>();
+        observe(notified::add);
+        observe(employee -> {
+            throw new IllegalStateException("Observer failed");
+        });
+        MemorySink sink = new MemorySink();
+        hrManager.setOutputSink(sink);
+        List<Employee> batch = List.of(employee("B1", null), employee("B2", null));
+
+        BulkImportResult result = hrManager.addEmployees(batch);
+
+        assertEquals(batch, result.getAccepted());
+        assertEquals(batch, notified);
+        assertEquals(22, hrManager.getAllEmployees().size());
+        assertEquals(List.of("employees.notificationFailed"), sink.getEvents().stream().map(OutputEvent::type).toList());
+        assertEquals("Error: Observers were not notified about all 2 new employees: Observer failed", sink.getMessages().get(0));
+    }
+
+    /**
+     * Adds a synchronous observer that passes every new hire to the given action.
+     */
+    private void observe(Consumer<Employee> onNewHire) {
+        EmployeeObserver observer = new EmployeeObserver() {
+            @Override
+            public void onNewHire(Employee employee) {
+                onNewHire.accept(employee);
+            }
+
+            @Override
+            public void onTermination(Employee employee) {
+            }
+        };
+        hrManager.getNotifier().addObserver(observer);
+        observers.add(observer);
+    }
+
+    private static Employee employee(String id, Employee manager) {
+        return EmployeeFactory.createFullTimeEmployee(id, "First", "Last", null, null, manager, 3000);
+    }
+}
@@ -0,0 +1,211 @@
+package service;
+
+import factory.EmployeeFactory;
+import model.Department;
+import model.Employee;
+import model.EmployeeRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Stress test: 32 threads add, update, delete and look up employees at the same time.
+ * Every thread works on its own employees (so it knows exactly what they must look like) below a shared roster
+ * that all threads also change and read. No update may be lost, no call may fail (e.g. with a
+ * ConcurrentModificationException), and afterwards all indexes must agree with the employees.
+ */
+class HRManagerConcurrencyTest {
+    private static final int THREADS = 32;
+    private static final int OPERATIONS_PER_THREAD = 2000;
+    private static final int SHARED = 100;
+
+    private HRManager hrManager;
+    private List<Employee> shared;
+
+    @BeforeEach
+    void setUp() {
+        shared = TestRosters.random(SHARED, 5);
+        hrManager = TestRosters.load(shared);
+    }
+
+    @Test
+    @Timeout(value = 2, unit = TimeUnit.MINUTES)
+    void mixedOperationsOn32ThreadsLoseNoUpdates() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<Map<String, Double>>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            results.add(pool.submit(() -> {
+                start.await();
+                return work(thread);
+            }));
+        }
+        start.countDown();
+        Map<String, Double> expected = new HashMap<>();
+        for (Future<Map<String, Double>> result : results) {
+            expected.putAll(result.get()); // Rethrows any failure of a worker
+        }
+        pool.shutdown();
+
+        // No lost updates: every employee of every thread is stored exactly as that thread left it
+        assertEquals(SHARED + expected.size(), hrManager.getAllEmployees().size());
+        for (Map.Entry<String, Double> entry : expected.entrySet()) {
+            Employee employee = hrManager.getEmployeeById(entry.getKey()).orElseThrow();
+            assertEquals(entry.getValue(), employee.getBaseSalary(), entry.getKey());
+        }
+        assertIndexesAgreeWithEmployees();
+    }
+
+    @Test
+    @Timeout(value = 1, unit = TimeUnit.MINUTES)
+    void restorePublishesDepartmentsAndEmployeesTogether() throws Exception {
+        // Two saved states that can be told apart: each department map has its own size and roster
+        Map<String, Department> small = Map.of("HR", TestRosters.departments().get("HR"));
+        Map<String, Department> large = TestRosters.departments();
+        List<Employee> smallRoster = TestRosters.random(10, 6);
+        List<Employee> largeRoster = TestRosters.random(30, 7);
+        hrManager.restore(small, smallRoster);
+
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        CountDownLatch started = new CountDownLatch(1);
+        Future<?> reads = reader.submit(() -> {
+            started.countDown();
+            while (!Thread.currentThread().isInterrupted()) {
+                HRState state = hrManager.getState();
+                int expectedSize = state.departments().size() == small.size() ? smallRoster.size() : largeRoster.size();
+                assertEquals(expectedSize, state.employees().size());
+            }
+            return null;
+        });
+        started.await();
+        for (int i = 0; i < 2000; i++) {
+            hrManager.restore(i % 2 == 0 ? large : small, i % 2 == 0 ? largeRoster : smallRoster);
+        }
+        reader.shutdownNow(); // Interrupts the reader, which then stops
+        reads.get(); // Rethrows a mismatch the reader saw
+    }
+
+    /**
+     * One worker: returns its employees that are still stored (ID -> base salary).
+     */
+    private Map<String, Double> work(int thread) {
+        Random random = new Random(thread);
+        Department[] departments = TestRosters.departments().values().toArray(new Department[0]);
+        EmployeeRole[] roles = EmployeeRole.values();
+        Map<String, Double> mine = new HashMap<>();
+        List<String> myIds = new ArrayList<>();
+        int nextId = 0;
+
+        for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+            int operation = random.nextInt(100);
+            String id = myIds.isEmpty() ? null : myIds.get(random.nextInt(myIds.size()));
+            if (operation < 30 || id == null) {
+                // Add, below a shared employee, one of our own, or no one
+                Employee manager = switch (random.nextInt(3)) {
+                    case 0 -> shared.get(random.nextInt(SHARED));
+                    case 1 -> id != null ? hrManager.getEmployeeById(id).orElseThrow() : null;
+                    default -> null;
+                };
+                String newId = "T" + thread + "-" + nextId++;
+                double salary = 2000 + random.nextInt(6000);
+                hrManager.addEmployee(EmployeeFactory.createFullTimeEmployee(newId, "Thread", "Worker" + thread,
+                        departments[random.nextInt(departments.length)], roles[random.nextInt(roles.length)], manager, salary));
+                mine.put(newId, salary);
+                myIds.add(newId);
+            } else if (operation < 45) {
+                double salary = 2000 + random.nextInt(6000);
+                hrManager.getEmployeeById(id).orElseThrow().setBaseSalary(salary);
+                mine.put(id, salary);
+            } else if (operation < 55) {
+                // Replace the employee object, keeping the manager
+                Employee current = hrManager.getEmployeeById(id).orElseThrow();
+                double salary = 2000 + random.nextInt(6000);
+                assertTrue(hrManager.updateEmployee(EmployeeFactory.createFullTimeEmployee(id, current.getFirstName(),
+                        current.getLastName(), current.getDepartment(), current.getRole(), current.getManager(), salary)));
+                mine.put(id, salary);
+            } else if (operation < 65) {
+                // Only this thread gives reports to its employees, so the outcome is known in advance
+                boolean hasReports = !hrManager.getDirectReports(id).isEmpty();
+                assertEquals(!hasReports, hrManager.deleteEmployee(id), id);
+                if (!hasReports) {
+                    mine.remove(id);
+                    myIds.remove(id);
+                }
+            } else if (operation < 75) {
+                // Contended changes of the shared employees
+                Employee employee = shared.get(random.nextInt(SHARED));
+                employee.setBaseSalary(2000 + random.nextInt(6000));
+                employee.setDepartment(departments[random.nextInt(departments.length)]);
+                employee.setRole(roles[random.nextInt(roles.length)]);
+            } else {
+                // Lookups and reads of everything while others change it
+                Employee employee = hrManager.getEmployeeById(id).orElseThrow();
+                assertEquals(mine.get(id), employee.getBaseSalary(), id);
+                if (operation >= 98) {
+                    // Full walks are rare, so the threads mostly overlap in their changes
+                    hrManager.getAllReports(shared.get(0).getId());
+                    int count = 0;
+                    for (Employee ignored : hrManager.getAllEmployees()) {
+                        count++;
+                    }
+                    assertTrue(count >= SHARED);
+                }
+                hrManager.findEmployees(new EmployeeQuery.Builder().setRole(roles[random.nextInt(roles.length)]).build()).limit(20).count();
+                hrManager.listEmployees(EmployeeSortKey.LAST_NAME, random.nextInt(100), 20);
+                hrManager.searchEmployeesByName("Work", 10);
+                hrManager.getAggregates().getDepartmentStats();
+            }
+        }
+        return mine;
+    }
+
+    private void assertIndexesAgreeWithEmployees() {
+        List<Employee> all = hrManager.getAllEmployees();
+        assertEquals(all.size(), hrManager.findEmployees(new EmployeeQuery.Builder().build()).count());
+
+        // Salary index and aggregates must show the final salaries, even of the shared employees
+        EmployeeQuery range = new EmployeeQuery.Builder().setMinSalary(3000).setMaxSalary(5000).build();
+        assertEquals(all.stream().filter(range::matches).count(), hrManager.findEmployees(range).count());
+        int headcount = 0;
+        for (Department department : TestRosters.departments().values()) {
+            GroupStats stats = hrManager.getAggregates().getStats(department);
+            double total = 0;
+            int count = 0;
+            for (Employee employee : all) {
+                if (department.equals(employee.getDepartment())) {
+                    total += employee.getBaseSalary();
+                    count++;
+                }
+            }
+            assertEquals(count, stats.headcount(), department.name());
+            assertEquals(total, stats.totalBaseSalary(), 1e-3, department.name());
+            headcount += stats.headcount();
+        }
+        assertEquals(all.size(), headcount);
+
+        // Reporting index: every employee is listed under its current manager
+        for (Employee employee : all) {
+            Employee manager = employee.getManager();
+            if (manager != null) {
+                assertTrue(hrManager.getDirectReports(manager.getId()).contains(employee), employee.getId());
+            }
+        }
+        assertFalse(Collections.disjoint(all, hrManager.getTopLevelEmployees()));
+    }
+}
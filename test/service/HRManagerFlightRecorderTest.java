@@ -0,0 +1,141 @@
+package service;
+
+import factory.EmployeeFactory;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import model.Department;
+import model.Employee;
+import model.EmployeeRole;
+import observer.EmployeeObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import output.MemorySink;
+import output.NoOpSink;
+import util.OrgChartUtil;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Records the HR system with Java Flight Recorder and checks the hrms.* events and their fields.
+ */
+class HRManagerFlightRecorderTest {
+    private static final String[] EVENT_NAMES = {
+            "hrms.EmployeeAdd", "hrms.EmployeeDelete", "hrms.Payroll", "hrms.OrgChart", "hrms.ObserverDelivery"};
+
+    /**
+     * An observer that does nothing; the deliveries to it are recorded.
+     */
+    private static final class QuietObserver implements EmployeeObserver {
+        @Override
+        public void onNewHire(Employee employee) {
+        }
+
+        @Override
+        public void onTermination(Employee employee) {
+        }
+    }
+
+    @TempDir
+    Path directory;
+
+    private final QuietObserver observer = new QuietObserver();
+    private HRManager hrManager;
+
+    @AfterEach
+    void tearDown() {
+        hrManager.getNotifier().removeObserver(observer);
+        hrManager.setOutputSink(NoOpSink.getInstance());
+        hrManager.getNotifier().setOutputSink(NoOpSink.getInstance());
+    }
+
+    @Test
+    void recordsEveryOperationWithItsFields() throws IOException {
+        hrManager = TestRosters.load(TestRosters.random(20, 1));
+        hrManager.setOutputSink(new MemorySink()); // The org chart is only rendered for an enabled sink
+        hrManager.getNotifier().addObserver(observer);
+        Department it = TestRosters.departments().get("IT");
+        Employee top = hrManager.getEmployeeById("E0").orElseThrow();
+        Employee hire = EmployeeFactory.createFullTimeEmployee("J1", "Jonas", "Weber", it, EmployeeRole.DEVELOPER, top, 4000);
+
+        PayrollResult payroll;
+        Path file = directory.resolve("hrms.jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : EVENT_NAMES) {
+                recording.enable(name).withoutThreshold();
+            }
+            recording.start();
+            hrManager.addEmployee(hire);
+            hrManager.addEmployee(hire); // Duplicate
+            hrManager.deleteEmployee("J1");
+            payroll = hrManager.runPayroll();
+            OrgChartUtil.printFullOrganizationChart();
+            OrgChartUtil.printOrganizationChart(top, "");
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+        List<RecordedEvent> adds = ofType(events, "hrms.EmployeeAdd");
+        assertEquals(2, adds.size());
+        assertEquals("J1", adds.get(0).getString("employeeId"));
+        assertEquals(it.name(), adds.get(0).getString("department"));
+        assertTrue(adds.get(0).getBoolean("added"));
+        assertEquals(21, adds.get(0).getInt("employeeCount"));
+        assertFalse(adds.get(1).getBoolean("added"));
+        assertEquals(21, adds.get(1).getInt("employeeCount"));
+
+        List<RecordedEvent> deletes = ofType(events, "hrms.EmployeeDelete");
+        assertEquals(1, deletes.size());
+        assertEquals("J1", deletes.get(0).getString("employeeId"));
+        assertEquals(it.name(), deletes.get(0).getString("department"));
+        assertTrue(deletes.get(0).getBoolean("deleted"));
+        assertEquals(20, deletes.get(0).getInt("employeeCount"));
+
+        List<RecordedEvent> payrolls = ofType(events, "hrms.Payroll");
+        assertEquals(1, payrolls.size());
+        assertEquals(20, payrolls.get(0).getInt("employeeCount"));
+        assertEquals(payroll.getDepartmentTotals().size(), payrolls.get(0).getInt("departmentCount"));
+        assertEquals(payroll.getCompanyTotal(), payrolls.get(0).getDouble("companyTotal"));
+
+        List<RecordedEvent> charts = ofType(events, "hrms.OrgChart");
+        assertEquals(2, charts.size());
+        assertEquals("", charts.get(0).getString("rootEmployeeId"));
+        assertEquals(20, charts.get(0).getInt("employeeCount"));
+        assertEquals("E0", charts.get(1).getString("rootEmployeeId"));
+        assertEquals(1 + hrManager.getTransitiveReportCount("E0"), charts.get(1).getInt("employeeCount"));
+
+        List<RecordedEvent> deliveries = ofType(events, "hrms.ObserverDelivery");
+        assertEquals(2, deliveries.size());
+        assertEquals("QuietObserver", deliveries.get(0).getString("observer"));
+        assertEquals("NEW_HIRE", deliveries.get(0).getString("eventType"));
+        assertEquals(1, deliveries.get(0).getInt("employeeCount"));
+        assertEquals(it.name(), deliveries.get(0).getString("department"));
+        assertEquals("TERMINATION", deliveries.get(1).getString("eventType"));
+
+        for (RecordedEvent event : events) {
+            assertFalse(event.getDuration().isNegative(), event.getEventType().getName());
+        }
+    }
+
+    /**
+     * Returns the events of one type in the order they started.
+     */
+    private static List<RecordedEvent> ofType(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = new ArrayList<>();
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().equals(name)) {
+                matching.add(event);
+            }
+        }
+        matching.sort((a, b) -> a.getStartTime().compareTo(b.getStartTime()));
+        return matching;
+    }
+}
@@ -0,0 +1,71 @@
+package service;
+
+import factory.EmployeeFactory;
+import metrics.HRMetrics;
+import metrics.Operation;
+import model.Employee;
+import observer.EmployeeObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that every operation is recorded once, under its own name.
+ */
+class HRManagerMetricsTest {
+    private HRManager hrManager;
+    private HRMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        hrManager = TestRosters.load(TestRosters.random(20, 1));
+        metrics = hrManager.getMetrics();
+        metrics.reset();
+        metrics.setEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        metrics.setEnabled(false);
+        metrics.reset();
+    }
+
+    @Test
+    void deletingIsNotCountedAsALookup() {
+        List<Employee> all = hrManager.getAllEmployees();
+        hrManager.deleteEmployee(all.get(all.size() - 1).getId());
+        hrManager.deleteEmployee("missing");
+
+        assertEquals(2, metrics.get(Operation.DELETE).getCalls());
+        assertEquals(0, metrics.get(Operation.LOOKUP).getCalls());
+    }
+
+    @Test
+    void aBulkAddWithAFailingObserverIsStillRecorded() {
+        EmployeeObserver failing = new EmployeeObserver() {
+            @Override
+            public void onNewHire(Employee employee) {
+                throw new IllegalStateException("Observer failed");
+            }
+
+            @Override
+            public void onTermination(Employee employee) {
+            }
+        };
+        hrManager.getNotifier().addObserver(failing);
+        try {
+            List<Employee> batch = List.of(
+                    EmployeeFactory.createFullTimeEmployee("B1", "Anna", "Bauer", null, null, null, 3000),
+                    EmployeeFactory.createFullTimeEmployee("B2", "Ben", "Koch", null, null, null, 3000));
+            assertEquals(2, hrManager.addEmployees(batch).getAccepted().size());
+        } finally {
+            hrManager.getNotifier().removeObserver(failing);
+        }
+
+        assertEquals(1, metrics.get(Operation.BULK_ADD).getCalls());
+        assertEquals(2, metrics.get(Operation.BULK_ADD).getItems());
+    }
+}
@@ -0,0 +1,134 @@
+package service;
+
+import factory.EmployeeFactory;
+import model.Employee;
+import model.EmployeeRole;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Checks the hierarchy queries against answers calculated by brute force from the direct reports,
+ * after random changes of the reporting structure.
+ */
+class HierarchyIndexTest {
+    @Test
+    void matchesBruteForceAfterRandomChanges() {
+        HRManager hrManager = TestRosters.load(TestRosters.random(300, 1));
+        Random random = new Random(2);
+        int nextId = 0;
+        for (int round = 0; round < 40; round++) {
+            for (int i = 0; i < 50; i++) {
+                List<Employee> all = hrManager.getAllEmployees();
+                Employee employee = all.get(random.nextInt(all.size()));
+                Employee other = random.nextInt(8) == 0 ? null : all.get(random.nextInt(all.size()));
+                switch (random.nextInt(5)) {
+                    case 0 -> hrManager.addEmployee(EmployeeFactory.createFullTimeEmployee("N" + nextId++, "New", "Hire",
+                            employee.getDepartment(), EmployeeRole.DEVELOPER, other, 3000));
+                    case 1 -> hrManager.deleteEmployee(employee.getId()); // Refused while the employee has reports
+                    case 2 -> hrManager.updateEmployee(EmployeeFactory.createFullTimeEmployee(employee.getId(), "Updated",
+                            employee.getLastName(), employee.getDepartment(), employee.getRole(),
+                            random.nextBoolean() ? employee.getManager() : other, 4000));
+                    default -> {
+                        try {
+                            employee.setManager(other);
+                        } catch (IllegalArgumentException e) {
+                            // Would create a reporting cycle; refused
+                        }
+                    }
+                }
+            }
+            assertMatchesBruteForce(hrManager, random);
+        }
+
+        // Restoring adds reports before their managers; the managers adopt them
+        List<Employee> reversed = new ArrayList<>(hrManager.getAllEmployees());
+        Collections.reverse(reversed);
+        hrManager.restore(TestRosters.departments(), reversed);
+        assertMatchesBruteForce(hrManager, random);
+    }
+
+    @Test
+    void oppositeManagerChangesNeverBothSucceed() throws Exception {
+        HRManager hrManager = TestRosters.load(List.of());
+        ExecutorService threads = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 500; round++) {
+                Employee x = EmployeeFactory.createFullTimeEmployee("X" + round, "X", "X", null, null, null, 3000);
+                Employee y = EmployeeFactory.createFullTimeEmployee("Y" + round, "Y", "Y", null, null, null, 3000);
+                hrManager.addEmployee(x);
+                hrManager.addEmployee(y);
+                CyclicBarrier start = new CyclicBarrier(2);
+                Future<?> first = threads.submit(() -> setManagerAfter(start, x, y));
+                Future<?> second = threads.submit(() -> setManagerAfter(start, y, x));
+                first.get();
+                second.get();
+
+                assertFalse(x.getManager() == y && y.getManager() == x, "Both changes succeeded in round " + round);
+                assertEquals(1, hrManager.getDepth(x.getManager() != null ? x.getId() : y.getId()));
+                assertEquals(1, hrManager.getTransitiveReportCount(x.getManager() != null ? y.getId() : x.getId()));
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    private static Void setManagerAfter(CyclicBarrier start, Employee employee, Employee manager) throws Exception {
+        start.await();
+        try {
+            employee.setManager(manager);
+        } catch (IllegalArgumentException e) {
+            // The other thread was first
+        }
+        return null;
+    }
+
+    private static void assertMatchesBruteForce(HRManager hrManager, Random random) {
+        List<Employee> all = hrManager.getAllEmployees();
+        for (Employee employee : all) {
+            List<Employee> reports = new ArrayList<>();
+            collectReports(hrManager, employee.getId(), reports);
+            assertEquals(reports, hrManager.getAllReports(employee.getId()), employee.getId());
+            assertEquals(reports.size(), hrManager.getTransitiveReportCount(employee.getId()), employee.getId());
+            List<Employee> chain = new ArrayList<>();
+            for (Employee manager = storedManager(hrManager, employee); manager != null; manager = storedManager(hrManager, manager)) {
+                chain.add(manager);
+            }
+            assertEquals(chain, hrManager.getManagementChain(employee.getId()), employee.getId());
+            assertEquals(chain.size(), hrManager.getDepth(employee.getId()), employee.getId());
+        }
+        for (int i = 0; i < 2000; i++) {
+            Employee employee = all.get(random.nextInt(all.size()));
+            Employee manager = all.get(random.nextInt(all.size()));
+            boolean below = false;
+            for (Employee m = storedManager(hrManager, employee); m != null && !below; m = storedManager(hrManager, m)) {
+                below = m == manager;
+            }
+            assertEquals(below, hrManager.isInReportingChain(employee.getId(), manager.getId()));
+        }
+    }
+
+    /**
+     * Walks the direct reports depth-first, in the order the reporting index lists them.
+     */
+    private static void collectReports(HRManager hrManager, String managerId, List<Employee> reports) {
+        for (Employee report : hrManager.getDirectReports(managerId)) {
+            reports.add(report);
+            collectReports(hrManager, report.getId(), reports);
+        }
+    }
+
+    private static Employee storedManager(HRManager hrManager, Employee employee) {
+        Employee manager = employee.getManager();
+        return manager != null ? hrManager.getEmployeeById(manager.getId()).orElse(null) : null;
+    }
+}
@@ -0,0 +1,152 @@
+package service;
+
+import factory.EmployeeFactory;
+import model.Employee;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the problems HierarchyValidator finds in rosters and in batches checked against stored employees.
+ */
+class HierarchyValidatorTest {
+    @Test
+    void acceptsAValidRoster() {
+        HierarchyReport report = HierarchyValidator.validate(TestRosters.random(500, 1));
+
+        assertTrue(report.isValid());
+        assertTrue(report.getCycles().isEmpty());
+    }
+
+    @Test
+    void findsADirectCycleAndEveryoneBelowIt() {
+        Employee a = employee("A", null);
+        Employee b = employee("B", a);
+        a.setManager(b); // Not stored, so nothing refuses the cycle
+        Employee below = employee("C", b);
+        Employee top = employee("T", null);
+
+        HierarchyReport report = HierarchyValidator.validate(List.of(below, a, b, top));
+
+        assertEquals(1, report.getCycles().size());
+        assertEquals(Set.of(a, b), Set.copyOf(report.getCycles().get(0)));
+        assertEquals(Map.of("A", Set.of(HierarchyReport.ProblemType.CYCLE), "B", Set.of(HierarchyReport.ProblemType.CYCLE),
+                "C", Set.of(HierarchyReport.ProblemType.BELOW_INVALID_MANAGER)), problemTypes(report));
+        assertTrue(report.isValid("T"));
+    }
+
+    @Test
+    void findsAnIndirectCycleOnce() {
+        Employee a = employee("A", null);
+        Employee b = employee("B", a);
+        Employee c = employee("C", b);
+        a.setManager(c);
+        Employee d = employee("D", a);
+        Employee e = employee("E", d);
+
+        HierarchyReport report = HierarchyValidator.validate(List.of(e, d, c, b, a));
+
+        assertEquals(1, report.getCycles().size());
+        List<Employee> cycle = report.getCycles().get(0);
+        assertEquals(3, cycle.size());
+        for (int i = 0; i < cycle.size(); i++) {
+            // Each member reports to the next one, the last one to the first
+            assertEquals(cycle.get((i + 1) % cycle.size()).getId(), cycle.get(i).getManager().getId());
+        }
+        assertEquals(Set.of("A", "B", "C", "D", "E"), report.getInvalidIds());
+        assertEquals(Set.of(HierarchyReport.ProblemType.BELOW_INVALID_MANAGER), problemTypes(report).get("E"));
+    }
+
+    @Test
+    void findsEmployeesWhoManageThemselves() {
+        // setManager refuses the employee themself, but a copy with the same ID slips through
+        Employee copy = employee("S", null);
+        Employee self = employee("S", copy);
+        Employee report = employee("R", self);
+
+        HierarchyReport result = HierarchyValidator.validate(List.of(self, report));
+
+        assertEquals(List.of(List.of(self)), result.getCycles());
+        // The copy is also not the employee stored under that ID, which is only a warning
+        assertEquals(Map.of(
+                "S", Set.of(HierarchyReport.ProblemType.CYCLE, HierarchyReport.ProblemType.STALE_MANAGER_REFERENCE),
+                "R", Set.of(HierarchyReport.ProblemType.BELOW_INVALID_MANAGER)), problemTypes(result));
+    }
+
+    @Test
+    void findsDanglingManagersAndTheRowsBelowThem() {
+        Employee gone = employee("GONE", null); // Not part of the roster
+        Employee orphan = employee("O", gone);
+        Employee below = employee("B1", orphan);
+        Employee belowBelow = employee("B2", below);
+        Employee fine = employee("F", null);
+
+        HierarchyReport report = HierarchyValidator.validate(List.of(belowBelow, fine, below, orphan));
+
+        assertTrue(report.getCycles().isEmpty());
+        assertEquals(Map.of("O", Set.of(HierarchyReport.ProblemType.MISSING_MANAGER),
+                "B1", Set.of(HierarchyReport.ProblemType.BELOW_INVALID_MANAGER),
+                "B2", Set.of(HierarchyReport.ProblemType.BELOW_INVALID_MANAGER)), problemTypes(report));
+        assertEquals("Manager with ID GONE not found.", report.getProblems().stream()
+                .filter(problem -> problem.employee() == orphan).findFirst().orElseThrow().message());
+        assertTrue(report.isValid("F"));
+    }
+
+    @Test
+    void checksABatchAgainstTheStoredEmployees() {
+        Employee stored = employee("M", null);
+        Map<String, Employee> existing = Map.of("M", stored);
+        Employee oldCopy = employee("M", null);
+        Employee new1 = employee("N1", stored);
+        Employee new2 = employee("N2", oldCopy); // Refers to an old copy: only a warning
+        Employee duplicate = employee("N1", null);
+
+        HierarchyReport report = HierarchyValidator.validate(List.of(new1, new2, duplicate), existing::get);
+
+        assertEquals(Map.of("N2", Set.of(HierarchyReport.ProblemType.STALE_MANAGER_REFERENCE),
+                "N1", Set.of(HierarchyReport.ProblemType.DUPLICATE_ID)), problemTypes(report));
+        assertTrue(report.isValid("N2"));
+        assertFalse(report.isValid());
+    }
+
+    @Test
+    void handlesVeryDeepHierarchiesWithoutRecursion() {
+        List<Employee> chain = new ArrayList<>();
+        Employee manager = null;
+        for (int i = 0; i < 100_000; i++) {
+            manager = employee("E" + i, manager);
+            chain.add(manager);
+        }
+        chain.get(0).setManager(chain.get(chain.size() - 1)); // One cycle through everyone
+
+        HierarchyReport report = HierarchyValidator.validate(chain);
+
+        assertEquals(1, report.getCycles().size());
+        assertEquals(100_000, report.getCycles().get(0).size());
+        assertTrue(report.getProblems().get(0).message().contains("... (100000 employees)"));
+    }
+
+    private static Employee employee(String id, Employee manager) {
+        return EmployeeFactory.createFullTimeEmployee(id, "First", "Last", null, null, manager, 3000);
+    }
+
+    /**
+     * Employee ID -> types of the problems found for that employee.
+     */
+    private static Map<String, Set<HierarchyReport.ProblemType>> problemTypes(HierarchyReport report) {
+        Map<String, Set<HierarchyReport.ProblemType>> types = new HashMap<>();
+        for (HierarchyReport.Problem problem : report.getProblems()) {
+            types.computeIfAbsent(problem.employee().getId(), id -> EnumSet.noneOf(HierarchyReport.ProblemType.class))
+                    .add(problem.type());
+        }
+        return types;
+    }
+}
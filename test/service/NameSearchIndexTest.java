@@ -0,0 +1,61 @@
+package service;
+
+import model.Employee;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the name trie shrinks again when employees are removed or renamed.
+ */
+class NameSearchIndexTest {
+    private static final String[] QUERIES = {"a", "an", "anna", "schmidt", "schmitd", "mueller", "muller", "ben koch", "we"};
+
+    @Test
+    void removingEveryoneLeavesOnlyTheRoot() {
+        NameSearchIndex index = new NameSearchIndex();
+        List<Employee> roster = TestRosters.random(300, 1);
+        roster.forEach(index::onAdd);
+        roster.forEach(index::onRemove);
+
+        assertEquals(1, index.nodeCount());
+    }
+
+    @Test
+    void matchesAFreshIndexAfterRemovalsAndRenames() {
+        NameSearchIndex index = new NameSearchIndex();
+        List<Employee> roster = new ArrayList<>(TestRosters.random(500, 2));
+        roster.forEach(index::onAdd);
+        Random random = new Random(3);
+        for (int i = 0; i < 300; i++) {
+            Employee employee = roster.get(random.nextInt(roster.size()));
+            if (random.nextBoolean()) {
+                index.onRemove(employee);
+                roster.remove(employee);
+            } else {
+                String oldFirstName = employee.getFirstName();
+                employee.setFirstName("Renamed" + random.nextInt(1000));
+                index.onNameChanged(employee, oldFirstName, employee.getLastName());
+            }
+        }
+
+        NameSearchIndex fresh = new NameSearchIndex();
+        roster.forEach(fresh::onAdd);
+        assertEquals(fresh.nodeCount(), index.nodeCount());
+        for (String query : QUERIES) {
+            assertEquals(ids(fresh.search(query, 1000)), ids(index.search(query, 1000)), query);
+        }
+    }
+
+    private static List<String> ids(List<Employee> employees) {
+        List<String> ids = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            ids.add(employee.getId());
+        }
+        ids.sort(null);
+        return ids;
+    }
+}
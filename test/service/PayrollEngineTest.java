@@ -0,0 +1,88 @@
+package service;
+
+import factory.EmployeeFactory;
+import model.Department;
+import model.Employee;
+import model.EmployeeRole;
+import org.junit.jupiter.api.Test;
+import strategy.SalaryStrategyRegistry;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that the parallel payroll gives the same amounts and totals as calculating one employee after another.
+ */
+class PayrollEngineTest {
+    private final SalaryStrategyRegistry salaryStrategies = SalaryStrategyRegistry.withDefaults();
+
+    @Test
+    void parallelRunMatchesTheSequentialCalculation() {
+        List<Employee> roster = new ArrayList<>(TestRosters.random(20_000, 1));
+        // Employees without a department are totalled under null
+        roster.add(1234, EmployeeFactory.createFullTimeEmployee("N1", "Anna", "Bauer", null, EmployeeRole.DEVELOPER, null, 3100));
+        roster.add(EmployeeFactory.createFullTimeEmployee("N2", "Ben", "Koch", null, null, null, 2900));
+
+        double[] expectedAmounts = new double[roster.size()];
+        Map<Department, Double> expectedTotals = new LinkedHashMap<>();
+        double expectedCompanyTotal = 0;
+        for (int i = 0; i < roster.size(); i++) {
+            expectedAmounts[i] = salaryStrategies.calculate(roster.get(i));
+            expectedTotals.merge(roster.get(i).getDepartment(), expectedAmounts[i], Double::sum);
+            expectedCompanyTotal += expectedAmounts[i];
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int chunkSize : new int[]{1, 7, 256, roster.size()}) {
+                PayrollResult result = new PayrollEngine(salaryStrategies, pool, chunkSize).run(roster);
+
+                assertEquals(roster, result.getEmployees());
+                for (int i = 0; i < roster.size(); i++) {
+                    assertEquals(expectedAmounts[i], result.getAmount(i), "amount " + i);
+                }
+                // Same departments in the order they first appear; the sums may only differ in rounding
+                assertEquals(new ArrayList<>(expectedTotals.keySet()), new ArrayList<>(result.getDepartmentTotals().keySet()));
+                for (Map.Entry<Department, Double> total : expectedTotals.entrySet()) {
+                    assertEquals(total.getValue(), result.getDepartmentTotals().get(total.getKey()), 1e-6);
+                }
+                assertEquals(expectedCompanyTotal, result.getCompanyTotal(), 1e-6);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void sameChunkSizeAlwaysGivesTheSameTotals() {
+        List<Employee> roster = TestRosters.random(50_000, 2);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            PayrollEngine engine = new PayrollEngine(salaryStrategies, pool, 100);
+            PayrollResult first = engine.run(roster);
+            for (int run = 0; run < 5; run++) {
+                PayrollResult again = engine.run(roster);
+                // Exactly equal, however the tasks were scheduled
+                assertEquals(first.getDepartmentTotals(), again.getDepartmentTotals());
+                assertEquals(first.getCompanyTotal(), again.getCompanyTotal());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void handlesAnEmptyRoster() {
+        PayrollResult result = new PayrollEngine(salaryStrategies).run(List.of());
+
+        assertEquals(0, result.size());
+        assertEquals(Map.of(), result.getDepartmentTotals());
+        assertEquals(0.0, result.getCompanyTotal());
+        assertThrows(IllegalArgumentException.class, () -> new PayrollEngine(salaryStrategies, ForkJoinPool.commonPool(), 0));
+    }
+}
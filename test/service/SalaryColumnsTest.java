@@ -0,0 +1,141 @@
+package service;
+
+import factory.EmployeeFactory;
+import model.Department;
+import model.Employee;
+import model.EmployeeRole;
+import model.FullTimeEmployee;
+import model.PartTimeEmployee;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import strategy.HourlyWageStrategy;
+import strategy.MonthlySalaryStrategy;
+import strategy.SalaryStrategyRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the salary columns against the same figures calculated with a plain loop over the roster,
+ * after random adds, updates, deletes and changes through the setters.
+ */
+class SalaryColumnsTest {
+    private static final double DELTA = 1e-6;
+
+    private HRManager hrManager;
+
+    @BeforeEach
+    void setUp() {
+        hrManager = TestRosters.load(TestRosters.random(1000, 5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        // The registry belongs to the shared HRManager: put the built-in strategies back
+        hrManager.getSalaryStrategies().register(FullTimeEmployee.class, new MonthlySalaryStrategy());
+        hrManager.getSalaryStrategies().register(PartTimeEmployee.class, new HourlyWageStrategy());
+    }
+
+    @Test
+    void matchesTheRosterAfterLoading() {
+        assertMatchesRoster();
+    }
+
+    @Test
+    void followsRandomChanges() {
+        Random random = new Random(6);
+        List<Department> departments = new ArrayList<>(TestRosters.departments().values());
+        departments.add(null);
+        EmployeeRole[] roles = EmployeeRole.values();
+        for (int i = 0; i < 2000; i++) {
+            List<Employee> all = hrManager.getAllEmployees();
+            Employee employee = all.get(random.nextInt(all.size()));
+            Department department = departments.get(random.nextInt(departments.size()));
+            switch (random.nextInt(8)) {
+                case 0 -> hrManager.addEmployee(random.nextBoolean()
+                        ? EmployeeFactory.createFullTimeEmployee("N" + i, "Anna", "Bauer", department,
+                                EmployeeRole.DEVELOPER, employee, 2000 + random.nextInt(6000))
+                        : EmployeeFactory.createPartTimeEmployee("N" + i, "Ben", "Koch", department,
+                                null, employee, 10 + random.nextInt(30), random.nextInt(160)));
+                case 1 -> hrManager.updateEmployee(EmployeeFactory.createFullTimeEmployee(employee.getId(),
+                        employee.getFirstName(), employee.getLastName(), department, employee.getRole(),
+                        employee.getManager(), 2000 + random.nextInt(6000)));
+                case 2 -> hrManager.deleteEmployee(employee.getId());
+                case 3 -> employee.setBaseSalary(2000 + random.nextInt(6000));
+                case 4 -> employee.setDepartment(department);
+                case 5 -> employee.setRole(roles[random.nextInt(roles.length)]);
+                case 6 -> employee.setManager(topLevelOtherThan(employee, random));
+                default -> {
+                    if (random.nextInt(50) == 0) {
+                        // A new strategy makes the whole pay column out of date
+                        double extra = random.nextInt(500);
+                        hrManager.getSalaryStrategies().register(FullTimeEmployee.class,
+                                fullTime -> fullTime.calculateSalary() + extra);
+                    }
+                }
+            }
+            if (i % 100 == 0) {
+                assertMatchesRoster();
+            }
+        }
+        assertMatchesRoster();
+    }
+
+    @Test
+    void isEmptyAfterClearing() {
+        TestRosters.load(List.of());
+        SalaryColumns columns = hrManager.getSalaryColumns();
+
+        assertEquals(0, columns.size());
+        assertEquals(0.0, columns.totalPay());
+        assertEquals(0.0, columns.averagePay());
+        assertEquals(Map.of(), columns.payByDepartment());
+        assertEquals(0.0, columns.payOfDirectReports("E0"));
+    }
+
+    /**
+     * Returns a top-level employee other than the given one, or null; as a manager it can never close a cycle.
+     */
+    private Employee topLevelOtherThan(Employee employee, Random random) {
+        List<Employee> candidates = new ArrayList<>(hrManager.getTopLevelEmployees());
+        candidates.remove(employee);
+        return candidates.isEmpty() || random.nextInt(5) == 0 ? null : candidates.get(random.nextInt(candidates.size()));
+    }
+
+    private void assertMatchesRoster() {
+        SalaryStrategyRegistry strategies = hrManager.getSalaryStrategies();
+        SalaryColumns columns = hrManager.getSalaryColumns();
+        List<Employee> all = hrManager.getAllEmployees();
+
+        assertEquals(all.size(), columns.size());
+        assertEquals(all.stream().mapToDouble(strategies::calculate).sum(), columns.totalPay(), DELTA);
+        assertEquals(all.stream().mapToDouble(Employee::getBaseSalary).sum(), columns.totalBaseSalary(), DELTA);
+        for (EmployeeRole role : EmployeeRole.values()) {
+            assertEquals(all.stream().filter(employee -> employee.getRole() == role).count(), columns.countByRole(role));
+        }
+
+        Map<Department, Double> expectedByDepartment = new HashMap<>();
+        for (Employee employee : all) {
+            if (employee.getDepartment() != null) {
+                expectedByDepartment.merge(employee.getDepartment(), strategies.calculate(employee), Double::sum);
+            }
+        }
+        Map<Department, Double> byDepartment = columns.payByDepartment();
+        assertEquals(expectedByDepartment.keySet(), byDepartment.keySet());
+        expectedByDepartment.forEach((department, total) -> assertEquals(total, byDepartment.get(department), DELTA));
+
+        for (Employee manager : all) {
+            double expected = all.stream()
+                    .filter(employee -> employee.getManager() != null
+                            && Objects.equals(employee.getManager().getId(), manager.getId()))
+                    .mapToDouble(strategies::calculate).sum();
+            assertEquals(expected, columns.payOfDirectReports(manager.getId()), DELTA, manager.getId());
+        }
+    }
+}
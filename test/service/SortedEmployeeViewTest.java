@@ -0,0 +1,103 @@
+package service;
+
+import factory.EmployeeFactory;
+import model.Department;
+import model.Employee;
+import model.EmployeeRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the sorted views against a stable sort of the roster after changes, and the order of equal keys.
+ */
+class SortedEmployeeViewTest {
+    private HRManager hrManager;
+
+    @BeforeEach
+    void setUp() {
+        hrManager = TestRosters.load(TestRosters.random(300, 7));
+    }
+
+    @Test
+    void everyOrderMatchesAStableSortAfterChanges() {
+        Random random = new Random(8);
+        Department[] departments = TestRosters.departments().values().toArray(new Department[0]);
+        for (int i = 0; i < 600; i++) {
+            List<Employee> all = hrManager.getAllEmployees();
+            Employee employee = all.get(random.nextInt(all.size()));
+            String lastName = TestRosters.LAST_NAMES[random.nextInt(TestRosters.LAST_NAMES.length)];
+            switch (random.nextInt(6)) {
+                case 0 -> employee.setLastName(lastName);
+                case 1 -> employee.setDepartment(random.nextInt(4) == 0 ? null : departments[random.nextInt(departments.length)]);
+                case 2 -> hrManager.updateEmployee(EmployeeFactory.createFullTimeEmployee(employee.getId(),
+                        employee.getFirstName(), lastName, departments[random.nextInt(departments.length)],
+                        employee.getRole(), employee.getManager(), 3000));
+                case 3 -> hrManager.deleteEmployee(employee.getId());
+                default -> hrManager.addEmployee(EmployeeFactory.createFullTimeEmployee("N" + i, "Anna", lastName,
+                        departments[random.nextInt(departments.length)], EmployeeRole.DEVELOPER, null, 3000));
+            }
+            if (i % 100 == 99) {
+                for (EmployeeSortKey sortKey : EmployeeSortKey.values()) {
+                    List<String> expected = ids(sorted(sortKey));
+                    assertEquals(expected, ids(listAll(sortKey, 1 + random.nextInt(50))), sortKey.name());
+                    assertEquals(expected.subList(20, 45), ids(hrManager.listEmployees(sortKey, 20, 25).getEmployees()));
+                }
+            }
+        }
+    }
+
+    @Test
+    void equalKeysKeepTheOrderOfHiring() {
+        List<Employee> roster = TestRosters.random(50, 9);
+        roster.forEach(employee -> employee.setLastName("Weber"));
+        TestRosters.load(roster);
+        Employee moved = hrManager.getEmployeeById("E10").orElseThrow();
+
+        assertEquals(ids(roster), ids(listAll(EmployeeSortKey.LAST_NAME, 7)));
+        moved.setLastName("Zimmermann");
+        assertEquals("E10", last(listAll(EmployeeSortKey.LAST_NAME, 7)).getId());
+        // Back to the same name: the employee returns to their place among the others, not to the end
+        moved.setLastName("Weber");
+        assertEquals(ids(roster), ids(listAll(EmployeeSortKey.LAST_NAME, 7)));
+        hrManager.updateEmployee(EmployeeFactory.createFullTimeEmployee("E10", "Clara", "Weber", null, null, null, 4000));
+        assertEquals(ids(roster), ids(listAll(EmployeeSortKey.LAST_NAME, 7)));
+    }
+
+    /**
+     * The employees in the given order, calculated from scratch with a stable sort of the insertion order.
+     */
+    private List<Employee> sorted(EmployeeSortKey sortKey) {
+        List<Employee> sorted = new ArrayList<>(hrManager.getAllEmployees());
+        if (sortKey != EmployeeSortKey.INSERTION) {
+            sortKey.newStrategy().sort(sorted);
+        }
+        return sorted;
+    }
+
+    /**
+     * Reads the whole listing page by page.
+     */
+    private List<Employee> listAll(EmployeeSortKey sortKey, int limit) {
+        List<Employee> listed = new ArrayList<>();
+        String token = null;
+        do {
+            EmployeePage page = hrManager.listEmployees(sortKey, token, limit);
+            listed.addAll(page.getEmployees());
+            token = page.getNextToken();
+        } while (token != null);
+        return listed;
+    }
+
+    private static List<String> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).toList();
+    }
+
+    private static Employee last(List<Employee> employees) {
+        return employees.get(employees.size() - 1);
+    }
+}
@@ -0,0 +1,103 @@
+package service;
+
+import factory.EmployeeFactory;
+import model.Department;
+import model.Employee;
+import model.EmployeeRole;
+import model.PartTimeEmployee;
+import output.NoOpSink;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * TestRosters class: Random rosters for the tests of all packages, an HRManager reset to a known state,
+ * and a check that two rosters hold the same data. The same seed always gives the same roster.
+ */
+public final class TestRosters {
+    public static final Department HR = new Department("Human Resources", "HR-001");
+    public static final Department IT = new Department("Information Technology", "IT-001");
+    public static final Department SALES = new Department("Sales", "SALES-001");
+    static final String[] FIRST_NAMES = {"Anna", "Ben", "Clara", "David", "Emma", "Felix", "Greta", "Jonas"};
+    static final String[] LAST_NAMES = {"Bauer", "Becker", "Fischer", "Koch", "Meyer", "Müller", "Schmidt", "Weber"};
+
+    // Private constructor, as all methods are static.
+    private TestRosters() {
+    }
+
+    /**
+     * Returns all departments the random rosters use (key -> department).
+     */
+    public static Map<String, Department> departments() {
+        Map<String, Department> departments = new LinkedHashMap<>();
+        departments.put("HR", HR);
+        departments.put("IT", IT);
+        departments.put("SALES", SALES);
+        return departments;
+    }
+
+    /**
+     * Creates employees "E0", "E1", ...; everyone reports to an earlier employee or to no one.
+     * About one in four employees works part-time.
+     */
+    public static List<Employee> random(int size, long seed) {
+        Random random = new Random(seed);
+        Department[] departments = departments().values().toArray(new Department[0]);
+        EmployeeRole[] roles = EmployeeRole.values();
+        List<Employee> roster = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Employee manager = i == 0 || random.nextInt(10) == 0 ? null : roster.get(random.nextInt(i));
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            Department department = departments[random.nextInt(departments.length)];
+            EmployeeRole role = roles[random.nextInt(roles.length)];
+            roster.add(random.nextInt(4) == 0
+                    ? EmployeeFactory.createPartTimeEmployee("E" + i, firstName, lastName, department, role, manager,
+                            15 + random.nextInt(30), 40 + random.nextInt(120))
+                    : EmployeeFactory.createFullTimeEmployee("E" + i, firstName, lastName, department, role, manager,
+                            2500 + random.nextInt(5000)));
+        }
+        return roster;
+    }
+
+    /**
+     * Returns the HRManager with the given employees as its only state, and without any output.
+     */
+    public static HRManager load(Collection<? extends Employee> roster) {
+        HRManager hrManager = HRManager.getInstance();
+        hrManager.setOutputSink(NoOpSink.getInstance());
+        hrManager.getNotifier().setOutputSink(NoOpSink.getInstance());
+        hrManager.restore(departments(), roster);
+        return hrManager;
+    }
+
+    /**
+     * Checks that both lists hold employees with the same type, fields and manager IDs, in the same order.
+     */
+    public static void assertSameEmployees(List<Employee> expected, List<Employee> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Employee e = expected.get(i);
+            Employee a = actual.get(i);
+            assertEquals(e.getClass(), a.getClass());
+            assertEquals(e.getId(), a.getId());
+            assertEquals(e.getFirstName(), a.getFirstName());
+            assertEquals(e.getLastName(), a.getLastName());
+            assertEquals(e.getDepartment(), a.getDepartment());
+            assertEquals(e.getRole(), a.getRole());
+            assertEquals(e.getBaseSalary(), a.getBaseSalary());
+            assertEquals(e.calculateSalary(), a.calculateSalary());
+            if (e instanceof PartTimeEmployee partTime) {
+                assertEquals(partTime.getHourlyRate(), ((PartTimeEmployee) a).getHourlyRate());
+                assertEquals(partTime.getHoursWorked(), ((PartTimeEmployee) a).getHoursWorked());
+            }
+            assertEquals(e.getManager() != null ? e.getManager().getId() : null,
+                    a.getManager() != null ? a.getManager().getId() : null, e.getId());
+        }
+    }
+}
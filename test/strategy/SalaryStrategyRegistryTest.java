@@ -0,0 +1,112 @@
+package strategy;
+
+import model.Employee;
+import model.FullTimeEmployee;
+import model.PartTimeEmployee;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Checks which strategy the registry finds for an employee class, and that a new registration is never hidden
+ * by a lookup that ran at the same time.
+ */
+class SalaryStrategyRegistryTest {
+    /**
+     * A full-time employee type without a strategy of its own.
+     */
+    private static final class SeniorEmployee extends FullTimeEmployee {
+        SeniorEmployee(String id, double baseSalary) {
+            super(id, "Greta", "Fischer", null, null, null, baseSalary);
+        }
+    }
+
+    /**
+     * An employee type no built-in strategy is made for.
+     */
+    private static final class Contractor extends Employee {
+        Contractor(String id) {
+            super(id, "Felix", "Meyer", null, null);
+        }
+
+        @Override
+        public double calculateSalary() {
+            return 1234.5;
+        }
+    }
+
+    @Test
+    void subclassesUseTheStrategyOfTheirSuperclass() {
+        SalaryStrategyRegistry registry = SalaryStrategyRegistry.withDefaults();
+
+        assertSame(registry.strategyFor(FullTimeEmployee.class), registry.strategyFor(SeniorEmployee.class));
+        assertEquals(3300.0, registry.calculate(new SeniorEmployee("S1", 3000)), 1e-9);
+        assertEquals(20 * 80, registry.calculate(new PartTimeEmployee("P1", "Anna", "Bauer", null, null, null, 20, 80)), 1e-9);
+    }
+
+    @Test
+    void typesWithoutAStrategyFallBackToTheirOwnCalculation() {
+        SalaryStrategyRegistry registry = SalaryStrategyRegistry.withDefaults();
+
+        assertEquals(1234.5, registry.calculate(new Contractor("C1")));
+        // A strategy for the common superclass replaces the fallback
+        registry.register(Employee.class, employee -> 1.0);
+        assertEquals(1.0, registry.calculate(new Contractor("C1")));
+        assertEquals(3300.0, registry.calculate(new SeniorEmployee("S1", 3000)), 1e-9);
+    }
+
+    @Test
+    void replacingAStrategyReachesCachedSubclassesAndChangesTheVersion() {
+        SalaryStrategyRegistry registry = SalaryStrategyRegistry.withDefaults();
+        SeniorEmployee senior = new SeniorEmployee("S1", 3000);
+        registry.calculate(senior); // Cached for SeniorEmployee
+        int version = registry.getVersion();
+
+        registry.register(FullTimeEmployee.class, employee -> employee.calculateSalary() + 500);
+
+        assertEquals(version + 1, registry.getVersion());
+        assertEquals(3800.0, registry.calculate(senior), 1e-9);
+        Employee[] roster = {senior, new Contractor("C1"), senior};
+        double[] amounts = new double[3];
+        registry.calculate(roster, amounts, 0, 3);
+        assertEquals(3800.0, amounts[0], 1e-9);
+        assertEquals(1234.5, amounts[1]);
+        assertEquals(3800.0, amounts[2], 1e-9);
+
+        registry.register(SeniorEmployee.class, employee -> 42.0);
+        assertEquals(42.0, registry.calculate(senior));
+        assertEquals(3800.0, registry.calculate(new FullTimeEmployee("F1", "Ben", "Koch", null, null, null, 3000)), 1e-9);
+    }
+
+    @Test
+    void registrationIsNeverHiddenByAConcurrentLookup() throws InterruptedException {
+        SalaryStrategyRegistry registry = SalaryStrategyRegistry.withDefaults();
+        AtomicBoolean done = new AtomicBoolean();
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Thread reader = new Thread(() -> {
+                while (!done.get()) {
+                    registry.strategyFor(SeniorEmployee.class);
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+        try {
+            for (int round = 0; round < 20_000; round++) {
+                SalaryCalculationStrategy<FullTimeEmployee> strategy = employee -> 0.0;
+                registry.register(FullTimeEmployee.class, strategy);
+                assertSame(strategy, registry.strategyFor(SeniorEmployee.class), "round " + round);
+            }
+        } finally {
+            done.set(true);
+            for (Thread reader : readers) {
+                reader.join();
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package util;
+
+import factory.EmployeeFactory;
+import model.Employee;
+import model.EmployeeRole;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the lines and indentation the org chart renderer writes, also for hierarchies far deeper than the stack allows.
+ */
+class OrgChartRendererTest {
+    private final Map<String, List<Employee>> reports = new HashMap<>();
+    private final OrgChartRenderer renderer = new OrgChartRenderer(this::directReports);
+
+    @Test
+    void rendersAVeryDeepChainWithoutRecursion() throws IOException {
+        Employee top = employee("0", null);
+        Employee manager = top;
+        for (int i = 1; i < 10_000; i++) {
+            manager = employee(String.valueOf(i), manager);
+        }
+        StringBuilder out = new StringBuilder();
+
+        assertEquals(10_000, renderer.render(top, "> ", out));
+
+        String[] lines = out.toString().split(System.lineSeparator());
+        assertEquals(10_000, lines.length);
+        // Around the levels where the cached indentation is repeated
+        for (int level : new int[]{0, 1, 63, 64, 65, 128, 129, 9_999}) {
+            assertEquals("> " + "  ".repeat(level) + "First" + level + " Last (DEVELOPER)", lines[level], "level " + level);
+        }
+    }
+
+    @Test
+    void rendersReportsBelowTheirManagerInOrder() throws IOException {
+        Employee anna = employee("A", null);
+        Employee ben = employee("B", anna);
+        Employee clara = employee("C", ben);
+        Employee david = employee("D", anna);
+        Employee emma = employee("E", null);
+        StringBuilder out = new StringBuilder();
+
+        assertEquals(5, renderer.renderAll(List.of(anna, emma), out));
+
+        assertEquals(String.join(System.lineSeparator(),
+                "FirstA Last (DEVELOPER)",
+                "  FirstB Last (DEVELOPER)",
+                "    FirstC Last (DEVELOPER)",
+                "  FirstD Last (DEVELOPER)",
+                "FirstE Last (DEVELOPER)") + System.lineSeparator(), out.toString());
+        assertEquals(0, renderer.render(null, "", out));
+    }
+
+    private Collection<Employee> directReports(String managerId) {
+        return reports.getOrDefault(managerId, List.of());
+    }
+
+    /**
+     * Creates an employee named "First" + ID and records them as a direct report of the manager.
+     */
+    private Employee employee(String id, Employee manager) {
+        Employee employee = EmployeeFactory.createFullTimeEmployee(id, "First" + id, "Last", null, EmployeeRole.DEVELOPER, manager, 3000);
+        if (manager != null) {
+            reports.computeIfAbsent(manager.getId(), key -> new ArrayList<>()).add(employee);
+        }
+        return employee;
+    }
+}